@@ -0,0 +1,141 @@
+package com.energia.resourcemanagement.cache;
+
+import com.energia.resourcemanagement.dto.response.ResourceResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+// Final JSON bytes of single-resource responses, gzip encoded once on first request. Writers replace an entry
+// after commit with a bytes-less marker of the new version, which turns away older encodings still in flight
+@Component
+public class EncodedResponseCache {
+
+    public static final String CACHE_NAME = "encoded-resources";
+
+    private final Cache<UUID, Entry> cache;
+    private final ObjectWriter writer;
+    private final boolean enabled;
+
+    public EncodedResponseCache(ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${resource.encoded-cache.enabled:true}") boolean enabled,
+                                @Value("${resource.encoded-cache.maximum-size:10000}") long maximumSize,
+                                @Value("${resource.encoded-cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        // Whitespace is insignificant to clients and only costs bytes and CPU
+        this.writer = objectMapper.writerFor(ResourceResponse.class).without(SerializationFeature.INDENT_OUTPUT);
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Optional<Entry> get(UUID id) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Entry entry = cache.getIfPresent(id);
+        return entry != null && !entry.isStale() ? Optional.of(entry) : Optional.empty();
+    }
+
+    // Encodes the response and caches the result unless a newer version is already known
+    public Entry encode(ResourceResponse response) {
+        Entry entry;
+        try {
+            entry = new Entry(response.getVersion() != null ? response.getVersion() : 0, writer.writeValueAsBytes(response));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode resource " + response.getId(), e);
+        }
+        if (enabled && response.getVersion() != null) {
+            cache.asMap().merge(response.getId(), entry, Entry::newer);
+        }
+        return entry;
+    }
+
+    public void evictAfterCommit(UUID id, long newVersion) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> cache.asMap().merge(id, new Entry(newVersion, null), Entry::newer));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    public static final class Entry {
+
+        private final long version;
+        private final byte[] identity;
+        private volatile byte[] gzip;
+
+        private Entry(long version, byte[] identity) {
+            this.version = version;
+            this.identity = identity;
+        }
+
+        public long version() {
+            return version;
+        }
+
+        public byte[] identity() {
+            return identity;
+        }
+
+        // Racing threads may both compress; either result is correct
+        public byte[] gzip() {
+            byte[] compressed = gzip;
+            if (compressed == null) {
+                compressed = compress(identity);
+                gzip = compressed;
+            }
+            return compressed;
+        }
+
+        private boolean isStale() {
+            return identity == null;
+        }
+
+        private static Entry newer(Entry current, Entry candidate) {
+            return candidate.version >= current.version ? candidate : current;
+        }
+
+        private static byte[] compress(byte[] bytes) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2 + 32);
+            try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+                gzipOut.write(bytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.energia.resourcemanagement.cache;
+
+import com.energia.resourcemanagement.dto.response.ResourceResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+@Slf4j
+@Component
+public class ResourceResponseCache {
+
+    public static final String CACHE_NAME = "resources";
+
+    // Deleted ids are kept as tombstones so an in-flight read cannot resurrect them
+    private static final long DELETED_VERSION = Long.MAX_VALUE;
+
+    private final Cache<UUID, Entry> cache;
+
+    public ResourceResponseCache(MeterRegistry meterRegistry,
+                                 @Value("${resource.cache.maximum-size:10000}") long maximumSize,
+                                 @Value("${resource.cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    // An entry without a response marks a deleted resource
+    public Optional<Entry> get(UUID id) {
+        return Optional.ofNullable(cache.getIfPresent(id));
+    }
+
+    public void put(ResourceResponse response) {
+        if (response.getVersion() == null) {
+            return;
+        }
+        cache.asMap().merge(response.getId(), new Entry(response.getVersion(), response), Entry::newer);
+    }
+
+    public void putAfterCommit(ResourceResponse response) {
+        afterCommit(() -> put(response));
+    }
+
+    public void markDeletedAfterCommit(UUID id) {
+        afterCommit(() -> cache.put(id, new Entry(DELETED_VERSION, null)));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    public record Entry(long version, ResourceResponse response) {
+
+        public boolean isDeleted() {
+            return response == null;
+        }
+
+        private static Entry newer(Entry current, Entry candidate) {
+            return candidate.version >= current.version ? candidate : current;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.energia.resourcemanagement.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableScheduling
+public class ExportConfig {
+
+    @Value("${export.executor.pool-size:2}")
+    private int poolSize;
+
+    @Value("${export.executor.queue-capacity:10}")
+    private int queueCapacity;
+
+    @Value("${export.worker.pool-size:4}")
+    private int workerPoolSize;
+
+    @Bean
+    public ThreadPoolTaskExecutor exportExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("export-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Reads the id ranges of running export jobs in parallel; ranges wait in the queue for a free worker
+    @Bean
+    public ThreadPoolTaskExecutor exportWorkerExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workerPoolSize);
+        executor.setMaxPoolSize(workerPoolSize);
+        executor.setThreadNamePrefix("export-worker-");
+        executor.initialize();
+        return executor;
+    }
+}
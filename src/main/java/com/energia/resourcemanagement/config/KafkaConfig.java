@@ -1,5 +1,6 @@
 package com.energia.resourcemanagement.config;
 
+import com.energia.resourcemanagement.kafka.serialization.ResourceEventSerializer;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
@@ -9,7 +10,6 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
-import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -23,17 +23,34 @@ public class KafkaConfig {
     @Value("${kafka.topic.resource-events}")
     private String resourceEventsTopic;
 
+    @Value("${kafka.producer.max-block-ms:5000}")
+    private long maxBlockMs;
+
+    @Value("${kafka.producer.event-format:json}")
+    private String eventFormat;
+
+    @Value("${kafka.producer.compression-type:lz4}")
+    private String compressionType;
+
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ResourceEventSerializer.class);
+        configProps.put(ResourceEventSerializer.FORMAT_CONFIG, eventFormat);
+        // Batches are compressed as a whole, so the repeated field names and values of JSON events shrink well
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
         configProps.put(ProducerConfig.ACKS_CONFIG, "all");
         configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
+        // Retries must not duplicate or reorder the outbox stream of a resource
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
         configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, 16384);
         configProps.put(ProducerConfig.LINGER_MS_CONFIG, 10);
         configProps.put(ProducerConfig.BUFFER_MEMORY_CONFIG, 33554432);
+        // send() waits this long for metadata or buffer space before failing; the default is a minute
+        configProps.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlockMs);
 
         return new DefaultKafkaProducerFactory<>(configProps);
     }
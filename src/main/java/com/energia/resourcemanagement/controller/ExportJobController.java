@@ -0,0 +1,35 @@
+package com.energia.resourcemanagement.controller;
+
+import com.energia.resourcemanagement.dto.response.ExportJobResponse;
+import com.energia.resourcemanagement.service.ExportJobService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/export-jobs")
+@RequiredArgsConstructor
+public class ExportJobController {
+
+    private final ExportJobService exportJobService;
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ExportJobResponse> getExportJob(@PathVariable UUID id) {
+        log.debug("GET /api/v1/export-jobs/{} - Fetching export job", id);
+
+        return ResponseEntity.ok(exportJobService.getJob(id));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ExportJobResponse> cancelExportJob(@PathVariable UUID id) {
+        log.debug("DELETE /api/v1/export-jobs/{} - Cancelling export job", id);
+
+        ExportJobResponse response = exportJobService.cancelJob(id);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+}
@@ -1,9 +1,29 @@
 package com.energia.resourcemanagement.controller;
 
+import com.energia.resourcemanagement.cache.EncodedResponseCache;
+import com.energia.resourcemanagement.domain.entity.Resource;
+import com.energia.resourcemanagement.domain.enums.ExportMode;
+import com.energia.resourcemanagement.domain.enums.ImportFormat;
+import com.energia.resourcemanagement.dto.request.BatchCreateResourceRequest;
 import com.energia.resourcemanagement.dto.request.CreateResourceRequest;
+import com.energia.resourcemanagement.dto.request.LocationSearchRequest;
+import com.energia.resourcemanagement.dto.request.ResourceSearchRequest;
 import com.energia.resourcemanagement.dto.request.UpdateResourceRequest;
+import com.energia.resourcemanagement.dto.response.BatchCreateResponse;
+import com.energia.resourcemanagement.dto.response.CursorPage;
+import com.energia.resourcemanagement.dto.response.ExportJobResponse;
+import com.energia.resourcemanagement.dto.response.ResourceImportResponse;
 import com.energia.resourcemanagement.dto.response.ResourceResponse;
+import com.energia.resourcemanagement.dto.response.ResourceStatsResponse;
+import com.energia.resourcemanagement.service.ExportJobService;
+import com.energia.resourcemanagement.service.ResourceImportService;
 import com.energia.resourcemanagement.service.ResourceService;
+import com.energia.resourcemanagement.service.ResourceWriteCoalescer;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,14 +32,19 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.net.URI;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 @Slf4j
@@ -28,11 +53,20 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class ResourceController {
 
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+    private static final String GZIP_ETAG_SUFFIX = "-gz";
+
     private final ResourceService resourceService;
+    private final ExportJobService exportJobService;
+    private final ResourceImportService resourceImportService;
+    private final EncodedResponseCache encodedResponseCache;
+    private final ResourceWriteCoalescer resourceWriteCoalescer;
 
     @PostMapping
     public ResponseEntity<ResourceResponse> createResource(@Valid @RequestBody CreateResourceRequest request) {
-        log.info("POST /api/v1/resources - Creating new resource");
+        log.debug("POST /api/v1/resources - Creating new resource");
 
         ResourceResponse response = resourceService.createResource(request);
         URI location = URI.create("/api/v1/resources/" + response.getId());
@@ -40,12 +74,84 @@ public class ResourceController {
         return ResponseEntity.created(location).body(response);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BatchCreateResponse> createResources(@Valid @RequestBody BatchCreateResourceRequest request) {
+        log.debug("POST /api/v1/resources/batch - Creating {} resources", request.getResources().size());
+
+        BatchCreateResponse response = resourceService.createResources(request.getResources());
+        HttpStatus status = response.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+
+        return ResponseEntity.status(status).body(response);
+    }
+
+    // The body is read as a stream, so uploads of any size are imported without being buffered
+    @PostMapping(value = "/import", consumes = {NDJSON, CSV})
+    public ResponseEntity<ResourceImportResponse> importResources(HttpServletRequest request) throws IOException {
+        ImportFormat format = MediaType.parseMediaType(CSV).includes(MediaType.parseMediaType(request.getContentType()))
+                ? ImportFormat.CSV
+                : ImportFormat.NDJSON;
+        log.debug("POST /api/v1/resources/import - Importing {} upload", format);
+
+        ResourceImportResponse response = resourceImportService.importResources(request.getInputStream(), format);
+        HttpStatus status = response.getRejected() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+
+        return ResponseEntity.status(status).body(response);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<ResourceResponse> getResource(@PathVariable UUID id) {
-        log.info("GET /api/v1/resources/{} - Fetching resource", id);
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = ResourceResponse.class)))
+    public ResponseEntity<byte[]> getResource(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
 
-        ResourceResponse response = resourceService.getResource(id);
-        return ResponseEntity.ok(response);
+        log.debug("GET /api/v1/resources/{} - Fetching resource", id);
+
+        boolean gzip = acceptsGzip(acceptEncoding);
+        Optional<EncodedResponseCache.Entry> cached = encodedResponseCache.get(id);
+
+        // Answer revalidation from the version alone, without loading or mapping the resource. Writers
+        // replace the cached entry after commit, so only a cache miss asks the database
+        if (ifNoneMatch != null) {
+            long version = cached.map(EncodedResponseCache.Entry::version)
+                    .orElseGet(() -> resourceService.getResourceVersion(id));
+            String etag = eTag(id, version, gzip);
+            if (eTagMatches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag)
+                        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                        .build();
+            }
+        }
+
+        // Served from the encoded bytes; the response object is only built and serialized on a miss
+        EncodedResponseCache.Entry encoded = cached
+                .orElseGet(() -> encodedResponseCache.encode(resourceService.getResource(id)));
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(eTag(id, encoded.version(), gzip))
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(gzip ? encoded.gzip() : encoded.identity());
+    }
+
+    @RequestMapping(value = "/{id}", method = RequestMethod.HEAD)
+    public ResponseEntity<Void> headResource(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        log.debug("HEAD /api/v1/resources/{} - Checking resource version", id);
+
+        String etag = eTag(id, resourceService.getResourceVersion(id), acceptsGzip(acceptEncoding));
+        HttpStatus status = ifNoneMatch != null && eTagMatches(ifNoneMatch, etag) ? HttpStatus.NOT_MODIFIED : HttpStatus.OK;
+        return ResponseEntity.status(status)
+                .eTag(etag)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .build();
     }
 
     @GetMapping
@@ -54,46 +160,186 @@ public class ResourceController {
             @RequestParam(required = false) String type,
             @ParameterObject @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
 
-        log.info("GET /api/v1/resources - Fetching resources with filters: countryCode={}, type={}",
+        log.debug("GET /api/v1/resources - Fetching resources with filters: countryCode={}, type={}",
                 countryCode, type);
 
         Page<ResourceResponse> resources = resourceService.getAllResources(countryCode, type, pageable);
         return ResponseEntity.ok(resources);
     }
 
+    // Written from one database cursor on an async request thread; memory does not grow with the catalog
+    @GetMapping(value = "/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamResources(
+            @RequestParam(required = false) String countryCode,
+            @RequestParam(required = false) String type) {
+
+        log.debug("GET /api/v1/resources/stream - Streaming resources with filters: countryCode={}, type={}",
+                countryCode, type);
+
+        StreamingResponseBody body = out -> resourceService.streamResources(countryCode, type, out);
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<ResourceStatsResponse> getStats(
+            @RequestParam(required = false) String countryCode,
+            @RequestParam(required = false) String type) {
+
+        log.debug("GET /api/v1/resources/stats - Fetching resource stats with filters: countryCode={}, type={}",
+                countryCode, type);
+
+        ResourceStatsResponse stats = resourceService.getStats(countryCode, type);
+        return ResponseEntity.ok(stats);
+    }
+
+    @PostMapping("/search")
+    public ResponseEntity<Page<ResourceResponse>> searchResources(
+            @Valid @RequestBody ResourceSearchRequest request,
+            @ParameterObject @PageableDefault(size = 20) Pageable pageable) {
+
+        log.debug("POST /api/v1/resources/search - Searching resources with filters: countryCode={}, type={}",
+                request.getCountryCode(), request.getType());
+
+        Page<ResourceResponse> resources = resourceService.searchResources(request, pageable);
+        return ResponseEntity.ok(resources);
+    }
+
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<ResourceResponse>> getResourcesByCursor(
+            @RequestParam(required = false) String countryCode,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        log.debug("GET /api/v1/resources/cursor - Fetching resources with filters: countryCode={}, type={}",
+                countryCode, type);
+
+        CursorPage<ResourceResponse> resources = resourceService.getResourcesByCursor(countryCode, type, cursor, size);
+        return ResponseEntity.ok(resources);
+    }
+
+    @GetMapping("/location-search")
+    public ResponseEntity<CursorPage<ResourceResponse>> searchByLocation(
+            @Valid @ParameterObject LocationSearchRequest request,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        log.debug("GET /api/v1/resources/location-search - Searching resources by location: city={}, postalCodePrefix={}, street={}",
+                request.getCity(), request.getPostalCodePrefix(), request.getStreet());
+
+        CursorPage<ResourceResponse> resources = resourceService.searchByLocation(request, cursor, size);
+        return ResponseEntity.ok(resources);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ResourceResponse> updateResource(
             @PathVariable UUID id,
             @Valid @RequestBody UpdateResourceRequest request,
-            @RequestHeader(value = "If-Match", required = false) Long version) {
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+
+        log.debug("PUT /api/v1/resources/{} - Updating resource", id);
+
+        ResourceResponse response = resourceWriteCoalescer.updateResource(id, request, ifMatchVersion(id, ifMatch));
+        return ResponseEntity.ok(response);
+    }
+
+    @PatchMapping(value = "/{id}", consumes = MERGE_PATCH_JSON)
+    public ResponseEntity<ResourceResponse> patchResource(
+            @PathVariable UUID id,
+            @RequestBody JsonNode mergePatch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
-        log.info("PUT /api/v1/resources/{} - Updating resource", id);
+        log.debug("PATCH /api/v1/resources/{} - Patching resource", id);
 
-        ResourceResponse response = resourceService.updateResource(id, request, version);
+        Long version = ifMatchVersion(id, ifMatch);
+        ResourceResponse response = resourceWriteCoalescer.inOrder(id,
+                () -> resourceService.patchResource(id, mergePatch, version));
         return ResponseEntity.ok(response);
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteResource(@PathVariable UUID id) {
-        log.info("DELETE /api/v1/resources/{} - Deleting resource", id);
+        log.debug("DELETE /api/v1/resources/{} - Deleting resource", id);
 
-        resourceService.deleteResource(id);
+        resourceWriteCoalescer.inOrder(id, () -> {
+            resourceService.deleteResource(id);
+            return null;
+        });
         return ResponseEntity.noContent().build();
     }
 
     @PostMapping("/export-all")
-    public ResponseEntity<Map<String, Object>> exportAllResources() {
-        log.info("POST /api/v1/resources/export-all - Initiating bulk export");
+    public ResponseEntity<Map<String, Object>> exportAllResources(
+            @RequestParam(defaultValue = "FULL") ExportMode mode) {
+        log.debug("POST /api/v1/resources/export-all - Initiating {} bulk export", mode);
 
-        List<ResourceResponse> resources = resourceService.getAllResourcesForExport();
-        resourceService.exportAllToKafka();
+        ExportJobResponse job = exportJobService.startExport(mode);
+        URI statusUrl = URI.create("/api/v1/export-jobs/" + job.getId());
 
         Map<String, Object> response = new HashMap<>();
         response.put("message", "Export initiated successfully");
-        response.put("totalResources", resources.size());
-        response.put("estimatedTime", "~" + (resources.size() / 100) + " seconds");
-        response.put("jobId", UUID.randomUUID());
+        response.put("jobId", job.getId());
+        response.put("status", job.getStatus());
+        response.put("statusUrl", statusUrl.toString());
+
+        return ResponseEntity.accepted().location(statusUrl).body(response);
+    }
+
+    // gzip listed without a weight or with a non-zero one; q=0 explicitly refuses it
+    private boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    // The gzip body is a different representation, so it carries its own strong tag
+    private String eTag(UUID id, long version, boolean gzip) {
+        return "\"" + id + "-" + version + (gzip ? GZIP_ETAG_SUFFIX : "") + "\"";
+    }
+
+    // Weak comparison as required for If-None-Match
+    private boolean eTagMatches(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    // Accepts the ETag of either coding from GET/HEAD or a bare version; "*" only requires the resource to exist
+    private Long ifMatchVersion(UUID id, String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        String prefix = "\"" + id + "-";
+        for (String candidate : ifMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*")) {
+                return null;
+            }
+            if (value.startsWith(prefix) && value.endsWith("\"")) {
+                value = value.substring(prefix.length(), value.length() - 1);
+                if (value.endsWith(GZIP_ETAG_SUFFIX)) {
+                    value = value.substring(0, value.length() - GZIP_ETAG_SUFFIX.length());
+                }
+            }
+            if (value.matches("\\d{1,18}")) {
+                return Long.valueOf(value);
+            }
+        }
+        // Weak tags and tags of other resources never match under the strong comparison If-Match uses
+        throw new ObjectOptimisticLockingFailureException(Resource.class, id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.energia.resourcemanagement.domain.entity;
+
+import com.energia.resourcemanagement.domain.enums.ExportJobStatus;
+import com.energia.resourcemanagement.domain.enums.ExportMode;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.GenericGenerator;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "export_jobs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportJob {
+
+    @Id
+    @GeneratedValue(generator = "UUID")
+    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private ExportJobStatus status;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(name = "mode", nullable = false, updatable = false, length = 10)
+    private ExportMode mode = ExportMode.FULL;
+
+    // Delta exports cover change_seq in [fromChangeSeq, toChangeSeq)
+    @Column(name = "from_change_seq")
+    private Long fromChangeSeq;
+
+    @Column(name = "to_change_seq")
+    private Long toChangeSeq;
+
+    @Column(name = "total_estimate")
+    private Long totalEstimate;
+
+    @Builder.Default
+    @Column(name = "rows_read", nullable = false)
+    private long rowsRead = 0;
+
+    @Builder.Default
+    @Column(name = "batches_sent", nullable = false)
+    private long batchesSent = 0;
+
+    @Builder.Default
+    @Column(name = "batches_acked", nullable = false)
+    private long batchesAcked = 0;
+
+    @Builder.Default
+    @Column(name = "batches_failed", nullable = false)
+    private long batchesFailed = 0;
+
+    @Builder.Default
+    @Column(name = "rows_per_second", nullable = false)
+    private double rowsPerSecond = 0;
+
+    @Builder.Default
+    @Column(name = "cancel_requested", nullable = false)
+    private boolean cancelRequested = false;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    // Instance running the job and the last time it saved progress
+    @Column(name = "owner_id", length = 64)
+    private String ownerId;
+
+    @Column(name = "heartbeat_at", nullable = false)
+    private LocalDateTime heartbeatAt;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+}
@@ -0,0 +1,6 @@
+package com.energia.resourcemanagement.domain.enums;
+
+public enum ExportMode {
+    FULL,
+    DELTA
+}
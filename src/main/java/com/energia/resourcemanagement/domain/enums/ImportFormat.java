@@ -0,0 +1,6 @@
+package com.energia.resourcemanagement.domain.enums;
+
+public enum ImportFormat {
+    NDJSON,
+    CSV
+}
@@ -0,0 +1,43 @@
+package com.energia.resourcemanagement.domain.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// RFC 9562 UUIDv7 with a 12-bit counter within the millisecond, so ids from one JVM are strictly increasing
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final int COUNTER_BITS = 12;
+
+    // Last issued (millis << COUNTER_BITS | counter); advanced by CAS, so the hot path never locks
+    private static final AtomicLong LAST_STAMP = new AtomicLong();
+
+    public static UUID nextUuid() {
+        long now = System.currentTimeMillis() << COUNTER_BITS;
+        long stamp = LAST_STAMP.updateAndGet(last -> Math.max(now, last + 1));
+
+        long mostSigBits = (stamp >>> COUNTER_BITS) << 16
+                | 0x7000L
+                | (stamp & ((1L << COUNTER_BITS) - 1));
+        long leastSigBits = ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL
+                | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return nextUuid();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
@@ -0,0 +1,61 @@
+package com.energia.resourcemanagement.dto.common;
+
+import com.energia.resourcemanagement.exception.InvalidCursorException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+// Street searches are ordered by match distance, all others by creation time, so exactly one of distance and
+// createdAt is set
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private Float distance;
+    private LocalDateTime createdAt;
+    private UUID id;
+
+    public static LocationCursor ranked(float distance, UUID id) {
+        return new LocationCursor(distance, null, id);
+    }
+
+    public static LocationCursor chronological(LocalDateTime createdAt, UUID id) {
+        return new LocationCursor(null, createdAt, id);
+    }
+
+    public boolean isRanked() {
+        return distance != null;
+    }
+
+    // The distance travels as its float bits, so the keyset comparison sees exactly the value <<-> returned
+    public String encode() {
+        String raw = (isRanked() ? Integer.toHexString(Float.floatToIntBits(distance)) : createdAt.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static LocationCursor decode(String token, boolean ranked) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException(token);
+            }
+            String position = raw.substring(0, separator);
+            UUID id = UUID.fromString(raw.substring(separator + 1));
+            return ranked
+                    ? ranked(Float.intBitsToFloat(Integer.parseUnsignedInt(position, 16)), id)
+                    : chronological(LocalDateTime.parse(position), id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException(token);
+        }
+    }
+}
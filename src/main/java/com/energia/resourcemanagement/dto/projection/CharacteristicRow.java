@@ -0,0 +1,17 @@
+package com.energia.resourcemanagement.dto.projection;
+
+import com.energia.resourcemanagement.domain.enums.CharacteristicType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+public class CharacteristicRow {
+
+    private UUID resourceId;
+    private String code;
+    private CharacteristicType type;
+    private String value;
+}
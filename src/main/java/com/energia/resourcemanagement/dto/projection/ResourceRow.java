@@ -0,0 +1,25 @@
+package com.energia.resourcemanagement.dto.projection;
+
+import com.energia.resourcemanagement.domain.enums.ResourceType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Read-only row built by JPQL constructor expressions; never attached to the persistence context
+@Data
+@AllArgsConstructor
+public class ResourceRow {
+
+    private UUID id;
+    private ResourceType type;
+    private String countryCode;
+    private String streetAddress;
+    private String city;
+    private String postalCode;
+    private String locationCountryCode;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long version;
+}
@@ -0,0 +1,24 @@
+package com.energia.resourcemanagement.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCreateResourceRequest {
+
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    // Items are validated one by one by the service so that a bad item does not reject the whole batch
+    @NotEmpty(message = "At least one resource is required")
+    @Size(max = MAX_BATCH_SIZE, message = "A batch may contain at most " + MAX_BATCH_SIZE + " resources")
+    private List<CreateResourceRequest> resources;
+}
@@ -0,0 +1,34 @@
+package com.energia.resourcemanagement.dto.request;
+
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationSearchRequest {
+
+    // Matched case-insensitively against the whole city name
+    @Size(min = 1, max = 100, message = "City must be between 1 and 100 characters")
+    private String city;
+
+    @Pattern(regexp = "^[A-Za-z0-9 -]{1,20}$",
+            message = "Postal code prefix must be 1 to 20 letters, digits, spaces or hyphens")
+    private String postalCodePrefix;
+
+    // Fuzzy match; shorter input has too few trigrams to rank on
+    @Size(min = 3, max = 255, message = "Street must be between 3 and 255 characters")
+    private String street;
+
+    @Pattern(regexp = "^[A-Z]{2}$", message = "Country code must be 2 uppercase letters (ISO 3166-1 alpha-2)")
+    private String countryCode;
+
+    public boolean hasLocationCriteria() {
+        return city != null || postalCodePrefix != null || street != null;
+    }
+}
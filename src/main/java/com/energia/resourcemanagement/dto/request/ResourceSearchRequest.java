@@ -0,0 +1,64 @@
+package com.energia.resourcemanagement.dto.request;
+
+import com.energia.resourcemanagement.domain.enums.CharacteristicType;
+import com.energia.resourcemanagement.domain.enums.ResourceType;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResourceSearchRequest {
+
+    public static final int MAX_PREDICATES = 10;
+
+    @Pattern(regexp = "^[A-Z]{2}$", message = "Country code must be 2 uppercase letters (ISO 3166-1 alpha-2)")
+    private String countryCode;
+
+    private ResourceType type;
+
+    // How the characteristic predicates combine: AND requires all of them, OR any of them
+    @NotNull(message = "Operator is required")
+    @Builder.Default
+    private Operator operator = Operator.AND;
+
+    @Valid
+    @Size(max = MAX_PREDICATES, message = "At most " + MAX_PREDICATES + " characteristic predicates are allowed")
+    @Builder.Default
+    private List<CharacteristicPredicate> characteristics = new ArrayList<>();
+
+    public enum Operator {
+        AND,
+        OR
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CharacteristicPredicate {
+
+        @NotNull(message = "Type is required")
+        private CharacteristicType type;
+
+        // Optional; without it any code of the given type matches
+        @Size(min = 1, max = 5, message = "Code must be between 1 and 5 characters")
+        @Pattern(regexp = "^[A-Z0-9]+$", message = "Code must contain only uppercase letters and numbers")
+        private String code;
+
+        @NotBlank(message = "Value is required")
+        @Size(max = 255, message = "Value must not exceed 255 characters")
+        private String value;
+    }
+}
@@ -0,0 +1,38 @@
+package com.energia.resourcemanagement.dto.response;
+
+import com.energia.resourcemanagement.dto.common.ErrorResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCreateResponse {
+
+    private int created;
+    private int failed;
+    private List<ItemResult> results;
+
+    public enum ItemStatus {
+        CREATED,
+        FAILED
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class ItemResult {
+        private int index;
+        private ItemStatus status;
+        private ResourceResponse resource;
+        private List<ErrorResponse.ValidationError> errors;
+    }
+}
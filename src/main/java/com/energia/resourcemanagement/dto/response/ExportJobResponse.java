@@ -0,0 +1,36 @@
+package com.energia.resourcemanagement.dto.response;
+
+import com.energia.resourcemanagement.domain.enums.ExportJobStatus;
+import com.energia.resourcemanagement.domain.enums.ExportMode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportJobResponse {
+
+    private UUID id;
+    private ExportJobStatus status;
+    private ExportMode mode;
+    private Long fromChangeSeq;
+    private Long toChangeSeq;
+    private Long totalEstimate;
+    private long rowsRead;
+    private long batchesSent;
+    private long batchesAcked;
+    private long batchesFailed;
+    private double rowsPerSecond;
+    private Long estimatedSecondsRemaining;
+    private boolean cancelRequested;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,34 @@
+package com.energia.resourcemanagement.dto.response;
+
+import com.energia.resourcemanagement.dto.common.ErrorResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResourceImportResponse {
+
+    private long rowsRead;
+    private long imported;
+    private long rejected;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    // True when more rows were rejected than are listed in rejects
+    private boolean rejectsTruncated;
+    private List<RowReject> rejects;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowReject {
+        private long line;
+        private List<ErrorResponse.ValidationError> errors;
+    }
+}
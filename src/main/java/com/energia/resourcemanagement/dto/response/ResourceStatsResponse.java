@@ -0,0 +1,44 @@
+package com.energia.resourcemanagement.dto.response;
+
+import com.energia.resourcemanagement.domain.enums.CharacteristicType;
+import com.energia.resourcemanagement.domain.enums.ResourceType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResourceStatsResponse {
+
+    private long total;
+    private List<ResourceCount> resources;
+    private List<CharacteristicCount> characteristics;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ResourceCount {
+        private String countryCode;
+        private ResourceType type;
+        private long count;
+    }
+
+    // Number of characteristics with this type and value on resources of the given country and type
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CharacteristicCount {
+        private String countryCode;
+        private ResourceType type;
+        private CharacteristicType characteristicType;
+        private String value;
+        private long count;
+    }
+}
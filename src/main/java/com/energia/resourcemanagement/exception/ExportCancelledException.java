@@ -0,0 +1,7 @@
+package com.energia.resourcemanagement.exception;
+
+public class ExportCancelledException extends RuntimeException {
+    public ExportCancelledException(long rowsRead) {
+        super(String.format("Export cancelled after %d rows", rowsRead));
+    }
+}
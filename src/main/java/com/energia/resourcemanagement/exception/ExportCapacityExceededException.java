@@ -0,0 +1,9 @@
+package com.energia.resourcemanagement.exception;
+
+import java.util.UUID;
+
+public class ExportCapacityExceededException extends RuntimeException {
+    public ExportCapacityExceededException(UUID jobId, Throwable cause) {
+        super(String.format("Export job %s rejected, the export executor is saturated", jobId), cause);
+    }
+}
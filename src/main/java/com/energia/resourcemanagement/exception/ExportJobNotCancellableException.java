@@ -0,0 +1,9 @@
+package com.energia.resourcemanagement.exception;
+
+import java.util.UUID;
+
+public class ExportJobNotCancellableException extends RuntimeException {
+    public ExportJobNotCancellableException(UUID id, String reason) {
+        super(String.format("Export job %s cannot be cancelled: %s", id, reason));
+    }
+}
@@ -0,0 +1,7 @@
+package com.energia.resourcemanagement.exception;
+
+public class InvalidImportException extends RuntimeException {
+    public InvalidImportException(String reason) {
+        super(String.format("Invalid import: %s", reason));
+    }
+}
@@ -0,0 +1,7 @@
+package com.energia.resourcemanagement.exception;
+
+public class InvalidPatchException extends RuntimeException {
+    public InvalidPatchException(String reason) {
+        super(String.format("Invalid merge patch: %s", reason));
+    }
+}
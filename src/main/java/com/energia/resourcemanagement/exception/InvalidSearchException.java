@@ -0,0 +1,7 @@
+package com.energia.resourcemanagement.exception;
+
+public class InvalidSearchException extends RuntimeException {
+    public InvalidSearchException(String reason) {
+        super(String.format("Invalid search: %s", reason));
+    }
+}
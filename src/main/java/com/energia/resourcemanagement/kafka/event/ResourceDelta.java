@@ -0,0 +1,82 @@
+package com.energia.resourcemanagement.kafka.event;
+
+import com.energia.resourcemanagement.domain.enums.CharacteristicType;
+import com.energia.resourcemanagement.dto.common.CharacteristicDTO;
+import com.energia.resourcemanagement.dto.common.LocationDTO;
+import com.energia.resourcemanagement.dto.response.ResourceResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Changes from fromVersion to toVersion: location only when it changed, characteristics diffed by (code, type)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class ResourceDelta {
+
+    private Long fromVersion;
+    private Long toVersion;
+    private LocalDateTime updatedAt;
+    private LocationDTO location;
+    private List<CharacteristicDTO> addedCharacteristics;
+    private List<CharacteristicDTO> changedCharacteristics;
+    private List<CharacteristicKey> removedCharacteristics;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CharacteristicKey {
+        private String code;
+        private CharacteristicType type;
+    }
+
+    public static ResourceDelta between(ResourceResponse before, ResourceResponse after) {
+        Map<CharacteristicKey, CharacteristicDTO> remaining = byKey(before.getCharacteristics());
+        List<CharacteristicDTO> added = new ArrayList<>();
+        List<CharacteristicDTO> changed = new ArrayList<>();
+        if (after.getCharacteristics() != null) {
+            for (CharacteristicDTO characteristic : after.getCharacteristics()) {
+                CharacteristicDTO previous = remaining.remove(keyOf(characteristic));
+                if (previous == null) {
+                    added.add(characteristic);
+                } else if (!Objects.equals(previous.getValue(), characteristic.getValue())) {
+                    changed.add(characteristic);
+                }
+            }
+        }
+
+        return ResourceDelta.builder()
+                .fromVersion(before.getVersion())
+                .toVersion(after.getVersion())
+                .updatedAt(after.getUpdatedAt())
+                .location(Objects.equals(before.getLocation(), after.getLocation()) ? null : after.getLocation())
+                .addedCharacteristics(added)
+                .changedCharacteristics(changed)
+                .removedCharacteristics(new ArrayList<>(remaining.keySet()))
+                .build();
+    }
+
+    private static Map<CharacteristicKey, CharacteristicDTO> byKey(List<CharacteristicDTO> characteristics) {
+        Map<CharacteristicKey, CharacteristicDTO> byKey = new LinkedHashMap<>();
+        if (characteristics != null) {
+            characteristics.forEach(characteristic -> byKey.put(keyOf(characteristic), characteristic));
+        }
+        return byKey;
+    }
+
+    private static CharacteristicKey keyOf(CharacteristicDTO characteristic) {
+        return new CharacteristicKey(characteristic.getCode(), characteristic.getType());
+    }
+}
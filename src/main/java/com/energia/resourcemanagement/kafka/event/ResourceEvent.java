@@ -2,6 +2,7 @@ package com.energia.resourcemanagement.kafka.event;
 
 import com.energia.resourcemanagement.domain.enums.EventType;
 import com.energia.resourcemanagement.dto.response.ResourceResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -19,6 +20,11 @@ public class ResourceEvent {
     private UUID eventId;
     private EventType eventType;
     private UUID resourceId;
+    // The full resource; absent from delta updates
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private ResourceResponse resource;
+    // Only on delta updates
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private ResourceDelta delta;
     private Instant timestamp;
 }
\ No newline at end of file
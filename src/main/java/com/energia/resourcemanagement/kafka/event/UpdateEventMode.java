@@ -0,0 +1,8 @@
+package com.energia.resourcemanagement.kafka.event;
+
+public enum UpdateEventMode {
+    // Every RESOURCE_UPDATED event carries the full resource
+    SNAPSHOT,
+    // RESOURCE_UPDATED events carry a ResourceDelta, with a full resource every resource.events.snapshot-every versions
+    DELTA
+}
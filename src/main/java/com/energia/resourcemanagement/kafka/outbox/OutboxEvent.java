@@ -0,0 +1,21 @@
+package com.energia.resourcemanagement.kafka.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    private Long id;
+    private UUID aggregateId;
+    private int partitionKey;
+    private String eventType;
+    private String payload;
+}
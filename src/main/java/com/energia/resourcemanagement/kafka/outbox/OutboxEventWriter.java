@@ -0,0 +1,64 @@
+package com.energia.resourcemanagement.kafka.outbox;
+
+import com.energia.resourcemanagement.kafka.event.ResourceEvent;
+import com.energia.resourcemanagement.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Slf4j
+@Component
+public class OutboxEventWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectWriter payloadWriter;
+
+    public OutboxEventWriter(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.payloadWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    // Joins the caller's transaction so the event commits or rolls back with the resource change
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(ResourceEvent event) {
+        outboxEventRepository.append(toOutboxEvent(event));
+        log.debug("Queued {} event for resource {} in outbox", event.getEventType(), event.getResourceId());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(List<ResourceEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        outboxEventRepository.appendAll(events.stream().map(this::toOutboxEvent).toList());
+        log.debug("Queued {} events in outbox", events.size());
+    }
+
+    private OutboxEvent toOutboxEvent(ResourceEvent event) {
+        return OutboxEvent.builder()
+                .aggregateId(event.getResourceId())
+                .partitionKey(partitionOf(event))
+                .eventType(event.getEventType().name())
+                .payload(serialize(event))
+                .build();
+    }
+
+    private int partitionOf(ResourceEvent event) {
+        return Math.floorMod(event.getResourceId().hashCode(), OutboxEventRepository.PARTITIONS);
+    }
+
+    private String serialize(ResourceEvent event) {
+        try {
+            return payloadWriter.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize event for resource " + event.getResourceId(), e);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.energia.resourcemanagement.kafka.outbox;
+
+import com.energia.resourcemanagement.kafka.event.ResourceEvent;
+import com.energia.resourcemanagement.kafka.producer.ResourceEventProducer;
+import com.energia.resourcemanagement.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ResourceEventProducer eventProducer;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${outbox.relay.send-timeout-ms:30000}")
+    private long sendTimeoutMs;
+
+    @Value("${outbox.relay.min-backoff-ms:1000}")
+    private long minBackoffMs;
+
+    @Value("${outbox.relay.max-backoff-ms:30000}")
+    private long maxBackoffMs;
+
+    // Only touched by the scheduler thread
+    private long backoffMs;
+    private long retryAtNanos;
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:200}")
+    public void relay() {
+        // While Kafka is down the events wait in the outbox; retrying every interval would only
+        // hold partition locks and database connections for sends that cannot succeed
+        if (backoffMs > 0 && System.nanoTime() - retryAtNanos < 0) {
+            return;
+        }
+
+        // Keep draining partitions until the outbox is empty or Kafka stops acknowledging
+        BatchResult result;
+        do {
+            result = transactionTemplate.execute(status -> relayNextBatch());
+        } while (result == BatchResult.COMPLETE);
+
+        if (result == BatchResult.PARTIAL) {
+            backOff();
+        } else if (backoffMs > 0) {
+            log.info("Kafka acknowledges again, outbox relay resumed");
+            backoffMs = 0;
+        }
+    }
+
+    private void backOff() {
+        backoffMs = backoffMs == 0 ? minBackoffMs : Math.min(backoffMs * 2, maxBackoffMs);
+        retryAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoffMs);
+        log.warn("Outbox relay backing off for {} ms", backoffMs);
+    }
+
+    // Holds the partition lock until the acknowledged events are deleted, so no other
+    // instance can relay events of the same resources in between
+    BatchResult relayNextBatch() {
+        Optional<Integer> partition = outboxEventRepository.lockNextPartition();
+        if (partition.isEmpty()) {
+            return BatchResult.EMPTY;
+        }
+
+        List<OutboxEvent> batch = outboxEventRepository.findBatch(partition.get(), batchSize);
+        List<OutboxEvent> sent = new ArrayList<>(batch.size());
+        List<CompletableFuture<SendResult<String, Object>>> sends = new ArrayList<>(batch.size());
+        int deadLettered = 0;
+        for (OutboxEvent outboxEvent : batch) {
+            Optional<ResourceEvent> event = deserialize(outboxEvent);
+            if (event.isEmpty()) {
+                // An unreadable payload can never be relayed; retrying it would stall the partition for good
+                outboxEventRepository.moveToDeadLetters(outboxEvent.getId());
+                deadLettered++;
+                continue;
+            }
+            CompletableFuture<SendResult<String, Object>> send = eventProducer.sendResourceEvent(event.get());
+            sent.add(outboxEvent);
+            sends.add(send);
+            // A send that failed before returning (no metadata within max.block.ms) means the rest would
+            // each wait as long, and nothing after it can be deleted anyway
+            if (send.isCompletedExceptionally()) {
+                break;
+            }
+        }
+
+        // Only the acknowledged prefix is removed; the rest is retried in order on the next run
+        List<Long> acked = new ArrayList<>(sent.size());
+        for (int i = 0; i < sends.size(); i++) {
+            if (!awaitAck(sends.get(i), sent.get(i))) {
+                break;
+            }
+            acked.add(sent.get(i).getId());
+        }
+
+        outboxEventRepository.deleteByIds(acked);
+        log.debug("Relayed {} of {} outbox events from partition {}", acked.size(), batch.size(), partition.get());
+        return acked.size() + deadLettered == batch.size() ? BatchResult.COMPLETE : BatchResult.PARTIAL;
+    }
+
+    private boolean awaitAck(CompletableFuture<SendResult<String, Object>> send, OutboxEvent outboxEvent) {
+        try {
+            send.get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Outbox event {} for resource {} not acknowledged, will retry: {}",
+                    outboxEvent.getId(), outboxEvent.getAggregateId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private Optional<ResourceEvent> deserialize(OutboxEvent outboxEvent) {
+        try {
+            return Optional.of(objectMapper.readValue(outboxEvent.getPayload(), ResourceEvent.class));
+        } catch (JsonProcessingException e) {
+            log.error("Corrupt outbox payload for event {} of resource {}, moving it to outbox_dead_letters",
+                    outboxEvent.getId(), outboxEvent.getAggregateId(), e);
+            return Optional.empty();
+        }
+    }
+
+    enum BatchResult {
+        EMPTY,
+        COMPLETE,
+        PARTIAL
+    }
+}
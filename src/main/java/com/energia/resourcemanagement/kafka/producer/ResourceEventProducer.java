@@ -2,14 +2,24 @@ package com.energia.resourcemanagement.kafka.producer;
 
 import com.energia.resourcemanagement.dto.response.ResourceResponse;
 import com.energia.resourcemanagement.kafka.event.ResourceEvent;
+import com.energia.resourcemanagement.profiling.EventSendEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.utils.Utils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
 @Slf4j
@@ -17,46 +27,130 @@ import java.util.concurrent.CompletableFuture;
 @RequiredArgsConstructor
 public class ResourceEventProducer {
 
+    // Set on every record, so consumers can filter without decoding the value
+    public static final String EVENT_TYPE_HEADER = "event-type";
+    public static final String RESOURCE_ID_HEADER = "resource-id";
+
+    // Event type header and tag values of sends that do not carry an EventType
+    static final String BULK_EXPORT = "BULK_EXPORT";
+    static final String TOMBSTONE = "TOMBSTONE";
+
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
 
     @Value("${kafka.topic.resource-events}")
     private String resourceEventsTopic;
 
-    public void sendResourceEvent(ResourceEvent event) {
+    public CompletableFuture<SendResult<String, Object>> sendResourceEvent(ResourceEvent event) {
         log.debug("Sending resource event: {} for resource: {}", event.getEventType(), event.getResourceId());
 
+        String key = event.getResourceId().toString();
+        EventSendEvent sendEvent = EventSendEvent.begin(event.getEventType().name(), key, 1);
+        Timer.Sample sample = Timer.start(meterRegistry);
         CompletableFuture<SendResult<String, Object>> future =
-                kafkaTemplate.send(resourceEventsTopic, event.getResourceId().toString(), event);
+                kafkaTemplate.send(record(null, key, event, event.getEventType().name(), key));
 
         future.whenComplete((result, ex) -> {
+            sendEvent.complete(ex);
+            recordSend(sample, event.getEventType().name(), ex);
             if (ex == null) {
-                log.info("Successfully sent event: {} for resource: {}",
+                log.debug("Successfully sent event: {} for resource: {}",
                         event.getEventType(), event.getResourceId());
             } else {
                 log.error("Failed to send event for resource: {}", event.getResourceId(), ex);
             }
         });
+        return future;
     }
 
-    public void sendBulkExport(List<ResourceResponse> resources) {
+    public List<CompletableFuture<Integer>> sendBulkExport(List<ResourceResponse> resources) {
         log.info("Sending bulk export with {} resources", resources.size());
 
+        // Each resource goes to the partition that carries its own events, so the export spreads
+        // over all partitions and a resource's snapshot is never reordered against its events
+        int partitions = kafkaTemplate.partitionsFor(resourceEventsTopic).size();
+        Map<Integer, List<ResourceResponse>> byPartition = new TreeMap<>();
+        for (ResourceResponse resource : resources) {
+            byPartition.computeIfAbsent(partitionOf(resource.getId(), partitions), p -> new ArrayList<>())
+                    .add(resource);
+        }
+
         // Send in batches to avoid message size limits
         int batchSize = 100;
-        for (int i = 0; i < resources.size(); i += batchSize) {
-            int end = Math.min(i + batchSize, resources.size());
-            List<ResourceResponse> batch = resources.subList(i, end);
-
-            CompletableFuture<SendResult<String, Object>> future =
-                    kafkaTemplate.send(resourceEventsTopic, "bulk-export", batch);
-
-            future.whenComplete((result, ex) -> {
-                if (ex == null) {
-                    log.info("Successfully sent batch of {} resources", batch.size());
-                } else {
-                    log.error("Failed to send batch", ex);
-                }
-            });
+        List<CompletableFuture<Integer>> acks = new ArrayList<>();
+        byPartition.forEach((partition, partitionResources) -> {
+            for (int i = 0; i < partitionResources.size(); i += batchSize) {
+                int end = Math.min(i + batchSize, partitionResources.size());
+                List<ResourceResponse> batch = new ArrayList<>(partitionResources.subList(i, end));
+
+                EventSendEvent sendEvent = EventSendEvent.begin(BULK_EXPORT, "bulk-export", batch.size());
+                Timer.Sample sample = Timer.start(meterRegistry);
+                CompletableFuture<SendResult<String, Object>> future =
+                        kafkaTemplate.send(record(partition, "bulk-export", batch, BULK_EXPORT, null));
+
+                future.whenComplete((result, ex) -> {
+                    sendEvent.complete(ex);
+                    recordSend(sample, BULK_EXPORT, ex);
+                    if (ex == null) {
+                        log.info("Successfully sent batch of {} resources to partition {}", batch.size(), partition);
+                    } else {
+                        log.error("Failed to send batch to partition {}", partition, ex);
+                    }
+                });
+                acks.add(future.thenApply(result -> batch.size()));
+            }
+        });
+        return acks;
+    }
+
+    // Null values keyed by resource id, so compacting consumers drop the resource
+    public CompletableFuture<Integer> sendTombstones(List<UUID> resourceIds) {
+        log.info("Sending {} tombstones", resourceIds.size());
+
+        EventSendEvent sendEvent = EventSendEvent.begin(TOMBSTONE, null, resourceIds.size());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<?>[] sends = resourceIds.stream()
+                .map(id -> kafkaTemplate.send(record(null, id.toString(), null, TOMBSTONE, id.toString())))
+                .toArray(CompletableFuture[]::new);
+
+        return CompletableFuture.allOf(sends).whenComplete((result, ex) -> {
+            sendEvent.complete(ex);
+            recordSend(sample, TOMBSTONE, ex);
+            if (ex != null) {
+                log.error("Failed to send tombstones", ex);
+            }
+        }).thenApply(result -> resourceIds.size());
+    }
+
+    private ProducerRecord<String, Object> record(Integer partition, String key, Object value,
+                                                  String eventType, String resourceId) {
+        ProducerRecord<String, Object> record = new ProducerRecord<>(resourceEventsTopic, partition, key, value);
+        record.headers().add(EVENT_TYPE_HEADER, eventType.getBytes(StandardCharsets.UTF_8));
+        if (resourceId != null) {
+            record.headers().add(RESOURCE_ID_HEADER, resourceId.getBytes(StandardCharsets.UTF_8));
         }
+        return record;
+    }
+
+    // Send-to-ack latency per event and outcome, plus a failure count per event
+    private void recordSend(Timer.Sample sample, String event, Throwable ex) {
+        sample.stop(Timer.builder("resource.events.send")
+                .description("Time from send to broker acknowledgement")
+                .tag("event", event)
+                .tag("outcome", ex == null ? "success" : "failure")
+                .register(meterRegistry));
+        if (ex != null) {
+            meterRegistry.counter("resource.events.send.failures", "event", event).increment();
+        }
+    }
+
+    // Same choice the default partitioner makes for a record keyed by the resource id
+    static int partitionOf(UUID resourceId, int partitions) {
+        byte[] key = resourceId.toString().getBytes(StandardCharsets.UTF_8);
+        return Utils.toPositive(Utils.murmur2(key)) % partitions;
+    }
+
+    public void flush() {
+        kafkaTemplate.flush();
     }
 }
\ No newline at end of file
@@ -0,0 +1,346 @@
+package com.energia.resourcemanagement.kafka.serialization;
+
+import com.energia.resourcemanagement.domain.enums.CharacteristicType;
+import com.energia.resourcemanagement.domain.enums.EventType;
+import com.energia.resourcemanagement.domain.enums.ResourceType;
+import com.energia.resourcemanagement.dto.common.CharacteristicDTO;
+import com.energia.resourcemanagement.dto.common.LocationDTO;
+import com.energia.resourcemanagement.dto.response.ResourceResponse;
+import com.energia.resourcemanagement.kafka.event.ResourceDelta;
+import com.energia.resourcemanagement.kafka.event.ResourceEvent;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+// Compact binary ResourceEvent: a format version byte, then the fields in declaration order without names.
+// Enums are one byte (dictionary position + 1, 0 for null), strings and lists a varint length + 1 (0 for null),
+// UUIDs, timestamps and nested objects follow a presence byte. The dictionaries are append-only, and fields
+// added later go last, so a shorter payload decodes them as absent.
+public final class ResourceEventBinaryCodec {
+
+    public static final byte VERSION = 1;
+
+    private static final EventType[] EVENT_TYPES = {
+            EventType.RESOURCE_CREATED, EventType.RESOURCE_UPDATED, EventType.RESOURCE_DELETED};
+    private static final ResourceType[] RESOURCE_TYPES = {
+            ResourceType.METERING_POINT, ResourceType.CONNECTION_POINT};
+    private static final CharacteristicType[] CHARACTERISTIC_TYPES = {
+            CharacteristicType.CONSUMPTION_TYPE, CharacteristicType.CHARGING_POINT,
+            CharacteristicType.CONNECTION_POINT_STATUS};
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private ResourceEventBinaryCodec() {
+    }
+
+    public static byte[] encode(ResourceEvent event) {
+        Output out = new Output();
+        out.writeByte(VERSION);
+        out.writeEnum(EVENT_TYPES, event.getEventType());
+        out.writeUuid(event.getEventId());
+        out.writeUuid(event.getResourceId());
+        out.writeInstant(event.getTimestamp());
+
+        ResourceResponse resource = event.getResource();
+        out.writeBoolean(resource != null);
+        if (resource != null) {
+            writeResource(out, resource);
+        }
+
+        ResourceDelta delta = event.getDelta();
+        out.writeBoolean(delta != null);
+        if (delta != null) {
+            writeDelta(out, delta);
+        }
+        return out.toByteArray();
+    }
+
+    public static ResourceEvent decode(byte[] payload) {
+        ByteBuffer in = ByteBuffer.wrap(payload);
+        byte version = in.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported resource event format version " + version);
+        }
+        return ResourceEvent.builder()
+                .eventType(readEnum(in, EVENT_TYPES))
+                .eventId(readUuid(in))
+                .resourceId(readUuid(in))
+                .timestamp(readInstant(in))
+                .resource(readBoolean(in) ? readResource(in) : null)
+                .delta(in.hasRemaining() && readBoolean(in) ? readDelta(in) : null)
+                .build();
+    }
+
+    private static void writeResource(Output out, ResourceResponse resource) {
+        out.writeUuid(resource.getId());
+        out.writeEnum(RESOURCE_TYPES, resource.getType());
+        out.writeString(resource.getCountryCode());
+
+        writeLocation(out, resource.getLocation());
+        writeCharacteristics(out, resource.getCharacteristics());
+        out.writeLocalDateTime(resource.getCreatedAt());
+        out.writeLocalDateTime(resource.getUpdatedAt());
+        out.writeOptionalLong(resource.getVersion());
+    }
+
+    private static void writeLocation(Output out, LocationDTO location) {
+        out.writeBoolean(location != null);
+        if (location != null) {
+            out.writeString(location.getStreetAddress());
+            out.writeString(location.getCity());
+            out.writeString(location.getPostalCode());
+            out.writeString(location.getCountryCode());
+        }
+    }
+
+    private static void writeCharacteristics(Output out, List<CharacteristicDTO> characteristics) {
+        out.writeVarLong(characteristics != null ? characteristics.size() + 1 : 0);
+        if (characteristics != null) {
+            for (CharacteristicDTO characteristic : characteristics) {
+                out.writeString(characteristic.getCode());
+                out.writeEnum(CHARACTERISTIC_TYPES, characteristic.getType());
+                out.writeString(characteristic.getValue());
+            }
+        }
+    }
+
+    private static void writeDelta(Output out, ResourceDelta delta) {
+        out.writeOptionalLong(delta.getFromVersion());
+        out.writeOptionalLong(delta.getToVersion());
+        out.writeLocalDateTime(delta.getUpdatedAt());
+        writeLocation(out, delta.getLocation());
+        writeCharacteristics(out, delta.getAddedCharacteristics());
+        writeCharacteristics(out, delta.getChangedCharacteristics());
+
+        List<ResourceDelta.CharacteristicKey> removed = delta.getRemovedCharacteristics();
+        out.writeVarLong(removed != null ? removed.size() + 1 : 0);
+        if (removed != null) {
+            for (ResourceDelta.CharacteristicKey key : removed) {
+                out.writeString(key.getCode());
+                out.writeEnum(CHARACTERISTIC_TYPES, key.getType());
+            }
+        }
+    }
+
+    private static ResourceDelta readDelta(ByteBuffer in) {
+        ResourceDelta.ResourceDeltaBuilder delta = ResourceDelta.builder()
+                .fromVersion(readOptionalLong(in))
+                .toVersion(readOptionalLong(in))
+                .updatedAt(readLocalDateTime(in))
+                .location(readLocation(in))
+                .addedCharacteristics(readCharacteristics(in))
+                .changedCharacteristics(readCharacteristics(in));
+
+        int removedCount = (int) readVarLong(in) - 1;
+        if (removedCount >= 0) {
+            List<ResourceDelta.CharacteristicKey> removed = new ArrayList<>(removedCount);
+            for (int i = 0; i < removedCount; i++) {
+                removed.add(new ResourceDelta.CharacteristicKey(readString(in), readEnum(in, CHARACTERISTIC_TYPES)));
+            }
+            delta.removedCharacteristics(removed);
+        }
+        return delta.build();
+    }
+
+    private static ResourceResponse readResource(ByteBuffer in) {
+        ResourceResponse.ResourceResponseBuilder resource = ResourceResponse.builder()
+                .id(readUuid(in))
+                .type(readEnum(in, RESOURCE_TYPES))
+                .countryCode(readString(in));
+
+        return resource
+                .location(readLocation(in))
+                .characteristics(readCharacteristics(in))
+                .createdAt(readLocalDateTime(in))
+                .updatedAt(readLocalDateTime(in))
+                .version(readOptionalLong(in))
+                .build();
+    }
+
+    private static LocationDTO readLocation(ByteBuffer in) {
+        if (!readBoolean(in)) {
+            return null;
+        }
+        return LocationDTO.builder()
+                .streetAddress(readString(in))
+                .city(readString(in))
+                .postalCode(readString(in))
+                .countryCode(readString(in))
+                .build();
+    }
+
+    private static List<CharacteristicDTO> readCharacteristics(ByteBuffer in) {
+        int count = (int) readVarLong(in) - 1;
+        if (count < 0) {
+            return null;
+        }
+        List<CharacteristicDTO> characteristics = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            characteristics.add(CharacteristicDTO.builder()
+                    .code(readString(in))
+                    .type(readEnum(in, CHARACTERISTIC_TYPES))
+                    .value(readString(in))
+                    .build());
+        }
+        return characteristics;
+    }
+
+    private static boolean readBoolean(ByteBuffer in) {
+        return in.get() != 0;
+    }
+
+    private static <E extends Enum<E>> E readEnum(ByteBuffer in, E[] dictionary) {
+        int code = in.get() & 0xFF;
+        if (code > dictionary.length) {
+            throw new IllegalArgumentException("Unknown " + dictionary.getClass().getComponentType().getSimpleName()
+                    + " code " + code);
+        }
+        return code == 0 ? null : dictionary[code - 1];
+    }
+
+    private static UUID readUuid(ByteBuffer in) {
+        return readBoolean(in) ? new UUID(in.getLong(), in.getLong()) : null;
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = (int) readVarLong(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    private static Long readOptionalLong(ByteBuffer in) {
+        return readBoolean(in) ? readVarLong(in) : null;
+    }
+
+    private static Instant readInstant(ByteBuffer in) {
+        return readBoolean(in) ? Instant.ofEpochSecond(readVarLong(in), readVarLong(in)) : null;
+    }
+
+    private static LocalDateTime readLocalDateTime(ByteBuffer in) {
+        return readBoolean(in)
+                ? LocalDateTime.ofEpochSecond(readVarLong(in), (int) readVarLong(in), ZoneOffset.UTC)
+                : null;
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    private static final class Output {
+
+        private byte[] buffer = new byte[INITIAL_CAPACITY];
+        private int size;
+
+        void writeByte(int b) {
+            ensureCapacity(1);
+            buffer[size++] = (byte) b;
+        }
+
+        void writeBoolean(boolean value) {
+            writeByte(value ? 1 : 0);
+        }
+
+        <E extends Enum<E>> void writeEnum(E[] dictionary, E value) {
+            if (value == null) {
+                writeByte(0);
+                return;
+            }
+            for (int i = 0; i < dictionary.length; i++) {
+                if (dictionary[i] == value) {
+                    writeByte(i + 1);
+                    return;
+                }
+            }
+            throw new IllegalArgumentException(value.getDeclaringClass().getSimpleName() + "." + value
+                    + " has no code in resource event format version " + VERSION);
+        }
+
+        void writeUuid(UUID value) {
+            writeBoolean(value != null);
+            if (value != null) {
+                writeLong(value.getMostSignificantBits());
+                writeLong(value.getLeastSignificantBits());
+            }
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length + 1L);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        void writeOptionalLong(Long value) {
+            writeBoolean(value != null);
+            if (value != null) {
+                writeVarLong(value);
+            }
+        }
+
+        void writeInstant(Instant value) {
+            writeBoolean(value != null);
+            if (value != null) {
+                writeVarLong(value.getEpochSecond());
+                writeVarLong(value.getNano());
+            }
+        }
+
+        void writeLocalDateTime(LocalDateTime value) {
+            writeBoolean(value != null);
+            if (value != null) {
+                writeVarLong(value.toEpochSecond(ZoneOffset.UTC));
+                writeVarLong(value.getNano());
+            }
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        private void writeLong(long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.energia.resourcemanagement.kafka.serialization;
+
+import com.energia.resourcemanagement.kafka.event.ResourceEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.JacksonUtils;
+
+import java.io.IOException;
+
+// Reads both formats, so consumers keep working while producers switch: JSON starts with '{', binary with its version byte
+public class ResourceEventDeserializer implements Deserializer<ResourceEvent> {
+
+    private final ObjectMapper objectMapper = JacksonUtils.enhancedObjectMapper();
+
+    @Override
+    public ResourceEvent deserialize(String topic, byte[] data) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        if (data[0] == ResourceEventBinaryCodec.VERSION) {
+            return ResourceEventBinaryCodec.decode(data);
+        }
+        try {
+            return objectMapper.readValue(data, ResourceEvent.class);
+        } catch (IOException e) {
+            throw new SerializationException("Could not read resource event from " + topic, e);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.energia.resourcemanagement.kafka.serialization;
+
+public enum ResourceEventFormat {
+    JSON,
+    BINARY
+}
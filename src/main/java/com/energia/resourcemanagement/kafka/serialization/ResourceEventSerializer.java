@@ -0,0 +1,58 @@
+package com.energia.resourcemanagement.kafka.serialization;
+
+import com.energia.resourcemanagement.kafka.event.ResourceEvent;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+// ResourceEvents in the format named by FORMAT_CONFIG (JSON by default), export batches always as JSON;
+// FORMAT_HEADER names the format of each record
+public class ResourceEventSerializer implements Serializer<Object> {
+
+    public static final String FORMAT_CONFIG = "resource.events.format";
+    public static final String FORMAT_HEADER = "event-format";
+
+    private static final byte[] JSON_FORMAT = "json".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BINARY_FORMAT = ("binary-v" + ResourceEventBinaryCodec.VERSION).getBytes(StandardCharsets.UTF_8);
+
+    private final JsonSerializer<Object> jsonSerializer = new JsonSerializer<>();
+    private ResourceEventFormat format = ResourceEventFormat.JSON;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonSerializer.configure(configs, isKey);
+        Object configured = configs.get(FORMAT_CONFIG);
+        if (configured != null) {
+            format = ResourceEventFormat.valueOf(configured.toString().toUpperCase());
+        }
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (format == ResourceEventFormat.BINARY && data instanceof ResourceEvent event) {
+            return ResourceEventBinaryCodec.encode(event);
+        }
+        return jsonSerializer.serialize(topic, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (data == null) {
+            return null;
+        }
+        if (format == ResourceEventFormat.BINARY && data instanceof ResourceEvent event) {
+            headers.add(FORMAT_HEADER, BINARY_FORMAT);
+            return ResourceEventBinaryCodec.encode(event);
+        }
+        headers.add(FORMAT_HEADER, JSON_FORMAT);
+        return jsonSerializer.serialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        jsonSerializer.close();
+    }
+}
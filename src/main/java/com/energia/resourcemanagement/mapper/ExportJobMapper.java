@@ -0,0 +1,13 @@
+package com.energia.resourcemanagement.mapper;
+
+import com.energia.resourcemanagement.domain.entity.ExportJob;
+import com.energia.resourcemanagement.dto.response.ExportJobResponse;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface ExportJobMapper {
+
+    @Mapping(target = "estimatedSecondsRemaining", ignore = true)
+    ExportJobResponse toResponse(ExportJob exportJob);
+}
@@ -5,11 +5,14 @@ import com.energia.resourcemanagement.domain.entity.Location;
 import com.energia.resourcemanagement.domain.entity.Resource;
 import com.energia.resourcemanagement.dto.common.CharacteristicDTO;
 import com.energia.resourcemanagement.dto.common.LocationDTO;
+import com.energia.resourcemanagement.dto.projection.CharacteristicRow;
+import com.energia.resourcemanagement.dto.projection.ResourceRow;
 import com.energia.resourcemanagement.dto.request.CreateResourceRequest;
 import com.energia.resourcemanagement.dto.response.ResourceResponse;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
 
 import java.util.List;
 
@@ -21,6 +24,21 @@ public interface ResourceMapper {
 
     List<ResourceResponse> toResponseList(List<Resource> resources);
 
+    // Leaves the lazy characteristics collection untouched; callers attach characteristics themselves
+    @Named("withoutCharacteristics")
+    @Mapping(target = "characteristics", ignore = true)
+    ResourceResponse toResponseWithoutCharacteristics(Resource resource);
+
+    // Projection rows to DTO, characteristics are attached by the caller
+    @Mapping(target = "location.streetAddress", source = "streetAddress")
+    @Mapping(target = "location.city", source = "city")
+    @Mapping(target = "location.postalCode", source = "postalCode")
+    @Mapping(target = "location.countryCode", source = "locationCountryCode")
+    @Mapping(target = "characteristics", ignore = true)
+    ResourceResponse toResponse(ResourceRow row);
+
+    CharacteristicDTO toCharacteristicDTO(CharacteristicRow row);
+
     LocationDTO toLocationDTO(Location location);
 
     CharacteristicDTO toCharacteristicDTO(Characteristic characteristic);
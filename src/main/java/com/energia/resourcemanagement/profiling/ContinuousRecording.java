@@ -0,0 +1,105 @@
+package com.energia.resourcemanagement.profiling;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+// JDK "default" settings (about 1% overhead) plus the events of this package; the on-disk repository is
+// trimmed to profiling.jfr.max-age or max-size, whichever is reached first
+@Slf4j
+@Component
+public class ContinuousRecording {
+
+    private static final String RECORDING_NAME = "resource-management-continuous";
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    @Value("${profiling.jfr.enabled:true}")
+    private boolean enabled;
+
+    @Value("${profiling.jfr.settings:default}")
+    private String settings;
+
+    @Value("${profiling.jfr.max-age:30m}")
+    private Duration maxAge;
+
+    @Value("${profiling.jfr.max-size:250MB}")
+    private DataSize maxSize;
+
+    @Value("${profiling.jfr.dump-directory:${java.io.tmpdir}/resource-management-jfr}")
+    private Path dumpDirectory;
+
+    private Recording recording;
+
+    @PostConstruct
+    void start() {
+        if (!enabled || !FlightRecorder.isAvailable()) {
+            log.info("Continuous flight recording is off");
+            return;
+        }
+        try {
+            recording = new Recording(Configuration.getConfiguration(settings));
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Could not load JFR settings " + settings, e);
+        }
+        recording.setName(RECORDING_NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.enable(ResourceOperationEvent.class);
+        recording.enable(EventSendEvent.class);
+        recording.start();
+        log.info("Continuous flight recording started, keeping {} or {} of data", maxAge, maxSize);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    public boolean isRunning() {
+        return recording != null;
+    }
+
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    public long getSizeBytes() {
+        return recording != null ? recording.getSize() : 0;
+    }
+
+    // Writes the last `window` of recorded data, at most max-age, to a new file in the dump directory
+    public Path dump(Duration window) {
+        if (recording == null) {
+            throw new IllegalStateException("Continuous flight recording is not running");
+        }
+        Duration age = window.compareTo(maxAge) < 0 ? window : maxAge;
+        try (Recording snapshot = FlightRecorder.getFlightRecorder().takeSnapshot()) {
+            snapshot.setMaxAge(age);
+            Files.createDirectories(dumpDirectory);
+            Path file = dumpDirectory.resolve("resource-management-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr");
+            snapshot.dump(file);
+            log.info("Dumped the last {} of flight recording to {}", age, file);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not dump the flight recording", e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.energia.resourcemanagement.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// From the send call to the broker ack; committed on the thread that completes the send
+@Name("com.energia.resourcemanagement.EventSend")
+@Label("Resource Event Send")
+@Category({"Resource Management", "Kafka"})
+@Description("A Kafka send of resource events, until acknowledged")
+@StackTrace(false)
+public class EventSendEvent extends Event {
+
+    @Label("Event Type")
+    String eventType;
+
+    @Label("Key")
+    String key;
+
+    @Label("Records")
+    int records;
+
+    @Label("Failed")
+    boolean failed;
+
+    public static EventSendEvent begin(String eventType, String key, int records) {
+        EventSendEvent event = new EventSendEvent();
+        if (event.isEnabled()) {
+            event.eventType = eventType;
+            event.key = key;
+            event.records = records;
+            event.begin();
+        }
+        return event;
+    }
+
+    public void complete(Throwable ex) {
+        end();
+        if (shouldCommit()) {
+            failed = ex != null;
+            commit();
+        }
+    }
+}
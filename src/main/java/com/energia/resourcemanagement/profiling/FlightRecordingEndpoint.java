@@ -0,0 +1,59 @@
+package com.energia.resourcemanagement.profiling;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+// POST /actuator/jfr with {"minutes": N} dumps the last N minutes (default 5) and returns the file path
+@Component
+@Endpoint(id = "jfr")
+@RequiredArgsConstructor
+public class FlightRecordingEndpoint {
+
+    private static final int DEFAULT_DUMP_MINUTES = 5;
+
+    private final ContinuousRecording continuousRecording;
+
+    @ReadOperation
+    public Status status() {
+        return new Status(continuousRecording.isRunning(), continuousRecording.getMaxAge().toMinutes(),
+                continuousRecording.getSizeBytes());
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Dump> dump(@Nullable Integer minutes) {
+        int window = minutes != null ? minutes : DEFAULT_DUMP_MINUTES;
+        if (window <= 0) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        if (!continuousRecording.isRunning()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE);
+        }
+        Path file = continuousRecording.dump(Duration.ofMinutes(window));
+        return new WebEndpointResponse<>(new Dump(file.toAbsolutePath().toString(), window, sizeOf(file)));
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public record Status(boolean running, long maxAgeMinutes, long sizeBytes) {
+    }
+
+    public record Dump(String file, int minutes, long sizeBytes) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.energia.resourcemanagement.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Fields that do not apply keep their defaults, -1 for counts
+@Name("com.energia.resourcemanagement.ResourceOperation")
+@Label("Resource Operation")
+@Category({"Resource Management", "Service"})
+@Description("A ResourceService call")
+@StackTrace(false)
+public class ResourceOperationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Resource Id")
+    String resourceId;
+
+    @Label("Event Type")
+    String eventType;
+
+    @Label("Characteristic Count")
+    int characteristicCount = -1;
+
+    @Label("Rows Fetched")
+    long rowsFetched = -1;
+
+    @Label("Failed")
+    boolean failed;
+}
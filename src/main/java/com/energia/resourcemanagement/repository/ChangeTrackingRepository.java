@@ -0,0 +1,73 @@
+package com.energia.resourcemanagement.repository;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+@Timed("resource.repository")
+@Repository
+@RequiredArgsConstructor
+public class ChangeTrackingRepository {
+
+    public static final String RESOURCES_WATERMARK = "resources";
+
+    // Arbitrary application-wide key for pg_advisory_xact_lock
+    private static final long STAMP_LOCK_KEY = 0x5245534f55524345L;
+
+    private static final RowMapper<Tombstone> TOMBSTONE_MAPPER = (rs, rowNum) ->
+            new Tombstone(rs.getObject("resource_id", UUID.class), rs.getLong("change_seq"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Returns the exclusive upper bound of the stamps; stampers are serialized, so no lower stamp can still be uncommitted
+    @Transactional
+    public long stampPendingChanges() {
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock(" + STAMP_LOCK_KEY + ")");
+        jdbcTemplate.update("UPDATE resources SET change_seq = nextval('resource_change_seq') " +
+                "WHERE change_seq IS NULL");
+        jdbcTemplate.update("UPDATE resource_tombstones SET change_seq = nextval('resource_change_seq') " +
+                "WHERE change_seq IS NULL");
+        Long upperBound = jdbcTemplate.queryForObject("SELECT nextval('resource_change_seq')", Long.class);
+        return upperBound != null ? upperBound : 0;
+    }
+
+    public long findWatermark(String name) {
+        Long watermark = jdbcTemplate.queryForObject(
+                "SELECT change_seq FROM export_watermarks WHERE name = ?", Long.class, name);
+        return watermark != null ? watermark : 0;
+    }
+
+    // Never moves backwards, so an older delta export finishing late cannot undo a newer one
+    public void advanceWatermark(String name, long changeSeq) {
+        jdbcTemplate.update("UPDATE export_watermarks SET change_seq = GREATEST(change_seq, ?), " +
+                "updated_at = CURRENT_TIMESTAMP WHERE name = ?", changeSeq, name);
+    }
+
+    public long countChanges(long fromChangeSeq, long toChangeSeq) {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT (SELECT count(*) FROM resources WHERE change_seq >= ? AND change_seq < ?) + " +
+                        "(SELECT count(*) FROM resource_tombstones WHERE change_seq >= ? AND change_seq < ?)",
+                Long.class, fromChangeSeq, toChangeSeq, fromChangeSeq, toChangeSeq);
+        return count != null ? count : 0;
+    }
+
+    public List<Tombstone> findTombstones(long fromChangeSeq, long toChangeSeq, int limit) {
+        return jdbcTemplate.query(
+                "SELECT resource_id, change_seq FROM resource_tombstones " +
+                        "WHERE change_seq >= ? AND change_seq < ? ORDER BY change_seq LIMIT ?",
+                TOMBSTONE_MAPPER, fromChangeSeq, toChangeSeq, limit);
+    }
+
+    public int purgeTombstones(long toChangeSeq) {
+        return jdbcTemplate.update("DELETE FROM resource_tombstones WHERE change_seq < ?", toChangeSeq);
+    }
+
+    public record Tombstone(UUID resourceId, long changeSeq) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.energia.resourcemanagement.repository;
+
+import com.energia.resourcemanagement.domain.entity.Characteristic;
+import com.energia.resourcemanagement.dto.projection.CharacteristicRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface CharacteristicRepository extends JpaRepository<Characteristic, UUID> {
+
+    @Query("SELECT new com.energia.resourcemanagement.dto.projection.CharacteristicRow(" +
+            "c.resource.id, c.code, c.type, c.value) FROM Characteristic c WHERE c.resource.id IN :resourceIds")
+    List<CharacteristicRow> findRowsByResourceIdIn(@Param("resourceIds") Collection<UUID> resourceIds);
+}
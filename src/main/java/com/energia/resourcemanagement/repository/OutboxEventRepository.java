@@ -0,0 +1,96 @@
+package com.energia.resourcemanagement.repository;
+
+import com.energia.resourcemanagement.kafka.outbox.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class OutboxEventRepository {
+
+    // Must match the rows seeded into outbox_partitions
+    public static final int PARTITIONS = 16;
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final RowMapper<OutboxEvent> ROW_MAPPER = (rs, rowNum) -> OutboxEvent.builder()
+            .id(rs.getLong("id"))
+            .aggregateId(rs.getObject("aggregate_id", UUID.class))
+            .partitionKey(rs.getInt("partition_key"))
+            .eventType(rs.getString("event_type"))
+            .payload(rs.getString("payload"))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void append(OutboxEvent event) {
+        jdbcTemplate.update(
+                "INSERT INTO outbox_events (aggregate_id, partition_key, event_type, payload) VALUES (?, ?, ?, ?)",
+                event.getAggregateId(), event.getPartitionKey(), event.getEventType(), event.getPayload());
+    }
+
+    // One JDBC batch for all events instead of a round-trip per event
+    public void appendAll(List<OutboxEvent> events) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO outbox_events (aggregate_id, partition_key, event_type, payload) VALUES (?, ?, ?, ?)",
+                events, BATCH_SIZE, (ps, event) -> {
+                    ps.setObject(1, event.getAggregateId());
+                    ps.setInt(2, event.getPartitionKey());
+                    ps.setString(3, event.getEventType());
+                    ps.setString(4, event.getPayload());
+                });
+    }
+
+    public Optional<Integer> lockNextPartition() {
+        List<Integer> partitions = jdbcTemplate.queryForList(
+                "SELECT p.partition_id FROM outbox_partitions p " +
+                        "WHERE EXISTS (SELECT 1 FROM outbox_events e WHERE e.partition_key = p.partition_id) " +
+                        "ORDER BY p.last_relayed_at NULLS FIRST " +
+                        "LIMIT 1 FOR UPDATE SKIP LOCKED",
+                Integer.class);
+        if (partitions.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Integer partition = partitions.get(0);
+        jdbcTemplate.update("UPDATE outbox_partitions SET last_relayed_at = CURRENT_TIMESTAMP WHERE partition_id = ?",
+                partition);
+        return Optional.of(partition);
+    }
+
+    public List<OutboxEvent> findBatch(int partition, int limit) {
+        return jdbcTemplate.query(
+                "SELECT id, aggregate_id, partition_key, event_type, payload FROM outbox_events " +
+                        "WHERE partition_key = ? ORDER BY id LIMIT ?",
+                ROW_MAPPER, partition, limit);
+    }
+
+    public int deleteByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update("DELETE FROM outbox_events WHERE id = ANY (?)",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray())));
+    }
+
+    // Keeps the row for inspection and takes it out of the relay order
+    public void moveToDeadLetters(long id) {
+        jdbcTemplate.update(
+                "INSERT INTO outbox_dead_letters (id, aggregate_id, partition_key, event_type, payload, created_at) " +
+                        "SELECT id, aggregate_id, partition_key, event_type, payload, created_at FROM outbox_events WHERE id = ?",
+                id);
+        jdbcTemplate.update("DELETE FROM outbox_events WHERE id = ?", id);
+    }
+
+    public long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM outbox_events", Long.class);
+        return count != null ? count : 0;
+    }
+}
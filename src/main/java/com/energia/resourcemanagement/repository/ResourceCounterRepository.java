@@ -0,0 +1,110 @@
+package com.energia.resourcemanagement.repository;
+
+import com.energia.resourcemanagement.domain.enums.CharacteristicType;
+import com.energia.resourcemanagement.domain.enums.ResourceType;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Counts kept by the V9 triggers: writers append deltas, compact() folds them into resource_counters,
+// and every read sums both tables in one statement so it sees each committed change once
+@Timed("resource.repository")
+@Repository
+@RequiredArgsConstructor
+public class ResourceCounterRepository {
+
+    // Arbitrary application-wide key for pg_advisory_xact_lock
+    private static final long RECONCILE_LOCK_KEY = 0x434f554e54455253L;
+
+    private static final String KEY = "country_code, type, characteristic_type, characteristic_value";
+
+    private static final String RECORDED = "(SELECT " + KEY + ", total FROM resource_counters " +
+            "UNION ALL SELECT " + KEY + ", delta FROM resource_counter_deltas) c";
+
+    private static final RowMapper<Count> COUNT_MAPPER = (rs, rowNum) -> {
+        String characteristicType = rs.getString("characteristic_type");
+        return new Count(
+                rs.getString("country_code"),
+                ResourceType.valueOf(rs.getString("type")),
+                characteristicType.isEmpty() ? null : CharacteristicType.valueOf(characteristicType),
+                characteristicType.isEmpty() ? null : rs.getString("characteristic_value"),
+                rs.getLong("total"));
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Number of resources, optionally restricted to a country and/or type
+    public long countResources(String countryCode, ResourceType type) {
+        List<Object> args = new ArrayList<>();
+        String where = whereClause(countryCode, type, args) + " AND c.characteristic_type = ''";
+        Long total = jdbcTemplate.queryForObject("SELECT coalesce(sum(c.total), 0) FROM " + RECORDED + where,
+                Long.class, args.toArray());
+        return total != null ? total : 0;
+    }
+
+    // Resource counts and characteristic counts, one row per key with a non-zero count
+    public List<Count> findCounts(String countryCode, ResourceType type) {
+        List<Object> args = new ArrayList<>();
+        String where = whereClause(countryCode, type, args);
+        return jdbcTemplate.query("SELECT " + KEY + ", sum(c.total) AS total FROM " + RECORDED + where +
+                        " GROUP BY " + KEY + " HAVING sum(c.total) <> 0 ORDER BY " + KEY,
+                COUNT_MAPPER, args.toArray());
+    }
+
+    // Deltas of transactions still in flight are invisible to the DELETE and are left for the next run
+    @Transactional
+    public int compact() {
+        Integer folded = jdbcTemplate.queryForObject(
+                "WITH folded AS (DELETE FROM resource_counter_deltas RETURNING " + KEY + ", delta), " +
+                        "merged AS (INSERT INTO resource_counters (" + KEY + ", total) " +
+                        "SELECT " + KEY + ", sum(delta) FROM folded GROUP BY " + KEY + " " +
+                        "ON CONFLICT (" + KEY + ") DO UPDATE SET total = resource_counters.total + EXCLUDED.total) " +
+                        "SELECT count(*) FROM folded",
+                Integer.class);
+        jdbcTemplate.update("DELETE FROM resource_counters WHERE total = 0");
+        return folded != null ? folded : 0;
+    }
+
+    // Counts and compares in one statement; reconcilers are serialized so a correction is applied once
+    @Transactional
+    public int reconcile() {
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock(" + RECONCILE_LOCK_KEY + ")");
+        return jdbcTemplate.update(
+                "WITH actual AS (" +
+                        "SELECT country_code, type, '' AS characteristic_type, '' AS characteristic_value, " +
+                        "count(*) AS total FROM resources GROUP BY country_code, type " +
+                        "UNION ALL SELECT r.country_code, r.type, c.type, c.value, count(*) " +
+                        "FROM characteristics c JOIN resources r ON r.id = c.resource_id " +
+                        "GROUP BY r.country_code, r.type, c.type, c.value), " +
+                        "recorded AS (SELECT " + KEY + ", sum(c.total) AS total FROM " + RECORDED +
+                        " GROUP BY " + KEY + ") " +
+                        "INSERT INTO resource_counter_deltas (" + KEY + ", delta) " +
+                        "SELECT " + KEY + ", coalesce(a.total, 0) - coalesce(r.total, 0) " +
+                        "FROM actual a FULL JOIN recorded r USING (" + KEY + ") " +
+                        "WHERE coalesce(a.total, 0) <> coalesce(r.total, 0)");
+    }
+
+    private String whereClause(String countryCode, ResourceType type, List<Object> args) {
+        StringBuilder where = new StringBuilder(" WHERE true");
+        if (countryCode != null) {
+            where.append(" AND c.country_code = ?");
+            args.add(countryCode);
+        }
+        if (type != null) {
+            where.append(" AND c.type = ?");
+            args.add(type.name());
+        }
+        return where.toString();
+    }
+
+    // Resource counts have no characteristic type and value
+    public record Count(String countryCode, ResourceType type, CharacteristicType characteristicType,
+                        String characteristicValue, long total) {
+    }
+}
@@ -0,0 +1,144 @@
+package com.energia.resourcemanagement.repository;
+
+import com.energia.resourcemanagement.domain.id.UuidV7Generator;
+import com.energia.resourcemanagement.dto.common.CharacteristicDTO;
+import com.energia.resourcemanagement.dto.common.LocationDTO;
+import com.energia.resourcemanagement.dto.request.CreateResourceRequest;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+// COPYs a chunk into temporary staging tables, then moves it with one INSERT ... SELECT per table.
+// The row triggers still run, so change tracking and the counters see imported rows
+@Timed("resource.repository")
+@Repository
+@RequiredArgsConstructor
+public class ResourceImportRepository {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Inserts the resources of the chunk with their characteristics and returns how many resources were inserted
+    @Transactional
+    public int importChunk(List<CreateResourceRequest> requests) {
+        jdbcTemplate.execute("CREATE TEMP TABLE resource_import_staging (" +
+                "id UUID, type VARCHAR(50), country_code VARCHAR(2), street_address VARCHAR(255), " +
+                "city VARCHAR(100), postal_code VARCHAR(20), location_country_code VARCHAR(2)) ON COMMIT DROP");
+        jdbcTemplate.execute("CREATE TEMP TABLE characteristic_import_staging (" +
+                "id UUID, resource_id UUID, code VARCHAR(5), type VARCHAR(50), value VARCHAR(255)) ON COMMIT DROP");
+
+        jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+            copy(con, requests);
+            return null;
+        });
+
+        int imported = jdbcTemplate.update("INSERT INTO resources " +
+                "(id, type, country_code, street_address, city, postal_code, location_country_code) " +
+                "SELECT id, type, country_code, street_address, city, postal_code, location_country_code " +
+                "FROM resource_import_staging ORDER BY id");
+        jdbcTemplate.update("INSERT INTO characteristics (id, resource_id, code, type, value) " +
+                "SELECT id, resource_id, code, type, value FROM characteristic_import_staging ORDER BY id");
+
+        // Dropped here as well as at commit, so a caller may import several chunks in one transaction
+        jdbcTemplate.execute("DROP TABLE resource_import_staging, characteristic_import_staging");
+        return imported;
+    }
+
+    private void copy(Connection con, List<CreateResourceRequest> requests) {
+        PGConnection pgConnection = unwrap(con);
+        UUID[] ids = new UUID[requests.size()];
+        try {
+            try (Writer out = copyWriter(pgConnection, "COPY resource_import_staging " +
+                    "(id, type, country_code, street_address, city, postal_code, location_country_code) FROM STDIN")) {
+                for (int i = 0; i < ids.length; i++) {
+                    CreateResourceRequest request = requests.get(i);
+                    LocationDTO location = request.getLocation();
+                    ids[i] = UuidV7Generator.nextUuid();
+                    writeLine(out, ids[i], request.getType().name(), request.getCountryCode(),
+                            location.getStreetAddress(), location.getCity(), location.getPostalCode(),
+                            location.getCountryCode());
+                }
+            }
+
+            // Only one COPY can be open on a connection, so characteristics go in a second pass
+            try (Writer out = copyWriter(pgConnection, "COPY characteristic_import_staging " +
+                    "(id, resource_id, code, type, value) FROM STDIN")) {
+                for (int i = 0; i < ids.length; i++) {
+                    List<CharacteristicDTO> characteristics = requests.get(i).getCharacteristics();
+                    if (characteristics == null) {
+                        continue;
+                    }
+                    for (CharacteristicDTO characteristic : characteristics) {
+                        writeLine(out, UuidV7Generator.nextUuid(), ids[i], characteristic.getCode(),
+                                characteristic.getType().name(), characteristic.getValue());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("COPY into staging tables failed", e);
+        }
+    }
+
+    private static PGConnection unwrap(Connection con) {
+        try {
+            return con.unwrap(PGConnection.class);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Bulk import requires a PostgreSQL connection", e);
+        }
+    }
+
+    private static Writer copyWriter(PGConnection connection, String sql) {
+        try {
+            return new BufferedWriter(new OutputStreamWriter(
+                    new PGCopyOutputStream(connection, sql, COPY_BUFFER_SIZE), StandardCharsets.UTF_8),
+                    COPY_BUFFER_SIZE);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not start COPY: " + sql, e);
+        }
+    }
+
+    // One line of COPY text format: tab separated, \N for null
+    private static void writeLine(Writer out, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write('\t');
+            }
+            if (values[i] == null) {
+                out.write("\\N");
+            } else {
+                writeEscaped(out, values[i].toString());
+            }
+        }
+        out.write('\n');
+    }
+
+    private static void writeEscaped(Writer out, String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> out.write("\\\\");
+                case '\t' -> out.write("\\t");
+                case '\n' -> out.write("\\n");
+                case '\r' -> out.write("\\r");
+                default -> out.write(c);
+            }
+        }
+    }
+}
@@ -2,23 +2,50 @@ package com.energia.resourcemanagement.repository;
 
 import com.energia.resourcemanagement.domain.entity.Resource;
 import com.energia.resourcemanagement.domain.enums.ResourceType;
+import com.energia.resourcemanagement.dto.projection.ResourceRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface ResourceRepository extends JpaRepository<Resource, UUID> {
 
+    String STREAM_FETCH_SIZE = "500";
+
+    // Read endpoints select straight into ResourceRow instead of hydrating managed entities
+    String RESOURCE_ROW = "SELECT new com.energia.resourcemanagement.dto.projection.ResourceRow(" +
+            "r.id, r.type, r.countryCode, r.location.streetAddress, r.location.city, r.location.postalCode, " +
+            "r.location.countryCode, r.createdAt, r.updatedAt, r.version) FROM Resource r";
+
     @Query("SELECT r FROM Resource r LEFT JOIN FETCH r.characteristics WHERE r.id = :id")
     Optional<Resource> findByIdWithCharacteristics(@Param("id") UUID id);
 
+    @Query("SELECT r.version FROM Resource r WHERE r.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
+
+    @Query(RESOURCE_ROW + " WHERE r.id = :id")
+    Optional<ResourceRow> findRowById(@Param("id") UUID id);
+
+    // Both ends of the primary key, in Postgres uuid order
+    @Query("SELECT r.id FROM Resource r ORDER BY r.id ASC LIMIT 1")
+    Optional<UUID> findLowestId();
+
+    @Query("SELECT r.id FROM Resource r ORDER BY r.id DESC LIMIT 1")
+    Optional<UUID> findHighestId();
+
     List<Resource> findByCountryCode(String countryCode);
 
     List<Resource> findByType(ResourceType type);
@@ -29,6 +56,133 @@ public interface ResourceRepository extends JpaRepository<Resource, UUID> {
 
     Page<Resource> findByType(ResourceType type, Pageable pageable);
 
-    @Query("SELECT r FROM Resource r LEFT JOIN FETCH r.characteristics")
-    List<Resource> findAllWithCharacteristics();
+    // Paged without a count query; totals come from ResourceCounterRepository
+    @Query(RESOURCE_ROW)
+    List<ResourceRow> findRows(Pageable pageable);
+
+    @Query(RESOURCE_ROW + " WHERE r.countryCode = :countryCode")
+    List<ResourceRow> findRowsByCountryCode(@Param("countryCode") String countryCode, Pageable pageable);
+
+    @Query(RESOURCE_ROW + " WHERE r.type = :type")
+    List<ResourceRow> findRowsByType(@Param("type") ResourceType type, Pageable pageable);
+
+    @Query(RESOURCE_ROW + " WHERE r.countryCode = :countryCode AND r.type = :type")
+    List<ResourceRow> findRowsByCountryCodeAndType(@Param("countryCode") String countryCode,
+                                                   @Param("type") ResourceType type,
+                                                   Pageable pageable);
+
+    // Forward-only cursor for bulk reads; must be consumed inside a transaction and closed
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r FROM Resource r")
+    Stream<Resource> streamAll();
+
+    // Id-range slices of streamAll, read by parallel export workers
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r FROM Resource r WHERE r.id >= :from AND r.id < :to")
+    Stream<Resource> streamRange(@Param("from") UUID from, @Param("to") UUID to);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r FROM Resource r WHERE r.id >= :from")
+    Stream<Resource> streamFrom(@Param("from") UUID from);
+
+    // Row cursors behind the NDJSON stream endpoint; same contract as streamAll
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(RESOURCE_ROW)
+    Stream<ResourceRow> streamRows();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(RESOURCE_ROW + " WHERE r.countryCode = :countryCode")
+    Stream<ResourceRow> streamRowsByCountryCode(@Param("countryCode") String countryCode);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(RESOURCE_ROW + " WHERE r.type = :type")
+    Stream<ResourceRow> streamRowsByType(@Param("type") ResourceType type);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(RESOURCE_ROW + " WHERE r.countryCode = :countryCode AND r.type = :type")
+    Stream<ResourceRow> streamRowsByCountryCodeAndType(@Param("countryCode") String countryCode,
+                                                       @Param("type") ResourceType type);
+
+    // Row count as of the last VACUUM or ANALYZE, read without scanning; -1 before the table was first analyzed
+    @Query(value = "SELECT reltuples::bigint FROM pg_class WHERE oid = 'resources'::regclass", nativeQuery = true)
+    long estimateCount();
+
+    // change_seq is maintained by the database only, hence the native query
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(value = "SELECT r.* FROM resources r WHERE r.change_seq >= :fromChangeSeq AND r.change_seq < :toChangeSeq",
+            nativeQuery = true)
+    Stream<Resource> streamChanged(@Param("fromChangeSeq") long fromChangeSeq,
+                                   @Param("toChangeSeq") long toChangeSeq);
+
+    // Keyset pagination ordered by (createdAt DESC, id DESC)
+    @Query(RESOURCE_ROW + " ORDER BY r.createdAt DESC, r.id DESC")
+    List<ResourceRow> findAllByOrderByCreatedAtDescIdDesc(Limit limit);
+
+    @Query(RESOURCE_ROW + " WHERE r.countryCode = :countryCode ORDER BY r.createdAt DESC, r.id DESC")
+    List<ResourceRow> findByCountryCodeOrderByCreatedAtDescIdDesc(@Param("countryCode") String countryCode,
+                                                                 Limit limit);
+
+    @Query(RESOURCE_ROW + " WHERE r.type = :type ORDER BY r.createdAt DESC, r.id DESC")
+    List<ResourceRow> findByTypeOrderByCreatedAtDescIdDesc(@Param("type") ResourceType type, Limit limit);
+
+    @Query(RESOURCE_ROW + " WHERE r.countryCode = :countryCode AND r.type = :type " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ResourceRow> findByCountryCodeAndTypeOrderByCreatedAtDescIdDesc(@Param("countryCode") String countryCode,
+                                                                        @Param("type") ResourceType type,
+                                                                        Limit limit);
+
+    @Query(RESOURCE_ROW + " WHERE (r.createdAt, r.id) < (:createdAt, :id) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ResourceRow> findAfterCursor(@Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") UUID id,
+                                      Limit limit);
+
+    @Query(RESOURCE_ROW + " WHERE r.countryCode = :countryCode " +
+            "AND (r.createdAt, r.id) < (:createdAt, :id) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ResourceRow> findByCountryCodeAfterCursor(@Param("countryCode") String countryCode,
+                                                   @Param("createdAt") LocalDateTime createdAt,
+                                                   @Param("id") UUID id,
+                                                   Limit limit);
+
+    @Query(RESOURCE_ROW + " WHERE r.type = :type " +
+            "AND (r.createdAt, r.id) < (:createdAt, :id) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ResourceRow> findByTypeAfterCursor(@Param("type") ResourceType type,
+                                            @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") UUID id,
+                                            Limit limit);
+
+    @Query(RESOURCE_ROW + " WHERE r.countryCode = :countryCode AND r.type = :type " +
+            "AND (r.createdAt, r.id) < (:createdAt, :id) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ResourceRow> findByCountryCodeAndTypeAfterCursor(@Param("countryCode") String countryCode,
+                                                          @Param("type") ResourceType type,
+                                                          @Param("createdAt") LocalDateTime createdAt,
+                                                          @Param("id") UUID id,
+                                                          Limit limit);
 }
\ No newline at end of file
@@ -0,0 +1,224 @@
+package com.energia.resourcemanagement.repository;
+
+import com.energia.resourcemanagement.domain.enums.ResourceType;
+import com.energia.resourcemanagement.dto.common.LocationCursor;
+import com.energia.resourcemanagement.dto.projection.ResourceRow;
+import com.energia.resourcemanagement.dto.request.LocationSearchRequest;
+import com.energia.resourcemanagement.dto.request.ResourceSearchRequest;
+import com.energia.resourcemanagement.dto.request.ResourceSearchRequest.CharacteristicPredicate;
+import com.energia.resourcemanagement.exception.InvalidSearchException;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+
+// Every characteristic predicate is one index-only scan; the id sets are combined with INTERSECT (AND) or
+// UNION (OR) before they are joined to resources. Location search orders streets by trigram word-similarity
+// distance, which the GiST trigram index returns nearest first
+@Timed("resource.repository")
+@Repository
+@RequiredArgsConstructor
+public class ResourceSearchRepository {
+
+    private static final String COLUMNS = "r.id, r.type, r.country_code, r.street_address, r.city, r.postal_code, " +
+            "r.location_country_code, r.created_at, r.updated_at, r.version";
+
+    // Sortable properties of the search page; other sort properties are rejected instead of ignored
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "createdAt", "r.created_at",
+            "updatedAt", "r.updated_at",
+            "countryCode", "r.country_code",
+            "type", "r.type",
+            "id", "r.id");
+
+    private static final RowMapper<ResourceRow> ROW_MAPPER = (rs, rowNum) -> new ResourceRow(
+            rs.getObject("id", UUID.class),
+            ResourceType.valueOf(rs.getString("type")),
+            rs.getString("country_code"),
+            rs.getString("street_address"),
+            rs.getString("city"),
+            rs.getString("postal_code"),
+            rs.getString("location_country_code"),
+            rs.getTimestamp("created_at").toLocalDateTime(),
+            rs.getTimestamp("updated_at").toLocalDateTime(),
+            rs.getLong("version"));
+
+    private static final RowMapper<LocationMatch> LOCATION_MAPPER = (rs, rowNum) -> {
+        float distance = rs.getFloat("match_distance");
+        return new LocationMatch(ROW_MAPPER.mapRow(rs, rowNum), rs.wasNull() ? null : distance);
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record LocationMatch(ResourceRow row, Float distance) {
+    }
+
+    public Page<ResourceRow> search(ResourceSearchRequest criteria, Pageable pageable) {
+        List<Object> args = new ArrayList<>();
+        String where = whereClause(criteria, args);
+
+        List<Object> pageArgs = new ArrayList<>(args);
+        pageArgs.add(pageable.getPageSize());
+        pageArgs.add(pageable.getOffset());
+        List<ResourceRow> rows = jdbcTemplate.query(pageQuery(where, pageable.getSort()), ROW_MAPPER, pageArgs.toArray());
+
+        // The count is only needed when the page does not already tell the total
+        long total;
+        if (pageable.getOffset() == 0 && rows.size() < pageable.getPageSize()) {
+            total = rows.size();
+        } else {
+            Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM resources r" + where,
+                    Long.class, args.toArray());
+            total = count != null ? count : 0;
+        }
+        return new PageImpl<>(rows, pageable, total);
+    }
+
+    // Execution plan of the page query, for diagnosing index usage
+    public List<String> explain(ResourceSearchRequest criteria, Pageable pageable) {
+        List<Object> args = new ArrayList<>();
+        String where = whereClause(criteria, args);
+        args.add(pageable.getPageSize());
+        args.add(pageable.getOffset());
+        return jdbcTemplate.queryForList("EXPLAIN " + pageQuery(where, pageable.getSort()), String.class, args.toArray());
+    }
+
+    // Up to limit matches after the cursor, best ranked first when a street is given, newest first otherwise
+    public List<LocationMatch> searchByLocation(LocationSearchRequest criteria, LocationCursor after, int limit) {
+        List<Object> args = new ArrayList<>();
+        String query = locationQuery(criteria, after, args);
+        args.add(limit);
+        return jdbcTemplate.query(query, LOCATION_MAPPER, args.toArray());
+    }
+
+    public List<String> explainLocationSearch(LocationSearchRequest criteria, LocationCursor after, int limit) {
+        List<Object> args = new ArrayList<>();
+        String query = locationQuery(criteria, after, args);
+        args.add(limit);
+        return jdbcTemplate.queryForList("EXPLAIN " + query, String.class, args.toArray());
+    }
+
+    private String pageQuery(String where, Sort sort) {
+        return "SELECT " + COLUMNS + " FROM resources r" + where + orderBy(sort) + " LIMIT ? OFFSET ?";
+    }
+
+    // Newest first unless the request sorts; id always breaks ties so OFFSET pages neither repeat nor skip rows
+    private static String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return " ORDER BY r.created_at DESC, r.id DESC";
+        }
+        List<String> keys = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new InvalidSearchException(String.format("cannot sort by %s, sortable properties are %s",
+                        order.getProperty(), String.join(", ", new TreeSet<>(SORT_COLUMNS.keySet()))));
+            }
+            keys.add(column + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        if (sort.getOrderFor("id") == null) {
+            keys.add("r.id DESC");
+        }
+        return " ORDER BY " + String.join(", ", keys);
+    }
+
+    private String whereClause(ResourceSearchRequest criteria, List<Object> args) {
+        List<String> conditions = new ArrayList<>();
+        if (criteria.getCountryCode() != null) {
+            conditions.add("r.country_code = ?");
+            args.add(criteria.getCountryCode());
+        }
+        if (criteria.getType() != null) {
+            conditions.add("r.type = ?");
+            args.add(criteria.getType().name());
+        }
+
+        List<CharacteristicPredicate> predicates = criteria.getCharacteristics();
+        if (predicates != null && !predicates.isEmpty()) {
+            String combinator = criteria.getOperator() == ResourceSearchRequest.Operator.OR ? " UNION " : " INTERSECT ";
+            List<String> subqueries = new ArrayList<>(predicates.size());
+            for (CharacteristicPredicate predicate : predicates) {
+                StringBuilder subquery = new StringBuilder(
+                        "SELECT c.resource_id FROM characteristics c WHERE c.type = ? AND c.value = ?");
+                args.add(predicate.getType().name());
+                args.add(predicate.getValue());
+                if (predicate.getCode() != null) {
+                    subquery.append(" AND c.code = ?");
+                    args.add(predicate.getCode());
+                }
+                subqueries.add(subquery.toString());
+            }
+            conditions.add("r.id IN (" + String.join(combinator, subqueries) + ")");
+        }
+
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    private String locationQuery(LocationSearchRequest criteria, LocationCursor after, List<Object> args) {
+        String street = criteria.getStreet();
+        StringBuilder query = new StringBuilder("SELECT ").append(COLUMNS);
+        if (street != null) {
+            query.append(", ? <<-> r.street_address AS match_distance");
+            args.add(street);
+        } else {
+            query.append(", NULL::real AS match_distance");
+        }
+        query.append(" FROM resources r");
+
+        List<String> conditions = new ArrayList<>();
+        if (street != null) {
+            conditions.add("? <% r.street_address");
+            args.add(street);
+        }
+        if (criteria.getCity() != null) {
+            conditions.add("lower(r.city) = lower(?)");
+            args.add(criteria.getCity());
+        }
+        if (criteria.getPostalCodePrefix() != null) {
+            String prefix = criteria.getPostalCodePrefix();
+            conditions.add("r.postal_code COLLATE \"C\" >= ? AND r.postal_code COLLATE \"C\" < ?");
+            args.add(prefix);
+            args.add(prefixUpperBound(prefix));
+        }
+        if (criteria.getCountryCode() != null) {
+            conditions.add("r.location_country_code = ?");
+            args.add(criteria.getCountryCode());
+        }
+        if (after != null) {
+            if (street != null) {
+                conditions.add("(? <<-> r.street_address, r.id) > (?, ?)");
+                args.add(street);
+                args.add(after.getDistance());
+            } else {
+                conditions.add("(r.created_at, r.id) < (?, ?)");
+                args.add(after.getCreatedAt());
+            }
+            args.add(after.getId());
+        }
+        if (!conditions.isEmpty()) {
+            query.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+
+        query.append(street != null
+                ? " ORDER BY match_distance, r.id LIMIT ?"
+                : " ORDER BY r.created_at DESC, r.id DESC LIMIT ?");
+        return query.toString();
+    }
+
+    // Smallest string greater than every string starting with prefix, in byte-wise (C) order
+    private static String prefixUpperBound(String prefix) {
+        int last = prefix.length() - 1;
+        return prefix.substring(0, last) + (char) (prefix.charAt(last) + 1);
+    }
+}
@@ -0,0 +1,15 @@
+package com.energia.resourcemanagement.service;
+
+import com.energia.resourcemanagement.domain.enums.ExportMode;
+import com.energia.resourcemanagement.dto.response.ExportJobResponse;
+
+import java.util.UUID;
+
+public interface ExportJobService {
+
+    ExportJobResponse startExport(ExportMode mode);
+
+    ExportJobResponse getJob(UUID id);
+
+    ExportJobResponse cancelJob(UUID id);
+}
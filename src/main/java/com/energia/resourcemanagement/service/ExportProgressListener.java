@@ -0,0 +1,23 @@
+package com.energia.resourcemanagement.service;
+
+public interface ExportProgressListener {
+
+    ExportProgressListener NONE = new ExportProgressListener() {
+    };
+
+    default void onRowsRead(int rows) {
+    }
+
+    default void onBatchSent() {
+    }
+
+    default void onBatchAcked(int rows) {
+    }
+
+    default void onBatchFailed(Throwable ex) {
+    }
+
+    default boolean isCancelled() {
+        return false;
+    }
+}
@@ -0,0 +1,46 @@
+package com.energia.resourcemanagement.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Slice [from, to) of the id space in Postgres uuid order; a null upper bound is open-ended
+public record ExportRange(UUID from, UUID to) {
+
+    private static final UUID MIN = new UUID(0L, 0L);
+
+    // Random ids are spread evenly, so equal slices of the top 64 bits hold roughly equal row counts
+    public static List<ExportRange> split(int count) {
+        validate(count);
+        return split(count, 0L, Long.divideUnsigned(-1L, count) + 1);
+    }
+
+    // Time-ordered ids only span the oldest to the newest id, so that span is sliced; the outer slices stay open
+    public static List<ExportRange> split(int count, UUID lowest, UUID highest) {
+        validate(count);
+        long low = lowest.getMostSignificantBits();
+        long span = highest.getMostSignificantBits() - low;
+        if (Long.compareUnsigned(span, count) < 0) {
+            return List.of(new ExportRange(MIN, null));
+        }
+        return split(count, low, Long.divideUnsigned(span, count) + 1);
+    }
+
+    private static List<ExportRange> split(int count, long low, long step) {
+        List<ExportRange> ranges = new ArrayList<>(count);
+        UUID from = MIN;
+        for (int i = 1; i < count; i++) {
+            UUID to = new UUID(low + step * i, 0L);
+            ranges.add(new ExportRange(from, to));
+            from = to;
+        }
+        ranges.add(new ExportRange(from, null));
+        return ranges;
+    }
+
+    private static void validate(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Range count must be positive: " + count);
+        }
+    }
+}
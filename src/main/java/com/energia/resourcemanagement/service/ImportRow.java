@@ -0,0 +1,15 @@
+package com.energia.resourcemanagement.service;
+
+import com.energia.resourcemanagement.dto.request.CreateResourceRequest;
+
+// A parsed request or the reason the row could not be parsed; lines are 1-based and count the CSV header
+public record ImportRow(long line, CreateResourceRequest request, String parseError) {
+
+    public static ImportRow parsed(long line, CreateResourceRequest request) {
+        return new ImportRow(line, request, null);
+    }
+
+    public static ImportRow malformed(long line, String parseError) {
+        return new ImportRow(line, null, parseError);
+    }
+}
@@ -0,0 +1,11 @@
+package com.energia.resourcemanagement.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+// Reads an import upload one row at a time, so memory use does not grow with the input
+public interface ImportRowReader extends Closeable {
+
+    // Next row, or null at the end of the input
+    ImportRow next() throws IOException;
+}
@@ -0,0 +1,11 @@
+package com.energia.resourcemanagement.service;
+
+import com.energia.resourcemanagement.domain.enums.ImportFormat;
+import com.energia.resourcemanagement.dto.response.ResourceImportResponse;
+
+import java.io.InputStream;
+
+public interface ResourceImportService {
+
+    ResourceImportResponse importResources(InputStream input, ImportFormat format);
+}
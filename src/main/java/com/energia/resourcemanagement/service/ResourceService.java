@@ -1,11 +1,20 @@
 package com.energia.resourcemanagement.service;
 
+import com.energia.resourcemanagement.dto.common.ErrorResponse;
 import com.energia.resourcemanagement.dto.request.CreateResourceRequest;
+import com.energia.resourcemanagement.dto.request.LocationSearchRequest;
+import com.energia.resourcemanagement.dto.request.ResourceSearchRequest;
 import com.energia.resourcemanagement.dto.request.UpdateResourceRequest;
+import com.energia.resourcemanagement.dto.response.BatchCreateResponse;
+import com.energia.resourcemanagement.dto.response.CursorPage;
 import com.energia.resourcemanagement.dto.response.ResourceResponse;
+import com.energia.resourcemanagement.dto.response.ResourceStatsResponse;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.UUID;
 
@@ -13,15 +22,35 @@ public interface ResourceService {
 
     ResourceResponse createResource(CreateResourceRequest request);
 
+    BatchCreateResponse createResources(List<CreateResourceRequest> requests);
+
+    List<ErrorResponse.ValidationError> validateCreateRequest(CreateResourceRequest request);
+
     ResourceResponse getResource(UUID id);
 
+    long getResourceVersion(UUID id);
+
     Page<ResourceResponse> getAllResources(String countryCode, String type, Pageable pageable);
 
+    ResourceStatsResponse getStats(String countryCode, String type);
+
+    Page<ResourceResponse> searchResources(ResourceSearchRequest request, Pageable pageable);
+
+    CursorPage<ResourceResponse> getResourcesByCursor(String countryCode, String type, String cursor, int size);
+
+    long streamResources(String countryCode, String type, OutputStream out) throws IOException;
+
+    CursorPage<ResourceResponse> searchByLocation(LocationSearchRequest request, String cursor, int size);
+
     ResourceResponse updateResource(UUID id, UpdateResourceRequest request, Long version);
 
+    ResourceResponse patchResource(UUID id, JsonNode mergePatch, Long version);
+
     void deleteResource(UUID id);
 
-    void exportAllToKafka();
+    long exportAllToKafka(ExportProgressListener listener);
+
+    long exportRangeToKafka(ExportRange range, ExportProgressListener listener);
 
-    List<ResourceResponse> getAllResourcesForExport();
+    long exportChangesToKafka(long fromChangeSeq, long toChangeSeq, ExportProgressListener listener);
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.energia.resourcemanagement.service;
+
+import com.energia.resourcemanagement.dto.request.UpdateResourceRequest;
+import com.energia.resourcemanagement.dto.response.ResourceResponse;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+public interface ResourceWriteCoalescer {
+
+    // Same contract as ResourceService.updateResource; unconditional updates may share one write with others.
+    // They are folded in arrival order, the order in which they would have taken versions one by one.
+    ResourceResponse updateResource(UUID id, UpdateResourceRequest request, Long version);
+
+    // Runs a write of the resource on its own, after the writes of the same resource accepted before it
+    <T> T inOrder(UUID id, Supplier<T> write);
+}
@@ -0,0 +1,24 @@
+package com.energia.resourcemanagement.service.impl;
+
+import com.energia.resourcemanagement.dto.common.CharacteristicDTO;
+import com.energia.resourcemanagement.exception.DuplicateCharacteristicException;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Component
+public class CharacteristicValidator {
+
+    public void validate(List<CharacteristicDTO> characteristics) {
+        // Check for duplicates based on code + type combination
+        Set<String> seen = new HashSet<>();
+        for (CharacteristicDTO characteristic : characteristics) {
+            String key = characteristic.getCode() + "_" + characteristic.getType();
+            if (!seen.add(key)) {
+                throw new DuplicateCharacteristicException(characteristic.getCode(), characteristic.getType().toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.energia.resourcemanagement.service.impl;
+
+import com.energia.resourcemanagement.domain.enums.CharacteristicType;
+import com.energia.resourcemanagement.domain.enums.ResourceType;
+import com.energia.resourcemanagement.dto.common.CharacteristicDTO;
+import com.energia.resourcemanagement.dto.common.LocationDTO;
+import com.energia.resourcemanagement.dto.request.CreateResourceRequest;
+import com.energia.resourcemanagement.exception.InvalidImportException;
+import com.energia.resourcemanagement.service.ImportRow;
+import com.energia.resourcemanagement.service.ImportRowReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// The header row names the columns. Characteristics cells hold CODE:TYPE:VALUE entries separated by ';'.
+// Quoted fields cannot span lines; empty cells are missing values
+public class CsvImportReader implements ImportRowReader {
+
+    private static final List<String> REQUIRED_COLUMNS = List.of(
+            "type", "countryCode", "streetAddress", "city", "postalCode", "locationCountryCode");
+
+    private final BufferedReader reader;
+    private Map<String, Integer> columns;
+    private long line;
+
+    public CsvImportReader(InputStream input) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        if (columns == null) {
+            readHeader();
+        }
+
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+        } while (text.isBlank());
+
+        try {
+            return ImportRow.parsed(line, toRequest(parseLine(text)));
+        } catch (IllegalArgumentException e) {
+            return ImportRow.malformed(line, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readHeader() throws IOException {
+        String header = reader.readLine();
+        line++;
+        if (header == null) {
+            throw new InvalidImportException("CSV input has no header row");
+        }
+
+        columns = new HashMap<>();
+        List<String> names = parseLine(header.startsWith("﻿") ? header.substring(1) : header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim(), i);
+        }
+        for (String column : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new InvalidImportException("CSV header is missing column " + column);
+            }
+        }
+    }
+
+    private CreateResourceRequest toRequest(List<String> fields) {
+        String type = cell(fields, "type");
+        return CreateResourceRequest.builder()
+                .type(type != null ? parseEnum(ResourceType.class, type, "resource type") : null)
+                .countryCode(cell(fields, "countryCode"))
+                .location(LocationDTO.builder()
+                        .streetAddress(cell(fields, "streetAddress"))
+                        .city(cell(fields, "city"))
+                        .postalCode(cell(fields, "postalCode"))
+                        .countryCode(cell(fields, "locationCountryCode"))
+                        .build())
+                .characteristics(characteristics(cell(fields, "characteristics")))
+                .build();
+    }
+
+    private List<CharacteristicDTO> characteristics(String cell) {
+        List<CharacteristicDTO> characteristics = new ArrayList<>();
+        if (cell == null) {
+            return characteristics;
+        }
+        for (String entry : cell.split(";")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.split(":", 3);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Characteristic must be CODE:TYPE:VALUE: " + entry);
+            }
+            characteristics.add(CharacteristicDTO.builder()
+                    .code(parts[0].trim())
+                    .type(parseEnum(CharacteristicType.class, parts[1].trim(), "characteristic type"))
+                    .value(parts[2])
+                    .build());
+        }
+        return characteristics;
+    }
+
+    private String cell(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String description) {
+        try {
+            return Enum.valueOf(type, value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + description + ": " + value);
+        }
+    }
+
+    // RFC 4180 fields on a single line: quoted fields may contain commas and doubled quotes
+    static List<String> parseLine(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,495 @@
+package com.energia.resourcemanagement.service.impl;
+
+import com.energia.resourcemanagement.domain.entity.ExportJob;
+import com.energia.resourcemanagement.domain.enums.ExportJobStatus;
+import com.energia.resourcemanagement.domain.enums.ExportMode;
+import com.energia.resourcemanagement.dto.response.ExportJobResponse;
+import com.energia.resourcemanagement.exception.ExportCancelledException;
+import com.energia.resourcemanagement.exception.ExportCapacityExceededException;
+import com.energia.resourcemanagement.exception.ExportJobNotCancellableException;
+import com.energia.resourcemanagement.exception.ExportJobNotFoundException;
+import com.energia.resourcemanagement.kafka.producer.ResourceEventProducer;
+import com.energia.resourcemanagement.mapper.ExportJobMapper;
+import com.energia.resourcemanagement.repository.ChangeTrackingRepository;
+import com.energia.resourcemanagement.repository.ExportJobRepository;
+import com.energia.resourcemanagement.repository.ResourceRepository;
+import com.energia.resourcemanagement.service.ExportJobService;
+import com.energia.resourcemanagement.service.ExportProgressListener;
+import com.energia.resourcemanagement.service.ExportRange;
+import com.energia.resourcemanagement.service.ResourceService;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Timed("resource.service")
+@Service
+@RequiredArgsConstructor
+public class ExportJobServiceImpl implements ExportJobService {
+
+    private final ExportJobRepository exportJobRepository;
+    private final ChangeTrackingRepository changeTrackingRepository;
+    private final ExportJobMapper exportJobMapper;
+    private final ResourceService resourceService;
+    private final ResourceRepository resourceRepository;
+    private final ResourceEventProducer eventProducer;
+    private final TaskExecutor exportExecutor;
+    private final TaskExecutor exportWorkerExecutor;
+    private final MeterRegistry meterRegistry;
+
+    private static final int CANCEL_ATTEMPTS = 3;
+
+    private final Map<UUID, ExportJobTracker> activeJobs = new ConcurrentHashMap<>();
+
+    // Owner id written on the jobs this instance runs
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @Value("${export.ranges:8}")
+    private int rangeCount;
+
+    @Value("${export.heartbeat-timeout-ms:60000}")
+    private long heartbeatTimeoutMs;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("resource.export.active", activeJobs, Map::size)
+                .description("Export jobs accepted and not yet finished")
+                .register(meterRegistry);
+        Gauge.builder("resource.export.throughput", this, ExportJobServiceImpl::currentRowsPerSecond)
+                .description("Rows per second read by all running export jobs")
+                .baseUnit("rows")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ExportJobResponse startExport(ExportMode mode) {
+        ExportJob job = exportJobRepository.save(ExportJob.builder()
+                .status(ExportJobStatus.PENDING)
+                .mode(mode)
+                .ownerId(instanceId)
+                .heartbeatAt(LocalDateTime.now())
+                .build());
+        log.info("{} export job {} accepted", mode, job.getId());
+
+        ExportJobTracker tracker = new ExportJobTracker(job,
+                meterRegistry.counter("resource.export.rows", "mode", mode.name()));
+        activeJobs.put(job.getId(), tracker);
+
+        try {
+            exportExecutor.execute(() -> runExport(tracker));
+        } catch (TaskRejectedException e) {
+            activeJobs.remove(job.getId());
+            finish(tracker, ExportJobStatus.FAILED, "Export executor is saturated");
+            throw new ExportCapacityExceededException(job.getId(), e);
+        }
+
+        return toResponse(tracker);
+    }
+
+    // Jobs only run in the instance that accepted them, and the owner refreshes the heartbeat on every
+    // progress flush. A job whose heartbeat went stale lost its owner and would otherwise stay PENDING or
+    // RUNNING forever; the version check skips jobs whose owner saved progress after they were read.
+    @Scheduled(fixedDelayString = "${export.orphan-check-interval-ms:30000}")
+    public void failOrphanedJobs() {
+        List<ExportJob> orphaned = exportJobRepository.findByStatusInAndHeartbeatAtBefore(
+                        List.of(ExportJobStatus.PENDING, ExportJobStatus.RUNNING), heartbeatCutoff())
+                .stream()
+                .filter(job -> !activeJobs.containsKey(job.getId()))
+                .toList();
+
+        LocalDateTime now = LocalDateTime.now();
+        for (ExportJob job : orphaned) {
+            job.setStatus(ExportJobStatus.FAILED);
+            job.setErrorMessage("Owner " + job.getOwnerId() + " stopped sending heartbeats at " + job.getHeartbeatAt());
+            job.setFinishedAt(now);
+            try {
+                exportJobRepository.save(job);
+                log.warn("Marked export job {} of owner {} as FAILED after its heartbeat went stale", job.getId(), job.getOwnerId());
+            } catch (ObjectOptimisticLockingFailureException e) {
+                log.debug("Export job {} was updated by its owner meanwhile; leaving it running", job.getId());
+            }
+        }
+    }
+
+    private LocalDateTime heartbeatCutoff() {
+        return LocalDateTime.now().minus(Duration.ofMillis(heartbeatTimeoutMs));
+    }
+
+    private boolean isHeartbeatStale(ExportJob job) {
+        return job.getHeartbeatAt() == null || job.getHeartbeatAt().isBefore(heartbeatCutoff());
+    }
+
+    @Override
+    public ExportJobResponse getJob(UUID id) {
+        ExportJobTracker tracker = activeJobs.get(id);
+        if (tracker != null) {
+            return toResponse(tracker);
+        }
+
+        ExportJob job = exportJobRepository.findById(id)
+                .orElseThrow(() -> new ExportJobNotFoundException(id));
+        return toResponse(job);
+    }
+
+    // A job running on another instance is cancelled through the row: its owner reads the flag when its
+    // next progress flush conflicts with this write, and stops at the next chunk or range
+    @Override
+    public ExportJobResponse cancelJob(UUID id) {
+        ExportJobTracker tracker = activeJobs.get(id);
+        if (tracker != null) {
+            log.info("Cancellation requested for export job {}", id);
+            tracker.cancel();
+            return toResponse(tracker);
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            ExportJob job = exportJobRepository.findById(id)
+                    .orElseThrow(() -> new ExportJobNotFoundException(id));
+            if (job.getStatus().isTerminal()) {
+                throw new ExportJobNotCancellableException(id, "it already finished with status " + job.getStatus());
+            }
+            if (isHeartbeatStale(job)) {
+                throw new ExportJobNotCancellableException(id, "its owner " + job.getOwnerId() + " stopped sending heartbeats");
+            }
+
+            job.setCancelRequested(true);
+            try {
+                ExportJob saved = exportJobRepository.save(job);
+                log.info("Cancellation requested for export job {} running on {}", id, job.getOwnerId());
+                return toResponse(saved);
+            } catch (ObjectOptimisticLockingFailureException e) {
+                // The owner flushed progress meanwhile; read the row again
+                if (attempt == CANCEL_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${export.progress-flush-interval-ms:1000}")
+    public void flushProgress() {
+        activeJobs.values().forEach(this::persist);
+    }
+
+    private void runExport(ExportJobTracker tracker) {
+        UUID jobId = tracker.getJobId();
+        try {
+            if (tracker.isCancelled()) {
+                finish(tracker, ExportJobStatus.CANCELLED, "Cancelled before start");
+                return;
+            }
+
+            if (tracker.mode == ExportMode.DELTA) {
+                runDeltaExport(tracker);
+            } else {
+                // Only seeds the progress estimate, so the planner statistics do instead of a COUNT(*) scan
+                long estimate = resourceRepository.estimateCount();
+                tracker.start(estimate >= 0 ? estimate : null);
+                persist(tracker);
+                log.info("Export job {} started", jobId);
+
+                exportRangesInParallel(tracker);
+                // Wait for outstanding batches so the final counters reflect broker acks
+                eventProducer.flush();
+
+                if (tracker.batchesFailed.get() > 0) {
+                    finish(tracker, ExportJobStatus.FAILED, tracker.batchesFailed.get() + " batches were not acknowledged");
+                } else {
+                    finish(tracker, ExportJobStatus.COMPLETED, null);
+                }
+            }
+        } catch (ExportCancelledException e) {
+            eventProducer.flush();
+            finish(tracker, ExportJobStatus.CANCELLED, e.getMessage());
+        } catch (Exception e) {
+            log.error("Export job {} failed", jobId, e);
+            finish(tracker, ExportJobStatus.FAILED, e.getMessage());
+        } finally {
+            activeJobs.remove(jobId);
+        }
+    }
+
+    // Sends what changed since the last acknowledged delta export and only then moves the watermark
+    private void runDeltaExport(ExportJobTracker tracker) {
+        long fromChangeSeq = changeTrackingRepository.findWatermark(ChangeTrackingRepository.RESOURCES_WATERMARK);
+        long toChangeSeq = changeTrackingRepository.stampPendingChanges();
+
+        tracker.start(changeTrackingRepository.countChanges(fromChangeSeq, toChangeSeq));
+        tracker.changeRange(fromChangeSeq, toChangeSeq);
+        persist(tracker);
+        log.info("Delta export job {} started for change sequence {} to {}", tracker.getJobId(), fromChangeSeq, toChangeSeq);
+
+        resourceService.exportChangesToKafka(fromChangeSeq, toChangeSeq, tracker);
+        eventProducer.flush();
+
+        if (tracker.batchesFailed.get() > 0) {
+            finish(tracker, ExportJobStatus.FAILED, tracker.batchesFailed.get() + " batches were not acknowledged");
+            return;
+        }
+
+        changeTrackingRepository.advanceWatermark(ChangeTrackingRepository.RESOURCES_WATERMARK, toChangeSeq);
+        int purged = changeTrackingRepository.purgeTombstones(toChangeSeq);
+        log.debug("Delta export job {} advanced the watermark to {} and purged {} tombstones",
+                tracker.getJobId(), toChangeSeq, purged);
+        finish(tracker, ExportJobStatus.COMPLETED, null);
+    }
+
+    // Each id range is streamed in its own read-only transaction on a worker thread
+    private long exportRangesInParallel(ExportJobTracker tracker) {
+        Optional<UUID> lowest = resourceRepository.findLowestId();
+        Optional<UUID> highest = resourceRepository.findHighestId();
+        List<ExportRange> ranges = lowest.isPresent() && highest.isPresent()
+                ? ExportRange.split(rangeCount, lowest.get(), highest.get())
+                : ExportRange.split(rangeCount);
+
+        List<CompletableFuture<Long>> workers = new ArrayList<>();
+        for (ExportRange range : ranges) {
+            workers.add(CompletableFuture
+                    .supplyAsync(() -> {
+                        // Ranges still queued for a worker are skipped once the job is cancelled
+                        if (tracker.isCancelled()) {
+                            throw new ExportCancelledException(tracker.rowsRead.get());
+                        }
+                        return resourceService.exportRangeToKafka(range, tracker);
+                    }, exportWorkerExecutor)
+                    .whenComplete((rows, ex) -> {
+                        // A failed range stops the others at their next chunk boundary
+                        if (ex != null) {
+                            tracker.stop();
+                        }
+                    }));
+        }
+
+        long exported = 0;
+        boolean cancelled = false;
+        RuntimeException failure = null;
+        for (CompletableFuture<Long> worker : workers) {
+            try {
+                exported += worker.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof ExportCancelledException) {
+                    cancelled = true;
+                } else if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException runtime
+                            ? runtime
+                            : new IllegalStateException(e.getCause());
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+        if (cancelled) {
+            throw new ExportCancelledException(tracker.rowsRead.get());
+        }
+        return exported;
+    }
+
+    private void finish(ExportJobTracker tracker, ExportJobStatus status, String errorMessage) {
+        synchronized (tracker) {
+            if (tracker.superseded) {
+                log.warn("Export job {} stopped after another instance marked it {}", tracker.getJobId(), tracker.job.getStatus());
+                return;
+            }
+            tracker.applyCounters();
+            tracker.job.setStatus(status);
+            tracker.job.setErrorMessage(errorMessage);
+            tracker.job.setFinishedAt(LocalDateTime.now());
+        }
+        persist(tracker);
+        meterRegistry.counter("resource.export.jobs", "mode", tracker.mode.name(), "status", status.name()).increment();
+        log.info("Export job {} finished with status {} after {} rows", tracker.getJobId(), status, tracker.rowsRead.get());
+    }
+
+    private void persist(ExportJobTracker tracker) {
+        synchronized (tracker) {
+            if (tracker.superseded) {
+                return;
+            }
+            tracker.applyCounters();
+            tracker.job.setHeartbeatAt(LocalDateTime.now());
+            try {
+                tracker.job = exportJobRepository.save(tracker.job);
+            } catch (ObjectOptimisticLockingFailureException e) {
+                resolveConflict(tracker);
+            }
+        }
+    }
+
+    // Someone else wrote the row since the last save. A terminal status written there wins and stops the
+    // job; a cancellation requested there is adopted; otherwise the local progress is written on top of
+    // the newer version.
+    private void resolveConflict(ExportJobTracker tracker) {
+        ExportJob stored = exportJobRepository.findById(tracker.getJobId())
+                .orElseThrow(() -> new ExportJobNotFoundException(tracker.getJobId()));
+        if (stored.getStatus().isTerminal()) {
+            tracker.job = stored;
+            tracker.superseded = true;
+            tracker.stop();
+            return;
+        }
+        if (stored.isCancelRequested()) {
+            log.info("Export job {} was cancelled through another instance", tracker.getJobId());
+            tracker.cancel();
+            tracker.applyCounters();
+        }
+        tracker.job.setVersion(stored.getVersion());
+        tracker.job = exportJobRepository.save(tracker.job);
+    }
+
+    private double currentRowsPerSecond() {
+        return activeJobs.values().stream().mapToDouble(ExportJobTracker::rowsPerSecond).sum();
+    }
+
+    private ExportJobResponse toResponse(ExportJobTracker tracker) {
+        ExportJobResponse response;
+        synchronized (tracker) {
+            tracker.applyCounters();
+            response = exportJobMapper.toResponse(tracker.job);
+        }
+        response.setCancelRequested(tracker.isCancelRequested());
+        response.setEstimatedSecondsRemaining(estimateSecondsRemaining(response));
+        return response;
+    }
+
+    private ExportJobResponse toResponse(ExportJob job) {
+        ExportJobResponse response = exportJobMapper.toResponse(job);
+        response.setEstimatedSecondsRemaining(estimateSecondsRemaining(response));
+        return response;
+    }
+
+    private Long estimateSecondsRemaining(ExportJobResponse job) {
+        if (job.getStatus().isTerminal()) {
+            return 0L;
+        }
+        if (job.getTotalEstimate() == null || job.getRowsPerSecond() <= 0) {
+            return null;
+        }
+        long remaining = Math.max(0, job.getTotalEstimate() - job.getRowsRead());
+        return (long) Math.ceil(remaining / job.getRowsPerSecond());
+    }
+
+    static class ExportJobTracker implements ExportProgressListener {
+
+        private ExportJob job;
+        private final ExportMode mode;
+        private final Counter rowsCounter;
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong batchesSent = new AtomicLong();
+        private final AtomicLong batchesAcked = new AtomicLong();
+        private final AtomicLong batchesFailed = new AtomicLong();
+        private volatile boolean cancelRequested;
+        private volatile boolean stopped;
+        // Set when another instance finished the job; nothing local is written to the row after that
+        private volatile boolean superseded;
+        private volatile long startNanos;
+
+        ExportJobTracker(ExportJob job, Counter rowsCounter) {
+            this.job = job;
+            this.mode = job.getMode();
+            this.rowsCounter = rowsCounter;
+        }
+
+        UUID getJobId() {
+            return job.getId();
+        }
+
+        synchronized void start(Long totalEstimate) {
+            startNanos = System.nanoTime();
+            job.setStatus(ExportJobStatus.RUNNING);
+            job.setStartedAt(LocalDateTime.now());
+            job.setTotalEstimate(totalEstimate);
+        }
+
+        synchronized void changeRange(long fromChangeSeq, long toChangeSeq) {
+            job.setFromChangeSeq(fromChangeSeq);
+            job.setToChangeSeq(toChangeSeq);
+        }
+
+        void cancel() {
+            cancelRequested = true;
+        }
+
+        void stop() {
+            stopped = true;
+        }
+
+        boolean isCancelRequested() {
+            return cancelRequested;
+        }
+
+        // Copies the live counters onto the entity; callers hold the tracker monitor
+        void applyCounters() {
+            long rows = rowsRead.get();
+            job.setRowsRead(rows);
+            job.setBatchesSent(batchesSent.get());
+            job.setBatchesAcked(batchesAcked.get());
+            job.setBatchesFailed(batchesFailed.get());
+            job.setCancelRequested(cancelRequested);
+            if (startNanos > 0 && (!job.getStatus().isTerminal() || job.getRowsPerSecond() == 0)) {
+                job.setRowsPerSecond(rowsPerSecond());
+            }
+        }
+
+        double rowsPerSecond() {
+            long started = startNanos;
+            if (started == 0) {
+                return 0;
+            }
+            double elapsedSeconds = (System.nanoTime() - started) / 1_000_000_000.0;
+            return elapsedSeconds > 0 ? rowsRead.get() / elapsedSeconds : 0;
+        }
+
+        @Override
+        public void onRowsRead(int rows) {
+            rowsRead.addAndGet(rows);
+            rowsCounter.increment(rows);
+        }
+
+        @Override
+        public void onBatchSent() {
+            batchesSent.incrementAndGet();
+        }
+
+        @Override
+        public void onBatchAcked(int rows) {
+            batchesAcked.incrementAndGet();
+        }
+
+        @Override
+        public void onBatchFailed(Throwable ex) {
+            batchesFailed.incrementAndGet();
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelRequested || stopped;
+        }
+    }
+}
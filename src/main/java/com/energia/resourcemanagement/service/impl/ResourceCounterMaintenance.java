@@ -0,0 +1,36 @@
+package com.energia.resourcemanagement.service.impl;
+
+import com.energia.resourcemanagement.repository.ResourceCounterRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ResourceCounterMaintenance {
+
+    private final ResourceCounterRepository resourceCounterRepository;
+
+    // Keeps the delta table short so counter reads stay cheap
+    @Scheduled(fixedDelayString = "${resource.counters.compact-interval-ms:2000}")
+    public void compact() {
+        int folded = resourceCounterRepository.compact();
+        if (folded > 0) {
+            log.debug("Folded {} resource counter deltas", folded);
+        }
+    }
+
+    // Counters only drift through writes that bypass the triggers, e.g. manual fixes with triggers disabled
+    @Scheduled(fixedDelayString = "${resource.counters.reconcile-interval-ms:3600000}",
+            initialDelayString = "${resource.counters.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        int corrected = resourceCounterRepository.reconcile();
+        if (corrected > 0) {
+            log.warn("Reconciled {} drifted resource counters", corrected);
+        } else {
+            log.debug("Resource counters are consistent");
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.energia.resourcemanagement.service.impl;
+
+import com.energia.resourcemanagement.domain.enums.ImportFormat;
+import com.energia.resourcemanagement.dto.common.CharacteristicDTO;
+import com.energia.resourcemanagement.dto.common.ErrorResponse;
+import com.energia.resourcemanagement.dto.request.CreateResourceRequest;
+import com.energia.resourcemanagement.dto.response.ResourceImportResponse;
+import com.energia.resourcemanagement.repository.ResourceImportRepository;
+import com.energia.resourcemanagement.service.ImportRow;
+import com.energia.resourcemanagement.service.ImportRowReader;
+import com.energia.resourcemanagement.service.ResourceImportService;
+import com.energia.resourcemanagement.service.ResourceService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Valid rows are written in chunks of import.chunk-size, each in its own transaction, so memory is bounded
+// by the chunk and earlier chunks stay committed if a later one fails
+@Slf4j
+@Timed("resource.service")
+@Service
+@RequiredArgsConstructor
+public class ResourceImportServiceImpl implements ResourceImportService {
+
+    private final ResourceImportRepository resourceImportRepository;
+    private final ResourceService resourceService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${import.chunk-size:10000}")
+    private int chunkSize;
+
+    @Value("${import.max-reported-rejects:1000}")
+    private int maxReportedRejects;
+
+    @Override
+    public ResourceImportResponse importResources(InputStream input, ImportFormat format) {
+        long started = System.nanoTime();
+        long rowsRead = 0;
+        long imported = 0;
+        long rejected = 0;
+        List<ResourceImportResponse.RowReject> rejects = new ArrayList<>();
+        List<CreateResourceRequest> chunk = new ArrayList<>(chunkSize);
+        DistributionSummary characteristics = meterRegistry.summary("resource.characteristics", "operation", "import");
+
+        try (ImportRowReader reader = openReader(input, format)) {
+            ImportRow row;
+            while ((row = reader.next()) != null) {
+                rowsRead++;
+                List<ErrorResponse.ValidationError> errors = row.parseError() != null
+                        ? List.of(ErrorResponse.ValidationError.builder().message(row.parseError()).build())
+                        : resourceService.validateCreateRequest(row.request());
+                if (!errors.isEmpty()) {
+                    if (rejected++ < maxReportedRejects) {
+                        rejects.add(ResourceImportResponse.RowReject.builder()
+                                .line(row.line())
+                                .errors(errors)
+                                .build());
+                    }
+                    continue;
+                }
+
+                chunk.add(row.request());
+                List<CharacteristicDTO> rowCharacteristics = row.request().getCharacteristics();
+                characteristics.record(rowCharacteristics != null ? rowCharacteristics.size() : 0);
+                if (chunk.size() == chunkSize) {
+                    imported += resourceImportRepository.importChunk(chunk);
+                    chunk.clear();
+                    log.debug("Import progress: {} rows read, {} imported", rowsRead, imported);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                imported += resourceImportRepository.importChunk(chunk);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Reading the import failed after " + rowsRead + " rows", e);
+        }
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        double rowsPerSecond = elapsedMillis > 0 ? rowsRead * 1000.0 / elapsedMillis : rowsRead;
+        log.info("{} import finished: {} rows read, {} imported, {} rejected in {} ms ({} rows/s)",
+                format, rowsRead, imported, rejected, elapsedMillis, Math.round(rowsPerSecond));
+
+        return ResourceImportResponse.builder()
+                .rowsRead(rowsRead)
+                .imported(imported)
+                .rejected(rejected)
+                .elapsedMillis(elapsedMillis)
+                .rowsPerSecond(rowsPerSecond)
+                .rejectsTruncated(rejected > rejects.size())
+                .rejects(rejects)
+                .build();
+    }
+
+    private ImportRowReader openReader(InputStream input, ImportFormat format) {
+        return switch (format) {
+            case NDJSON -> new NdjsonImportReader(input, objectMapper);
+            case CSV -> new CsvImportReader(input);
+        };
+    }
+}
@@ -1,63 +1,131 @@
 package com.energia.resourcemanagement.service.impl;
 
+import com.energia.resourcemanagement.cache.EncodedResponseCache;
+import com.energia.resourcemanagement.cache.ResourceResponseCache;
 import com.energia.resourcemanagement.domain.entity.Characteristic;
 import com.energia.resourcemanagement.domain.entity.Resource;
+import com.energia.resourcemanagement.domain.enums.CharacteristicType;
 import com.energia.resourcemanagement.domain.enums.EventType;
 import com.energia.resourcemanagement.domain.enums.ResourceType;
+import com.energia.resourcemanagement.dto.common.CharacteristicDTO;
+import com.energia.resourcemanagement.dto.common.ErrorResponse;
+import com.energia.resourcemanagement.dto.common.LocationCursor;
+import com.energia.resourcemanagement.dto.common.LocationDTO;
 import com.energia.resourcemanagement.dto.request.CreateResourceRequest;
+import com.energia.resourcemanagement.dto.request.LocationSearchRequest;
+import com.energia.resourcemanagement.dto.request.ResourceSearchRequest;
+import com.energia.resourcemanagement.dto.common.ResourceCursor;
+import com.energia.resourcemanagement.dto.projection.CharacteristicRow;
+import com.energia.resourcemanagement.dto.projection.ResourceRow;
 import com.energia.resourcemanagement.dto.request.UpdateResourceRequest;
+import com.energia.resourcemanagement.dto.response.BatchCreateResponse;
+import com.energia.resourcemanagement.dto.response.CursorPage;
 import com.energia.resourcemanagement.dto.response.ResourceResponse;
+import com.energia.resourcemanagement.dto.response.ResourceStatsResponse;
 import com.energia.resourcemanagement.exception.DuplicateCharacteristicException;
+import com.energia.resourcemanagement.exception.ExportCancelledException;
+import com.energia.resourcemanagement.exception.InvalidPatchException;
+import com.energia.resourcemanagement.exception.InvalidSearchException;
 import com.energia.resourcemanagement.exception.ResourceNotFoundException;
+import com.energia.resourcemanagement.kafka.event.ResourceDelta;
 import com.energia.resourcemanagement.kafka.event.ResourceEvent;
+import com.energia.resourcemanagement.kafka.event.UpdateEventMode;
+import com.energia.resourcemanagement.kafka.outbox.OutboxEventWriter;
 import com.energia.resourcemanagement.kafka.producer.ResourceEventProducer;
 import com.energia.resourcemanagement.mapper.ResourceMapper;
+import com.energia.resourcemanagement.repository.ChangeTrackingRepository;
+import com.energia.resourcemanagement.repository.CharacteristicRepository;
+import com.energia.resourcemanagement.repository.ResourceCounterRepository;
 import com.energia.resourcemanagement.repository.ResourceRepository;
+import com.energia.resourcemanagement.repository.ResourceSearchRepository;
+import com.energia.resourcemanagement.repository.ResourceSearchRepository.LocationMatch;
+import com.energia.resourcemanagement.service.ExportProgressListener;
+import com.energia.resourcemanagement.service.ExportRange;
 import com.energia.resourcemanagement.service.ResourceService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.Instant;
-import java.util.HashSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
+@Timed("resource.service")
 @Service
 @RequiredArgsConstructor
 public class ResourceServiceImpl implements ResourceService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 1000;
+    private static final int EXPORT_CHUNK_SIZE = 500;
+    private static final int BATCH_FLUSH_SIZE = 500;
+    private static final Set<String> PATCHABLE_FIELDS = Set.of("location", "characteristics");
+
     private final ResourceRepository resourceRepository;
+    private final ResourceSearchRepository resourceSearchRepository;
+    private final CharacteristicRepository characteristicRepository;
+    private final ChangeTrackingRepository changeTrackingRepository;
+    private final ResourceCounterRepository resourceCounterRepository;
     private final ResourceMapper resourceMapper;
     private final ResourceEventProducer eventProducer;
+    private final OutboxEventWriter outboxEventWriter;
+    private final ResourceResponseCache resourceCache;
+    private final EncodedResponseCache encodedResponseCache;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final CharacteristicValidator characteristicValidator;
+    private final EntityManager entityManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${resource.events.update-mode:SNAPSHOT}")
+    private UpdateEventMode updateEventMode;
+
+    @Value("${resource.events.snapshot-every:20}")
+    private int snapshotEvery;
 
     @Override
     @Transactional
     public ResourceResponse createResource(CreateResourceRequest request) {
         log.info("Creating new resource with type: {} and country: {}", request.getType(), request.getCountryCode());
 
-        // Map request to entity
-        Resource resource = resourceMapper.toEntity(request);
-        resource.setLocation(resourceMapper.toLocation(request.getLocation()));
-
-        // Add characteristics if present
         if (request.getCharacteristics() != null && !request.getCharacteristics().isEmpty()) {
-            validateCharacteristics(request.getCharacteristics());
-
-            request.getCharacteristics().forEach(charDTO -> {
-                Characteristic characteristic = resourceMapper.toCharacteristic(charDTO);
-                resource.addCharacteristic(characteristic);
-            });
+            characteristicValidator.validate(request.getCharacteristics());
         }
 
         // Save resource
-        Resource savedResource = resourceRepository.save(resource);
+        Resource savedResource = resourceRepository.save(toNewResource(request));
         log.info("Resource created with id: {}", savedResource.getId());
+        recordCharacteristics("create", savedResource);
 
         // Send event to Kafka
         ResourceResponse response = resourceMapper.toResponse(savedResource);
@@ -67,36 +135,298 @@ public class ResourceServiceImpl implements ResourceService {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional
+    public BatchCreateResponse createResources(List<CreateResourceRequest> requests) {
+        log.info("Creating batch of {} resources", requests.size());
+
+        List<BatchCreateResponse.ItemResult> results = new ArrayList<>(requests.size());
+        List<ResourceEvent> events = new ArrayList<>(requests.size());
+        int unflushed = 0;
+
+        for (int index = 0; index < requests.size(); index++) {
+            List<ErrorResponse.ValidationError> errors = validateCreateRequest(requests.get(index));
+            if (!errors.isEmpty()) {
+                results.add(BatchCreateResponse.ItemResult.builder()
+                        .index(index)
+                        .status(BatchCreateResponse.ItemStatus.FAILED)
+                        .errors(errors)
+                        .build());
+                continue;
+            }
+
+            // Ids are generated in memory, so inserts stay queued until the next flush and go out as JDBC batches
+            Resource savedResource = resourceRepository.save(toNewResource(requests.get(index)));
+            recordCharacteristics("batch", savedResource);
+            ResourceResponse response = resourceMapper.toResponse(savedResource);
+            events.add(resourceEvent(EventType.RESOURCE_CREATED, savedResource.getId(), response));
+            results.add(BatchCreateResponse.ItemResult.builder()
+                    .index(index)
+                    .status(BatchCreateResponse.ItemStatus.CREATED)
+                    .resource(response)
+                    .build());
+
+            // Keep the persistence context bounded for large batches
+            if (++unflushed == BATCH_FLUSH_SIZE) {
+                entityManager.flush();
+                entityManager.clear();
+                unflushed = 0;
+            }
+        }
+        entityManager.flush();
+
+        // All events of the batch are written to the outbox in one JDBC batch; the relay pipelines the sends
+        outboxEventWriter.appendAll(events);
+
+        int created = events.size();
+        log.info("Batch create finished: {} created, {} rejected", created, requests.size() - created);
+        return BatchCreateResponse.builder()
+                .created(created)
+                .failed(requests.size() - created)
+                .results(results)
+                .build();
+    }
+
+    private Resource toNewResource(CreateResourceRequest request) {
+        Resource resource = resourceMapper.toEntity(request);
+        resource.setLocation(resourceMapper.toLocation(request.getLocation()));
+
+        if (request.getCharacteristics() != null) {
+            request.getCharacteristics().forEach(charDTO ->
+                    resource.addCharacteristic(resourceMapper.toCharacteristic(charDTO)));
+        }
+        return resource;
+    }
+
+    // Same checks as the single create endpoint, collected instead of thrown
+    @Override
+    public List<ErrorResponse.ValidationError> validateCreateRequest(CreateResourceRequest request) {
+        if (request == null) {
+            return List.of(ErrorResponse.ValidationError.builder()
+                    .message("Resource must not be null")
+                    .build());
+        }
+
+        List<ErrorResponse.ValidationError> errors = new ArrayList<>();
+        for (ConstraintViolation<CreateResourceRequest> violation : validator.validate(request)) {
+            errors.add(ErrorResponse.ValidationError.builder()
+                    .field(violation.getPropertyPath().toString())
+                    .message(violation.getMessage())
+                    .build());
+        }
+
+        if (errors.isEmpty() && request.getCharacteristics() != null) {
+            try {
+                characteristicValidator.validate(request.getCharacteristics());
+            } catch (DuplicateCharacteristicException e) {
+                errors.add(ErrorResponse.ValidationError.builder()
+                        .field("characteristics")
+                        .message(e.getMessage())
+                        .build());
+            }
+        }
+        return errors;
+    }
+
+    // Not transactional so that cache hits never check out a connection
+    @Override
     public ResourceResponse getResource(UUID id) {
-        log.info("Fetching resource with id: {}", id);
+        log.debug("Fetching resource with id: {}", id);
 
-        Resource resource = resourceRepository.findByIdWithCharacteristics(id)
+        Optional<ResourceResponseCache.Entry> cached = resourceCache.get(id);
+        if (cached.isPresent()) {
+            if (cached.get().isDeleted()) {
+                throw new ResourceNotFoundException(id);
+            }
+            return cached.get().response();
+        }
+
+        ResourceRow row = resourceRepository.findRowById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(id));
 
-        return resourceMapper.toResponse(resource);
+        ResourceResponse response = attachCharacteristics(List.of(resourceMapper.toResponse(row))).get(0);
+        resourceCache.put(response);
+        return response;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getResourceVersion(UUID id) {
+        return resourceRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(id));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<ResourceResponse> getAllResources(String countryCode, String type, Pageable pageable) {
-        log.info("Fetching resources with filters - country: {}, type: {}", countryCode, type);
+        log.debug("Fetching resources with filters - country: {}, type: {}", countryCode, type);
 
-        Page<Resource> resources;
+        ResourceType resourceType = type != null ? ResourceType.valueOf(type) : null;
+        List<ResourceRow> resources;
 
-        if (countryCode != null && type != null) {
-            ResourceType resourceType = ResourceType.valueOf(type);
-            resources = resourceRepository.findByCountryCodeAndType(countryCode, resourceType, pageable);
+        if (countryCode != null && resourceType != null) {
+            resources = resourceRepository.findRowsByCountryCodeAndType(countryCode, resourceType, pageable);
         } else if (countryCode != null) {
-            resources = resourceRepository.findByCountryCode(countryCode, pageable);
-        } else if (type != null) {
-            ResourceType resourceType = ResourceType.valueOf(type);
-            resources = resourceRepository.findByType(resourceType, pageable);
+            resources = resourceRepository.findRowsByCountryCode(countryCode, pageable);
+        } else if (resourceType != null) {
+            resources = resourceRepository.findRowsByType(resourceType, pageable);
         } else {
-            resources = resourceRepository.findAll(pageable);
+            resources = resourceRepository.findRows(pageable);
+        }
+
+        // The total is a counter lookup; a first page that is not full already tells it
+        long total = pageable.getOffset() == 0 && resources.size() < pageable.getPageSize()
+                ? resources.size()
+                : resourceCounterRepository.countResources(countryCode, resourceType);
+
+        // Characteristics for the whole page are loaded with one IN query instead of one query per resource
+        return new PageImpl<>(toResponses(resources), pageable, total);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceStatsResponse getStats(String countryCode, String type) {
+        log.debug("Fetching resource stats - country: {}, type: {}", countryCode, type);
+
+        ResourceType resourceType = type != null ? ResourceType.valueOf(type) : null;
+        List<ResourceStatsResponse.ResourceCount> resources = new ArrayList<>();
+        List<ResourceStatsResponse.CharacteristicCount> characteristics = new ArrayList<>();
+        long total = 0;
+
+        for (ResourceCounterRepository.Count count : resourceCounterRepository.findCounts(countryCode, resourceType)) {
+            if (count.characteristicType() == null) {
+                total += count.total();
+                resources.add(ResourceStatsResponse.ResourceCount.builder()
+                        .countryCode(count.countryCode())
+                        .type(count.type())
+                        .count(count.total())
+                        .build());
+            } else {
+                characteristics.add(ResourceStatsResponse.CharacteristicCount.builder()
+                        .countryCode(count.countryCode())
+                        .type(count.type())
+                        .characteristicType(count.characteristicType())
+                        .value(count.characteristicValue())
+                        .count(count.total())
+                        .build());
+            }
         }
 
-        return resources.map(resourceMapper::toResponse);
+        return ResourceStatsResponse.builder()
+                .total(total)
+                .resources(resources)
+                .characteristics(characteristics)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ResourceResponse> searchResources(ResourceSearchRequest request, Pageable pageable) {
+        log.debug("Searching resources - country: {}, type: {}, characteristics: {} combined with {}",
+                request.getCountryCode(), request.getType(), request.getCharacteristics(), request.getOperator());
+
+        Page<ResourceRow> resources = resourceSearchRepository.search(request, pageable);
+        return new PageImpl<>(toResponses(resources.getContent()), pageable, resources.getTotalElements());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ResourceResponse> getResourcesByCursor(String countryCode, String type, String cursor, int size) {
+        log.debug("Fetching resources by cursor - country: {}, type: {}", countryCode, type);
+
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        ResourceType resourceType = type != null ? ResourceType.valueOf(type) : null;
+        ResourceCursor after = cursor != null ? ResourceCursor.decode(cursor) : null;
+
+        // Fetch one extra row to find out whether another page exists, without a COUNT query
+        List<ResourceRow> resources = findKeysetPage(countryCode, resourceType, after, Limit.of(pageSize + 1));
+
+        boolean hasNext = resources.size() > pageSize;
+        if (hasNext) {
+            resources = resources.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            ResourceRow last = resources.get(resources.size() - 1);
+            nextCursor = new ResourceCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return CursorPage.<ResourceResponse>builder()
+                .content(toResponses(resources))
+                .size(pageSize)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    // One database cursor for the whole stream; characteristics are attached per chunk and every chunk is flushed
+    @Override
+    @Transactional(readOnly = true)
+    public long streamResources(String countryCode, String type, OutputStream out) throws IOException {
+        log.debug("Streaming resources - country: {}, type: {}", countryCode, type);
+
+        ResourceType resourceType = type != null ? ResourceType.valueOf(type) : null;
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+
+        long streamed = 0;
+        try (Stream<ResourceRow> rows = streamRows(countryCode, resourceType)) {
+            Iterator<ResourceRow> iterator = rows.iterator();
+            List<ResourceRow> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == EXPORT_CHUNK_SIZE || !iterator.hasNext()) {
+                    for (ResourceResponse response : toResponses(chunk)) {
+                        out.write(writer.writeValueAsBytes(response));
+                        out.write('\n');
+                    }
+                    out.flush();
+                    streamed += chunk.size();
+                    chunk.clear();
+                }
+            }
+        }
+
+        log.info("Streamed {} resources", streamed);
+        return streamed;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ResourceResponse> searchByLocation(LocationSearchRequest request, String cursor, int size) {
+        log.debug("Searching resources by location - city: {}, postal code prefix: {}, street: {}, country: {}",
+                request.getCity(), request.getPostalCodePrefix(), request.getStreet(), request.getCountryCode());
+
+        if (!request.hasLocationCriteria()) {
+            throw new InvalidSearchException("at least one of city, postalCodePrefix or street is required");
+        }
+
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        boolean ranked = request.getStreet() != null;
+        LocationCursor after = cursor != null ? LocationCursor.decode(cursor, ranked) : null;
+
+        // Fetch one extra row to find out whether another page exists, without a COUNT query
+        List<LocationMatch> matches = resourceSearchRepository.searchByLocation(request, after, pageSize + 1);
+
+        boolean hasNext = matches.size() > pageSize;
+        if (hasNext) {
+            matches = matches.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            LocationMatch last = matches.get(matches.size() - 1);
+            nextCursor = (ranked
+                    ? LocationCursor.ranked(last.distance(), last.row().getId())
+                    : LocationCursor.chronological(last.row().getCreatedAt(), last.row().getId())).encode();
+        }
+
+        return CursorPage.<ResourceResponse>builder()
+                .content(toResponses(matches.stream().map(LocationMatch::row).toList()))
+                .size(pageSize)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
     }
 
     @Override
@@ -104,14 +434,8 @@ public class ResourceServiceImpl implements ResourceService {
     public ResourceResponse updateResource(UUID id, UpdateResourceRequest request, Long version) {
         log.info("Updating resource with id: {}", id);
 
-        Resource resource = resourceRepository.findByIdWithCharacteristics(id)
-                .orElseThrow(() -> new ResourceNotFoundException(id));
-
-        // Check version for optimistic locking if provided
-        if (version != null && !version.equals(resource.getVersion())) {
-            throw new org.springframework.orm.ObjectOptimisticLockingFailureException(
-                    Resource.class, id);
-        }
+        Resource resource = findForUpdate(id, version);
+        ResourceResponse before = captureForDelta(resource);
 
         // Update location if provided
         if (request.getLocation() != null) {
@@ -120,26 +444,203 @@ public class ResourceServiceImpl implements ResourceService {
 
         // Update characteristics if provided
         if (request.getCharacteristics() != null) {
-            validateCharacteristics(request.getCharacteristics());
+            characteristicValidator.validate(request.getCharacteristics());
+            mergeCharacteristics(resource, request.getCharacteristics());
+        }
 
-            // Clear existing and add new characteristics
-            resource.getCharacteristics().clear();
-            request.getCharacteristics().forEach(charDTO -> {
-                Characteristic characteristic = resourceMapper.toCharacteristic(charDTO);
-                resource.addCharacteristic(characteristic);
-            });
+        return saveUpdated(resource, before);
+    }
+
+    @Override
+    @Transactional
+    public ResourceResponse patchResource(UUID id, JsonNode mergePatch, Long version) {
+        log.info("Patching resource with id: {}", id);
+
+        if (mergePatch == null || !mergePatch.isObject()) {
+            throw new InvalidPatchException("document must be a JSON object");
         }
+        mergePatch.fieldNames().forEachRemaining(field -> {
+            if (!PATCHABLE_FIELDS.contains(field)) {
+                throw new InvalidPatchException(String.format("field '%s' cannot be patched", field));
+            }
+        });
 
-        Resource updatedResource = resourceRepository.save(resource);
-        log.info("Resource updated successfully with id: {}", id);
+        Resource resource = findForUpdate(id, version);
+
+        // Apply the patch to the patchable view of the resource, then validate the outcome as a full update
+        JsonNode patched = applyMergePatch(toPatchableView(resource), mergePatch);
+        UpdateResourceRequest request = fromPatchableView(patched);
+
+        Set<ConstraintViolation<UpdateResourceRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+
+        ResourceResponse before = captureForDelta(resource);
+        resource.setLocation(resourceMapper.toLocation(request.getLocation()));
+        mergeCharacteristics(resource, request.getCharacteristics());
+
+        return saveUpdated(resource, before);
+    }
+
+    private void recordCharacteristics(String operation, Resource resource) {
+        meterRegistry.summary("resource.characteristics", "operation", operation)
+                .record(resource.getCharacteristics().size());
+    }
+
+    private Resource findForUpdate(UUID id, Long version) {
+        Resource resource = resourceRepository.findByIdWithCharacteristics(id)
+                .orElseThrow(() -> new ResourceNotFoundException(id));
+
+        // Check version for optimistic locking if provided
+        if (version != null && !version.equals(resource.getVersion())) {
+            throw new org.springframework.orm.ObjectOptimisticLockingFailureException(
+                    Resource.class, id);
+        }
+        return resource;
+    }
+
+    // The state a delta event is computed against, or null when updates publish snapshots
+    private ResourceResponse captureForDelta(Resource resource) {
+        return updateEventMode == UpdateEventMode.DELTA ? resourceMapper.toResponse(resource) : null;
+    }
+
+    private ResourceResponse saveUpdated(Resource resource, ResourceResponse before) {
+        // Flush so the response carries the incremented version
+        Resource updatedResource = resourceRepository.saveAndFlush(resource);
+        log.info("Resource updated successfully with id: {}", updatedResource.getId());
+        recordCharacteristics("update", updatedResource);
 
         // Send event to Kafka
         ResourceResponse response = resourceMapper.toResponse(updatedResource);
-        publishResourceEvent(EventType.RESOURCE_UPDATED, updatedResource.getId(), response);
+        if (before != null && !isSnapshotVersion(response.getVersion())) {
+            ResourceEvent event = resourceEvent(EventType.RESOURCE_UPDATED, updatedResource.getId(), null);
+            event.setDelta(ResourceDelta.between(before, response));
+            outboxEventWriter.append(event);
+        } else {
+            publishResourceEvent(EventType.RESOURCE_UPDATED, updatedResource.getId(), response);
+        }
+        resourceCache.putAfterCommit(response);
+        encodedResponseCache.evictAfterCommit(response.getId(), response.getVersion());
 
         return response;
     }
 
+    // Touches only rows whose (code, type) was added, removed or given a new value
+    private void mergeCharacteristics(Resource resource, List<CharacteristicDTO> incoming) {
+        boolean changed = false;
+        Map<String, CharacteristicDTO> wanted = new LinkedHashMap<>();
+        incoming.forEach(dto -> wanted.put(characteristicKey(dto.getCode(), dto.getType()), dto));
+
+        Iterator<Characteristic> existing = resource.getCharacteristics().iterator();
+        while (existing.hasNext()) {
+            Characteristic characteristic = existing.next();
+            CharacteristicDTO match = wanted.remove(characteristicKey(characteristic.getCode(), characteristic.getType()));
+            if (match == null) {
+                existing.remove();
+                characteristic.setResource(null);
+                changed = true;
+            } else if (!match.getValue().equals(characteristic.getValue())) {
+                characteristic.setValue(match.getValue());
+                changed = true;
+            }
+        }
+
+        wanted.values().forEach(dto -> resource.addCharacteristic(resourceMapper.toCharacteristic(dto)));
+
+        // Characteristic rows do not dirty the owning resource; touch it so version and updatedAt follow them
+        if (changed || !wanted.isEmpty()) {
+            resource.setUpdatedAt(LocalDateTime.now());
+        }
+    }
+
+    private String characteristicKey(String code, CharacteristicType type) {
+        return code + "_" + type;
+    }
+
+    // Characteristics are exposed as {type: {code: value}} so a patch can address a single one
+    private ObjectNode toPatchableView(Resource resource) {
+        ObjectNode view = objectMapper.createObjectNode();
+        view.set("location", objectMapper.valueToTree(resourceMapper.toLocationDTO(resource.getLocation())));
+
+        ObjectNode characteristics = view.putObject("characteristics");
+        for (Characteristic characteristic : resource.getCharacteristics()) {
+            ObjectNode byCode = characteristics.has(characteristic.getType().name())
+                    ? (ObjectNode) characteristics.get(characteristic.getType().name())
+                    : characteristics.putObject(characteristic.getType().name());
+            byCode.put(characteristic.getCode(), characteristic.getValue());
+        }
+        return view;
+    }
+
+    private UpdateResourceRequest fromPatchableView(JsonNode view) {
+        if (!view.path("location").isObject()) {
+            throw new InvalidPatchException("location cannot be removed");
+        }
+
+        LocationDTO location;
+        try {
+            location = objectMapper.treeToValue(view.get("location"), LocationDTO.class);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            throw new InvalidPatchException("location is malformed");
+        }
+
+        List<CharacteristicDTO> characteristics = new ArrayList<>();
+        JsonNode byType = view.path("characteristics");
+        if (!byType.isMissingNode() && !byType.isNull() && !byType.isObject()) {
+            throw new InvalidPatchException("characteristics must be an object keyed by type and code");
+        }
+        byType.fields().forEachRemaining(typeEntry -> {
+            CharacteristicType type = parseCharacteristicType(typeEntry.getKey());
+            if (!typeEntry.getValue().isObject()) {
+                throw new InvalidPatchException(String.format("characteristics of type '%s' must be an object", type));
+            }
+            typeEntry.getValue().fields().forEachRemaining(codeEntry -> {
+                if (!codeEntry.getValue().isValueNode()) {
+                    throw new InvalidPatchException(String.format(
+                            "value of characteristic '%s' must be a string", codeEntry.getKey()));
+                }
+                characteristics.add(CharacteristicDTO.builder()
+                        .code(codeEntry.getKey())
+                        .type(type)
+                        .value(codeEntry.getValue().asText())
+                        .build());
+            });
+        });
+
+        return UpdateResourceRequest.builder()
+                .location(location)
+                .characteristics(characteristics)
+                .build();
+    }
+
+    private CharacteristicType parseCharacteristicType(String type) {
+        try {
+            return CharacteristicType.valueOf(type);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPatchException(String.format("unknown characteristic type '%s'", type));
+        }
+    }
+
+    // RFC 7396: objects are merged recursively, null removes a member, anything else replaces it
+    private JsonNode applyMergePatch(JsonNode target, JsonNode patch) {
+        if (!patch.isObject()) {
+            return patch;
+        }
+
+        ObjectNode result = target != null && target.isObject()
+                ? ((ObjectNode) target).deepCopy()
+                : objectMapper.createObjectNode();
+        patch.fields().forEachRemaining(entry -> {
+            if (entry.getValue().isNull()) {
+                result.remove(entry.getKey());
+            } else {
+                result.set(entry.getKey(), applyMergePatch(result.get(entry.getKey()), entry.getValue()));
+            }
+        });
+        return result;
+    }
+
     @Override
     @Transactional
     public void deleteResource(UUID id) {
@@ -155,53 +656,189 @@ public class ResourceServiceImpl implements ResourceService {
 
         // Send event to Kafka
         publishResourceEvent(EventType.RESOURCE_DELETED, id, response);
+        resourceCache.markDeletedAfterCommit(id);
+        encodedResponseCache.evictAfterCommit(id, Long.MAX_VALUE);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public void exportAllToKafka() {
+    public long exportAllToKafka(ExportProgressListener listener) {
         log.info("Starting bulk export of all resources to Kafka");
 
-        List<Resource> resources = resourceRepository.findAllWithCharacteristics();
-        List<ResourceResponse> responses = resourceMapper.toResponseList(resources);
+        long exported = exportStream(resourceRepository.streamAll(), listener);
 
-        eventProducer.sendBulkExport(responses);
+        log.info("Bulk export completed. Total resources exported: {}", exported);
+        return exported;
+    }
 
-        log.info("Bulk export completed. Total resources exported: {}", resources.size());
+    @Override
+    @Transactional(readOnly = true)
+    public long exportRangeToKafka(ExportRange range, ExportProgressListener listener) {
+        log.info("Exporting resources with ids from {} to {}", range.from(), range.to());
+
+        long exported = exportStream(range.to() != null
+                ? resourceRepository.streamRange(range.from(), range.to())
+                : resourceRepository.streamFrom(range.from()), listener);
+
+        log.info("Export of range starting at {} completed with {} resources", range.from(), exported);
+        return exported;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ResourceResponse> getAllResourcesForExport() {
-        List<Resource> resources = resourceRepository.findAllWithCharacteristics();
-        return resourceMapper.toResponseList(resources);
-    }
-
-    private void validateCharacteristics(List<com.energia.resourcemanagement.dto.common.CharacteristicDTO> characteristics) {
-        // Check for duplicates based on code + type combination
-        Set<String> seen = new HashSet<>();
-        for (com.energia.resourcemanagement.dto.common.CharacteristicDTO char1 : characteristics) {
-            String key = char1.getCode() + "_" + char1.getType();
-            if (!seen.add(key)) {
-                throw new DuplicateCharacteristicException(char1.getCode(), char1.getType().toString());
+    public long exportChangesToKafka(long fromChangeSeq, long toChangeSeq, ExportProgressListener listener) {
+        log.info("Exporting resource changes from sequence {} to {}", fromChangeSeq, toChangeSeq);
+
+        long exported = exportStream(resourceRepository.streamChanged(fromChangeSeq, toChangeSeq), listener);
+
+        // Deleted resources follow as tombstones, paged by change sequence
+        long deleted = 0;
+        long from = fromChangeSeq;
+        List<ChangeTrackingRepository.Tombstone> page;
+        do {
+            page = changeTrackingRepository.findTombstones(from, toChangeSeq, EXPORT_CHUNK_SIZE);
+            if (page.isEmpty()) {
+                break;
+            }
+            listener.onRowsRead(page.size());
+            trackAcks(List.of(eventProducer.sendTombstones(
+                    page.stream().map(ChangeTrackingRepository.Tombstone::resourceId).toList())), listener);
+            deleted += page.size();
+            from = page.get(page.size() - 1).changeSeq() + 1;
+
+            if (listener.isCancelled()) {
+                throw new ExportCancelledException(exported + deleted);
+            }
+        } while (page.size() == EXPORT_CHUNK_SIZE);
+
+        log.info("Delta export completed with {} changed and {} deleted resources", exported, deleted);
+        return exported + deleted;
+    }
+
+    private long exportStream(Stream<Resource> stream, ExportProgressListener listener) {
+        long exported = 0;
+        try (Stream<Resource> resources = stream) {
+            Iterator<Resource> iterator = resources.iterator();
+            List<Resource> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == EXPORT_CHUNK_SIZE) {
+                    exportChunk(chunk, listener);
+                    exported += chunk.size();
+                    chunk.clear();
+
+                    if (listener.isCancelled()) {
+                        throw new ExportCancelledException(exported);
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                exportChunk(chunk, listener);
+                exported += chunk.size();
             }
         }
+        return exported;
     }
 
-    private void publishResourceEvent(EventType eventType, UUID resourceId, ResourceResponse resource) {
-        try {
-            ResourceEvent event = ResourceEvent.builder()
-                    .eventId(UUID.randomUUID())
-                    .eventType(eventType)
-                    .resourceId(resourceId)
-                    .resource(resource)
-                    .timestamp(Instant.now())
-                    .build();
-
-            eventProducer.sendResourceEvent(event);
-        } catch (Exception e) {
-            log.error("Failed to publish event for resource {}: {}", resourceId, e.getMessage());
-            // Don't fail the operation if event publishing fails
+    private void exportChunk(List<Resource> chunk, ExportProgressListener listener) {
+        listener.onRowsRead(chunk.size());
+
+        List<ResourceResponse> responses = chunk.stream().map(resourceMapper::toResponseWithoutCharacteristics).toList();
+        trackAcks(eventProducer.sendBulkExport(attachCharacteristics(responses)), listener);
+
+        // Detach the exported chunk so the persistence context stays bounded
+        entityManager.clear();
+    }
+
+    private void trackAcks(List<CompletableFuture<Integer>> acks, ExportProgressListener listener) {
+        for (CompletableFuture<Integer> ack : acks) {
+            listener.onBatchSent();
+            ack.whenComplete((rows, ex) -> {
+                if (ex == null) {
+                    listener.onBatchAcked(rows);
+                } else {
+                    listener.onBatchFailed(ex);
+                }
+            });
+        }
+    }
+
+    private List<ResourceResponse> toResponses(List<ResourceRow> rows) {
+        return attachCharacteristics(rows.stream().map(resourceMapper::toResponse).toList());
+    }
+
+    // One IN query for the characteristics of all given resources, read as projection rows
+    private List<ResourceResponse> attachCharacteristics(List<ResourceResponse> responses) {
+        if (responses.isEmpty()) {
+            return responses;
+        }
+
+        List<UUID> ids = responses.stream().map(ResourceResponse::getId).toList();
+        Map<UUID, List<CharacteristicDTO>> characteristicsByResource = characteristicRepository.findRowsByResourceIdIn(ids)
+                .stream()
+                .collect(Collectors.groupingBy(
+                        CharacteristicRow::getResourceId,
+                        Collectors.mapping(resourceMapper::toCharacteristicDTO, Collectors.toList())));
+
+        for (ResourceResponse response : responses) {
+            response.setCharacteristics(characteristicsByResource.getOrDefault(response.getId(), new ArrayList<>()));
+        }
+        return responses;
+    }
+
+    private Stream<ResourceRow> streamRows(String countryCode, ResourceType type) {
+        if (countryCode != null && type != null) {
+            return resourceRepository.streamRowsByCountryCodeAndType(countryCode, type);
+        } else if (countryCode != null) {
+            return resourceRepository.streamRowsByCountryCode(countryCode);
+        } else if (type != null) {
+            return resourceRepository.streamRowsByType(type);
+        }
+        return resourceRepository.streamRows();
+    }
+
+    private List<ResourceRow> findKeysetPage(String countryCode, ResourceType type, ResourceCursor after, Limit limit) {
+        if (after == null) {
+            if (countryCode != null && type != null) {
+                return resourceRepository.findByCountryCodeAndTypeOrderByCreatedAtDescIdDesc(countryCode, type, limit);
+            } else if (countryCode != null) {
+                return resourceRepository.findByCountryCodeOrderByCreatedAtDescIdDesc(countryCode, limit);
+            } else if (type != null) {
+                return resourceRepository.findByTypeOrderByCreatedAtDescIdDesc(type, limit);
+            }
+            return resourceRepository.findAllByOrderByCreatedAtDescIdDesc(limit);
         }
+
+        if (countryCode != null && type != null) {
+            return resourceRepository.findByCountryCodeAndTypeAfterCursor(
+                    countryCode, type, after.getCreatedAt(), after.getId(), limit);
+        } else if (countryCode != null) {
+            return resourceRepository.findByCountryCodeAfterCursor(
+                    countryCode, after.getCreatedAt(), after.getId(), limit);
+        } else if (type != null) {
+            return resourceRepository.findByTypeAfterCursor(type, after.getCreatedAt(), after.getId(), limit);
+        }
+        return resourceRepository.findAfterCursor(after.getCreatedAt(), after.getId(), limit);
+    }
+
+    // Every snapshot-every versions a delta update carries the full resource, so consumers can recover from a gap
+    private boolean isSnapshotVersion(Long version) {
+        return version == null || snapshotEvery <= 1 || version % snapshotEvery == 0;
+    }
+
+    private void publishResourceEvent(EventType eventType, UUID resourceId, ResourceResponse resource) {
+        // Written in the same transaction as the change; OutboxRelay delivers it to Kafka after commit
+        outboxEventWriter.append(resourceEvent(eventType, resourceId, resource));
+    }
+
+    private ResourceEvent resourceEvent(EventType eventType, UUID resourceId, ResourceResponse resource) {
+        return ResourceEvent.builder()
+                .eventId(UUID.randomUUID())
+                .eventType(eventType)
+                .resourceId(resourceId)
+                .resource(resource)
+                .timestamp(Instant.now())
+                .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,215 @@
+package com.energia.resourcemanagement.service.impl;
+
+import com.energia.resourcemanagement.dto.request.UpdateResourceRequest;
+import com.energia.resourcemanagement.dto.response.ResourceResponse;
+import com.energia.resourcemanagement.service.ResourceService;
+import com.energia.resourcemanagement.service.ResourceWriteCoalescer;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Folds unconditional updates of one resource that arrive within the window into one write and one event.
+// Every other write of the resource queues behind the batches accepted before it, so each resource still
+// sees its writes in arrival order.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ResourceWriteCoalescerImpl implements ResourceWriteCoalescer {
+
+    private final ResourceService resourceService;
+    private final CharacteristicValidator characteristicValidator;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<UUID, Lane> lanes = new ConcurrentHashMap<>();
+
+    // Only closes windows; the writes run on the thread of the update that opened the batch
+    private final ScheduledExecutorService windowTimer = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "write-coalescing-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${resource.write-coalescing.enabled:false}")
+    private boolean enabled;
+
+    @Value("${resource.write-coalescing.window:20ms}")
+    private Duration window;
+
+    @Value("${resource.write-coalescing.max-batch-size:100}")
+    private int maxBatchSize;
+
+    @PreDestroy
+    void shutdown() {
+        // Closes the pending windows now, so their batches are still written
+        windowTimer.shutdownNow().forEach(Runnable::run);
+    }
+
+    @Override
+    public ResourceResponse updateResource(UUID id, UpdateResourceRequest request, Long version) {
+        if (!enabled) {
+            return resourceService.updateResource(id, request, version);
+        }
+        if (version != null) {
+            return inOrder(id, () -> resourceService.updateResource(id, request, version));
+        }
+
+        // Rejected here, so an invalid update fails alone instead of failing or vanishing in a batch
+        if (request.getCharacteristics() != null) {
+            characteristicValidator.validate(request.getCharacteristics());
+        }
+
+        Batch batch = join(id, request);
+        if (batch.leader == Thread.currentThread()) {
+            closeWindowLater(batch);
+            batch.windowClosed.join();
+            close(id, batch);
+            batch.previous.join();
+            try {
+                batch.result.complete(write(id, batch.updates));
+            } catch (RuntimeException e) {
+                batch.result.completeExceptionally(e);
+            } finally {
+                finish(id, batch);
+            }
+        }
+        return await(batch.result);
+    }
+
+    @Override
+    public <T> T inOrder(UUID id, Supplier<T> write) {
+        if (!enabled) {
+            return write.get();
+        }
+        Batch batch = join(id, null);
+        batch.previous.join();
+        try {
+            return write.get();
+        } finally {
+            finish(id, batch);
+        }
+    }
+
+    // Adds the update to the open batch of the resource, or queues a new batch led by the current thread.
+    // A null update queues a closed batch of its own.
+    private Batch join(UUID id, UpdateResourceRequest update) {
+        Batch[] joined = new Batch[1];
+        lanes.compute(id, (key, lane) -> {
+            Lane current = lane != null ? lane : new Lane();
+            Batch batch;
+            if (update != null && current.open != null) {
+                batch = current.open;
+            } else {
+                batch = new Batch(current.tail);
+                current.open = update != null ? batch : null;
+                current.tail = batch.done;
+            }
+            if (update != null) {
+                batch.updates.add(update);
+                // A full batch is written without waiting out the rest of its window
+                if (batch.updates.size() >= maxBatchSize) {
+                    current.open = null;
+                    batch.windowClosed.complete(null);
+                }
+            }
+            joined[0] = batch;
+            return current;
+        });
+        return joined[0];
+    }
+
+    private void closeWindowLater(Batch batch) {
+        if (batch.windowClosed.isDone()) {
+            return;
+        }
+        try {
+            windowTimer.schedule(() -> batch.windowClosed.complete(null), window.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shutting down; write what there is right away
+            batch.windowClosed.complete(null);
+        }
+    }
+
+    // Updates arriving after this join a new batch
+    private void close(UUID id, Batch batch) {
+        lanes.computeIfPresent(id, (key, lane) -> {
+            if (lane.open == batch) {
+                lane.open = null;
+            }
+            return lane;
+        });
+    }
+
+    // Lets the next batch of the resource run and drops the lane once nothing is queued behind this batch
+    private void finish(UUID id, Batch batch) {
+        batch.done.complete(null);
+        lanes.computeIfPresent(id, (key, lane) -> lane.tail == batch.done && lane.open == null ? null : lane);
+    }
+
+    private ResourceResponse write(UUID id, List<UpdateResourceRequest> updates) {
+        if (updates.size() == 1) {
+            return resourceService.updateResource(id, updates.get(0), null);
+        }
+
+        UpdateResourceRequest folded = new UpdateResourceRequest();
+        for (UpdateResourceRequest update : updates) {
+            if (update.getLocation() != null) {
+                folded.setLocation(update.getLocation());
+            }
+            if (update.getCharacteristics() != null) {
+                folded.setCharacteristics(update.getCharacteristics());
+            }
+        }
+        log.debug("Coalesced {} updates of resource {} into one write", updates.size(), id);
+        meterRegistry.counter("resource.write-coalescing.saved-writes").increment(updates.size() - 1);
+        return resourceService.updateResource(id, folded, null);
+    }
+
+    private static ResourceResponse await(CompletableFuture<ResourceResponse> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Lane {
+        // Batch still accepting updates, if any
+        private Batch open;
+        // Completes when the last queued batch has finished
+        private CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+    }
+
+    private static final class Batch {
+
+        private final Thread leader = Thread.currentThread();
+        private final CompletableFuture<Void> previous;
+        private final CompletableFuture<Void> windowClosed = new CompletableFuture<>();
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private final CompletableFuture<ResourceResponse> result = new CompletableFuture<>();
+        // Only changed inside lanes.compute for the resource, and read by the leader after close
+        private final List<UpdateResourceRequest> updates = new ArrayList<>();
+
+        private Batch(CompletableFuture<Void> previous) {
+            this.previous = previous;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+-- UUIDv7 for rows inserted without an id, matching the ids the application assigns. The random
+-- part and the variant come from gen_random_uuid(); the first 48 bits are replaced by the Unix epoch
+-- milliseconds and the version nibble is changed from 4 to 7.
+CREATE OR REPLACE FUNCTION uuid_generate_v7()
+RETURNS UUID AS $$
+    SELECT encode(
+        set_bit(
+            set_bit(
+                overlay(uuid_send(gen_random_uuid())
+                        PLACING substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::BIGINT) FROM 3)
+                        FROM 1 FOR 6),
+                52, 1),
+            53, 1),
+        'hex')::UUID;
+$$ LANGUAGE sql VOLATILE;
+
+ALTER TABLE resources ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE characteristics ALTER COLUMN id SET DEFAULT uuid_generate_v7();
@@ -0,0 +1,10 @@
+-- Outbox events whose payload cannot be read are moved here instead of blocking their partition
+CREATE TABLE outbox_dead_letters (
+    id BIGINT PRIMARY KEY,
+    aggregate_id UUID NOT NULL,
+    partition_key SMALLINT NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    dead_lettered_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
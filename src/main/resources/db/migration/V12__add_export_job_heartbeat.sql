@@ -0,0 +1,11 @@
+-- Jobs run in the instance that accepted them; the owner refreshes heartbeat_at on every progress flush,
+-- so other instances can tell a stalled job from one running elsewhere
+ALTER TABLE export_jobs ADD COLUMN owner_id VARCHAR(64);
+ALTER TABLE export_jobs ADD COLUMN heartbeat_at TIMESTAMP;
+ALTER TABLE export_jobs ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+UPDATE export_jobs SET heartbeat_at = COALESCE(finished_at, started_at, created_at);
+ALTER TABLE export_jobs ALTER COLUMN heartbeat_at SET NOT NULL;
+
+CREATE INDEX idx_export_jobs_unfinished_heartbeat ON export_jobs(heartbeat_at)
+    WHERE status IN ('PENDING', 'RUNNING');
@@ -0,0 +1,2 @@
+-- Cancellation requested through any instance; the owner picks it up on its next progress flush
+ALTER TABLE export_jobs ADD COLUMN cancel_requested BOOLEAN NOT NULL DEFAULT false;
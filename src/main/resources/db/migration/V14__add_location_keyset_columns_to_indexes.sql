@@ -0,0 +1,7 @@
+-- City and postal code pages are read in (created_at DESC, id DESC) order; with the keyset columns in the
+-- index a city page is an index range scan that stops after the page instead of sorting every match
+DROP INDEX IF EXISTS idx_resources_city_lower;
+CREATE INDEX idx_resources_city_lower ON resources(lower(city), created_at DESC, id DESC);
+
+DROP INDEX IF EXISTS idx_resources_postal_code;
+CREATE INDEX idx_resources_postal_code ON resources(postal_code COLLATE "C", created_at DESC, id DESC);
@@ -0,0 +1,6 @@
+-- Street matches are paged nearest first by word-similarity distance (<<->). GIN answers the <% filter
+-- but cannot return rows in distance order, so every match was ranked and sorted; the GiST opclass
+-- answers the filter too and hands rows to the ORDER BY in distance order
+DROP INDEX IF EXISTS idx_resources_street_address_trgm;
+CREATE INDEX idx_resources_street_address_trgm
+    ON resources USING gist (street_address gist_trgm_ops);
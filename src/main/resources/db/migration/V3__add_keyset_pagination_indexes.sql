@@ -0,0 +1,10 @@
+-- Composite indexes backing keyset pagination on (created_at DESC, id DESC).
+-- They cover the single-column indexes from V1, which are dropped to keep write cost flat.
+CREATE INDEX idx_resources_created_at_id ON resources(created_at DESC, id DESC);
+CREATE INDEX idx_resources_country_created_at_id ON resources(country_code, created_at DESC, id DESC);
+CREATE INDEX idx_resources_type_created_at_id ON resources(type, created_at DESC, id DESC);
+CREATE INDEX idx_resources_country_type_created_at_id ON resources(country_code, type, created_at DESC, id DESC);
+
+DROP INDEX IF EXISTS idx_resources_created_at;
+DROP INDEX IF EXISTS idx_resources_country_code;
+DROP INDEX IF EXISTS idx_resources_type;
@@ -0,0 +1,17 @@
+-- Create export_jobs table tracking asynchronous bulk exports
+CREATE TABLE export_jobs (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    status VARCHAR(20) NOT NULL,
+    total_estimate BIGINT,
+    rows_read BIGINT NOT NULL DEFAULT 0,
+    batches_sent BIGINT NOT NULL DEFAULT 0,
+    batches_acked BIGINT NOT NULL DEFAULT 0,
+    batches_failed BIGINT NOT NULL DEFAULT 0,
+    rows_per_second DOUBLE PRECISION NOT NULL DEFAULT 0,
+    error_message VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP,
+    finished_at TIMESTAMP
+);
+
+CREATE INDEX idx_export_jobs_created_at ON export_jobs(created_at);
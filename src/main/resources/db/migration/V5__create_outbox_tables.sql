@@ -0,0 +1,22 @@
+-- Transactional outbox: events are written in the same transaction as the resource change
+-- and relayed to Kafka in id order per partition
+CREATE TABLE outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    aggregate_id UUID NOT NULL,
+    partition_key SMALLINT NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_outbox_events_partition_id ON outbox_events(partition_key, id);
+
+-- One row per outbox partition; relays lock a partition with FOR UPDATE SKIP LOCKED so that
+-- several instances share the work while events of one aggregate are never relayed concurrently
+CREATE TABLE outbox_partitions (
+    partition_id SMALLINT PRIMARY KEY,
+    last_relayed_at TIMESTAMP
+);
+
+INSERT INTO outbox_partitions (partition_id)
+SELECT generate_series(0, 15);
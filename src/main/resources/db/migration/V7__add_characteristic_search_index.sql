@@ -0,0 +1,6 @@
+-- Backs characteristic search: each (type, value[, code]) predicate is answered by an index-only
+-- scan that yields matching resource ids. It covers idx_characteristics_type, which is dropped.
+CREATE INDEX idx_characteristics_type_value_resource
+    ON characteristics(type, value, resource_id) INCLUDE (code);
+
+DROP INDEX IF EXISTS idx_characteristics_type;
@@ -0,0 +1,13 @@
+-- Backs location search. Street addresses are matched fuzzily by trigram word similarity, so
+-- "Narva mnt" finds "Narva mnt 5" and tolerates typos; the GIN index serves the <% operator.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_resources_street_address_trgm
+    ON resources USING gin (street_address gin_trgm_ops);
+
+-- City is matched case-insensitively
+CREATE INDEX idx_resources_city_lower ON resources(lower(city));
+
+-- Postal code prefixes are searched as a range under byte-wise ordering, which the index
+-- answers even for prepared statements where a LIKE pattern is unknown at plan time
+CREATE INDEX idx_resources_postal_code ON resources(postal_code COLLATE "C");
@@ -0,0 +1,102 @@
+-- Resource counts per (country_code, type) and characteristic counts per (country_code, type,
+-- characteristic type, value), so totals no longer need COUNT(*) scans. Resource-level rows use ''
+-- for the characteristic columns.
+CREATE TABLE resource_counters (
+    country_code VARCHAR(2) NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    characteristic_type VARCHAR(50) NOT NULL DEFAULT '',
+    characteristic_value VARCHAR(255) NOT NULL DEFAULT '',
+    total BIGINT NOT NULL,
+    PRIMARY KEY (country_code, type, characteristic_type, characteristic_value)
+);
+
+-- Writers only append deltas, so concurrent transactions never wait on a shared counter row.
+-- Deltas are periodically folded into resource_counters; a count is the sum over both tables.
+CREATE TABLE resource_counter_deltas (
+    id BIGSERIAL PRIMARY KEY,
+    country_code VARCHAR(2) NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    characteristic_type VARCHAR(50) NOT NULL DEFAULT '',
+    characteristic_value VARCHAR(255) NOT NULL DEFAULT '',
+    delta BIGINT NOT NULL
+);
+
+-- Moves the characteristic counts of a resource along with it. Runs before a delete, because
+-- characteristics removed by ON DELETE CASCADE can no longer see their resource.
+CREATE OR REPLACE FUNCTION count_resource_change()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        INSERT INTO resource_counter_deltas (country_code, type, delta)
+        VALUES (OLD.country_code, OLD.type, -1);
+        INSERT INTO resource_counter_deltas (country_code, type, characteristic_type, characteristic_value, delta)
+        SELECT OLD.country_code, OLD.type, c.type, c.value, -1
+        FROM characteristics c WHERE c.resource_id = OLD.id;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        INSERT INTO resource_counter_deltas (country_code, type, delta)
+        VALUES (NEW.country_code, NEW.type, 1);
+        INSERT INTO resource_counter_deltas (country_code, type, characteristic_type, characteristic_value, delta)
+        SELECT NEW.country_code, NEW.type, c.type, c.value, 1
+        FROM characteristics c WHERE c.resource_id = NEW.id;
+    END IF;
+    IF TG_OP = 'DELETE' THEN
+        RETURN OLD;
+    END IF;
+    RETURN NEW;
+END;
+$$ language 'plpgsql';
+
+CREATE TRIGGER count_resources_insert
+    AFTER INSERT ON resources
+    FOR EACH ROW
+    EXECUTE FUNCTION count_resource_change();
+
+CREATE TRIGGER count_resources_update
+    AFTER UPDATE OF country_code, type ON resources
+    FOR EACH ROW
+    WHEN (OLD.country_code IS DISTINCT FROM NEW.country_code OR OLD.type IS DISTINCT FROM NEW.type)
+    EXECUTE FUNCTION count_resource_change();
+
+CREATE TRIGGER count_resources_delete
+    BEFORE DELETE ON resources
+    FOR EACH ROW
+    EXECUTE FUNCTION count_resource_change();
+
+-- A characteristic whose resource is already gone was counted by count_resources_delete
+CREATE OR REPLACE FUNCTION count_characteristic_change()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        INSERT INTO resource_counter_deltas (country_code, type, characteristic_type, characteristic_value, delta)
+        SELECT r.country_code, r.type, OLD.type, OLD.value, -1
+        FROM resources r WHERE r.id = OLD.resource_id;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        INSERT INTO resource_counter_deltas (country_code, type, characteristic_type, characteristic_value, delta)
+        SELECT r.country_code, r.type, NEW.type, NEW.value, 1
+        FROM resources r WHERE r.id = NEW.resource_id;
+    END IF;
+    RETURN NULL;
+END;
+$$ language 'plpgsql';
+
+CREATE TRIGGER count_characteristics_change
+    AFTER INSERT OR DELETE ON characteristics
+    FOR EACH ROW
+    EXECUTE FUNCTION count_characteristic_change();
+
+CREATE TRIGGER count_characteristics_update
+    AFTER UPDATE OF resource_id, type, value ON characteristics
+    FOR EACH ROW
+    WHEN (OLD.resource_id IS DISTINCT FROM NEW.resource_id OR OLD.type IS DISTINCT FROM NEW.type
+          OR OLD.value IS DISTINCT FROM NEW.value)
+    EXECUTE FUNCTION count_characteristic_change();
+
+INSERT INTO resource_counters (country_code, type, total)
+SELECT country_code, type, count(*) FROM resources GROUP BY country_code, type;
+
+INSERT INTO resource_counters (country_code, type, characteristic_type, characteristic_value, total)
+SELECT r.country_code, r.type, c.type, c.value, count(*)
+FROM characteristics c JOIN resources r ON r.id = c.resource_id
+GROUP BY r.country_code, r.type, c.type, c.value;
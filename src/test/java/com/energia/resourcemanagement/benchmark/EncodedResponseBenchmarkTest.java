@@ -0,0 +1,173 @@
+package com.energia.resourcemanagement.benchmark;
+
+import com.energia.resourcemanagement.cache.EncodedResponseCache;
+import com.energia.resourcemanagement.domain.entity.Characteristic;
+import com.energia.resourcemanagement.domain.entity.Location;
+import com.energia.resourcemanagement.domain.entity.Resource;
+import com.energia.resourcemanagement.domain.enums.CharacteristicType;
+import com.energia.resourcemanagement.domain.enums.ResourceType;
+import com.energia.resourcemanagement.integration.AbstractIntegrationTest;
+import com.energia.resourcemanagement.repository.ResourceRepository;
+import com.energia.resourcemanagement.service.ResourceService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Latency percentiles of GET /api/v1/resources/{id} for hot resources: serializing the cached
+// ResourceResponse on every request (the path before the encoded cache) versus writing cached bytes.
+// Excluded from the default build; run with: ./mvnw test -Pbenchmark
+@Slf4j
+@Tag("benchmark")
+@TestPropertySource(properties = {
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.com.energia.resourcemanagement=WARN",
+        "logging.level.com.energia.resourcemanagement.benchmark=INFO"
+})
+class EncodedResponseBenchmarkTest extends AbstractIntegrationTest {
+
+    private static final int HOT_RESOURCES = 100;
+    private static final int CHARACTERISTICS = 20;
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 100_000;
+    private static final int HTTP_ITERATIONS = 10_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    @Autowired
+    private ResourceService resourceService;
+
+    @Autowired
+    private EncodedResponseCache encodedResponseCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void serializedPerRequestVersusEncodedBytes() throws Exception {
+        List<UUID> ids = saveHotResources();
+
+        // Both paths start from a warm object cache, so neither touches the database
+        Percentiles serialized = measure(ids, id -> objectMapper.writeValueAsBytes(resourceService.getResource(id)));
+        Percentiles identity = measure(ids, id -> encodedResponseCache.get(id)
+                .orElseGet(() -> encodedResponseCache.encode(resourceService.getResource(id))).identity());
+        Percentiles gzip = measure(ids, id -> encodedResponseCache.get(id)
+                .orElseGet(() -> encodedResponseCache.encode(resourceService.getResource(id))).gzip());
+
+        HttpClient client = HttpClient.newHttpClient();
+        Percentiles httpIdentity = measureHttp(client, ids, "identity");
+        Percentiles httpGzip = measureHttp(client, ids, "gzip");
+
+        log.info("Encoded response benchmark, {} hot resources with {} characteristics", HOT_RESOURCES, CHARACTERISTICS);
+        log.info("  serialize per request : p50 {} us, p99 {} us", serialized.p50Micros(), serialized.p99Micros());
+        log.info("  encoded identity      : p50 {} us, p99 {} us", identity.p50Micros(), identity.p99Micros());
+        log.info("  encoded gzip          : p50 {} us, p99 {} us", gzip.p50Micros(), gzip.p99Micros());
+        log.info("  HTTP identity         : p50 {} us, p99 {} us", httpIdentity.p50Micros(), httpIdentity.p99Micros());
+        log.info("  HTTP gzip             : p50 {} us, p99 {} us", httpGzip.p50Micros(), httpGzip.p99Micros());
+
+        assertThat(identity.p99Nanos()).isLessThan(serialized.p99Nanos());
+        resourceRepository.deleteAllById(ids);
+    }
+
+    private List<UUID> saveHotResources() {
+        List<UUID> ids = new ArrayList<>(HOT_RESOURCES);
+        for (int i = 0; i < HOT_RESOURCES; i++) {
+            Resource resource = Resource.builder()
+                    .type(ResourceType.METERING_POINT)
+                    .countryCode("EE")
+                    .location(Location.builder()
+                            .streetAddress("Hot Street " + i)
+                            .city("Tallinn")
+                            .postalCode("10000")
+                            .countryCode("EE")
+                            .build())
+                    .build();
+            for (int c = 0; c < CHARACTERISTICS; c++) {
+                resource.addCharacteristic(Characteristic.builder()
+                        .code("C" + c)
+                        .type(CharacteristicType.values()[c % CharacteristicType.values().length])
+                        .value("VALUE-" + c)
+                        .build());
+            }
+            ids.add(resourceRepository.save(resource).getId());
+        }
+        return ids;
+    }
+
+    private Percentiles measure(List<UUID> ids, ThrowingFunction path) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            path.apply(ids.get(i % ids.size()));
+        }
+        long[] samples = new long[MEASURED_ITERATIONS];
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            UUID id = ids.get(i % ids.size());
+            long start = System.nanoTime();
+            path.apply(id);
+            samples[i] = System.nanoTime() - start;
+        }
+        return Percentiles.of(samples);
+    }
+
+    private Percentiles measureHttp(HttpClient client, List<UUID> ids, String acceptEncoding) throws Exception {
+        for (int i = 0; i < HTTP_ITERATIONS / 10; i++) {
+            send(client, ids.get(i % ids.size()), acceptEncoding);
+        }
+
+        long[] samples = new long[HTTP_ITERATIONS];
+        for (int i = 0; i < HTTP_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            send(client, ids.get(i % ids.size()), acceptEncoding);
+            samples[i] = System.nanoTime() - start;
+        }
+        return Percentiles.of(samples);
+    }
+
+    private void send(HttpClient client, UUID id, String acceptEncoding) throws Exception {
+        HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder()
+                        .uri(URI.create("http://localhost:" + port + "/api/v1/resources/" + id))
+                        .header("Accept-Encoding", acceptEncoding)
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(response.statusCode()).isEqualTo(200);
+    }
+
+    @FunctionalInterface
+    private interface ThrowingFunction {
+        Object apply(UUID id) throws Exception;
+    }
+
+    private record Percentiles(long p50Nanos, long p99Nanos) {
+
+        static Percentiles of(long[] samples) {
+            Arrays.sort(samples);
+            return new Percentiles(samples[samples.length / 2], samples[(int) (samples.length * 0.99)]);
+        }
+
+        long p50Micros() {
+            return p50Nanos / 1_000;
+        }
+
+        long p99Micros() {
+            return p99Nanos / 1_000;
+        }
+    }
+}
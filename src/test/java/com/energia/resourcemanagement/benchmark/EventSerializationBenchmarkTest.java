@@ -0,0 +1,170 @@
+package com.energia.resourcemanagement.benchmark;
+
+import com.energia.resourcemanagement.domain.enums.CharacteristicType;
+import com.energia.resourcemanagement.domain.enums.EventType;
+import com.energia.resourcemanagement.domain.enums.ResourceType;
+import com.energia.resourcemanagement.dto.common.CharacteristicDTO;
+import com.energia.resourcemanagement.dto.common.LocationDTO;
+import com.energia.resourcemanagement.dto.response.ResourceResponse;
+import com.energia.resourcemanagement.kafka.event.ResourceEvent;
+import com.energia.resourcemanagement.kafka.serialization.ResourceEventDeserializer;
+import com.energia.resourcemanagement.kafka.serialization.ResourceEventSerializer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Bytes per event and serialize/deserialize ns/op of resource events as JSON and in the binary format,
+// uncompressed and compressed in producer-sized batches. Excluded from the default build; run with: ./mvnw test -Pbenchmark
+@Slf4j
+@Tag("benchmark")
+class EventSerializationBenchmarkTest {
+
+    private static final String TOPIC = "resource-events";
+    private static final int EVENTS = 1_000;
+    private static final int CHARACTERISTICS = 5;
+    private static final int BATCH_EVENTS = 100;
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 500;
+
+    @Test
+    void jsonVersusBinary() {
+        List<ResourceEvent> events = events();
+        ResourceEventDeserializer deserializer = new ResourceEventDeserializer();
+
+        Result json = measure(serializer("json"), deserializer, events);
+        Result binary = measure(serializer("binary"), deserializer, events);
+
+        log.info("Resource event serialization, {} events with {} characteristics", EVENTS, CHARACTERISTICS);
+        log.info("  JSON   : {} bytes/event, {} bytes/event gzip-batched, serialize {} ns/op, deserialize {} ns/op",
+                json.bytesPerEvent(), json.compressedBytesPerEvent(), json.serializeNanos(), json.deserializeNanos());
+        log.info("  binary : {} bytes/event, {} bytes/event gzip-batched, serialize {} ns/op, deserialize {} ns/op",
+                binary.bytesPerEvent(), binary.compressedBytesPerEvent(), binary.serializeNanos(), binary.deserializeNanos());
+
+        assertThat(binary.bytesPerEvent()).isLessThan(json.bytesPerEvent() / 2);
+        assertThat(binary.serializeNanos()).isLessThan(json.serializeNanos());
+        assertThat(binary.deserializeNanos()).isLessThan(json.deserializeNanos());
+    }
+
+    private Result measure(ResourceEventSerializer serializer, ResourceEventDeserializer deserializer,
+                           List<ResourceEvent> events) {
+        List<byte[]> payloads = new ArrayList<>(events.size());
+        for (ResourceEvent event : events) {
+            payloads.add(serializer.serialize(TOPIC, new RecordHeaders(), event));
+        }
+
+        long blackhole = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            blackhole += serializeAll(serializer, events) + deserializeAll(deserializer, payloads);
+        }
+
+        long serializeNanos = 0;
+        long deserializeNanos = 0;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            long start = System.nanoTime();
+            blackhole += serializeAll(serializer, events);
+            long middle = System.nanoTime();
+            blackhole += deserializeAll(deserializer, payloads);
+            deserializeNanos += System.nanoTime() - middle;
+            serializeNanos += middle - start;
+        }
+        assertThat(blackhole).isPositive();
+
+        long operations = (long) MEASURED_ROUNDS * events.size();
+        long totalBytes = payloads.stream().mapToLong(payload -> payload.length).sum();
+        return new Result(totalBytes / events.size(), compressedBytes(payloads) / events.size(),
+                serializeNanos / operations, deserializeNanos / operations);
+    }
+
+    private static long serializeAll(ResourceEventSerializer serializer, List<ResourceEvent> events) {
+        long bytes = 0;
+        for (ResourceEvent event : events) {
+            bytes += serializer.serialize(TOPIC, new RecordHeaders(), event).length;
+        }
+        return bytes;
+    }
+
+    private static long deserializeAll(ResourceEventDeserializer deserializer, List<byte[]> payloads) {
+        long versions = 0;
+        for (byte[] payload : payloads) {
+            versions += deserializer.deserialize(TOPIC, payload).getResource().getVersion();
+        }
+        return versions;
+    }
+
+    // Kafka compresses record batches as a whole; gzip over batches of BATCH_EVENTS approximates that
+    private static long compressedBytes(List<byte[]> payloads) {
+        long total = 0;
+        for (int from = 0; from < payloads.size(); from += BATCH_EVENTS) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                for (byte[] payload : payloads.subList(from, Math.min(from + BATCH_EVENTS, payloads.size()))) {
+                    gzip.write(payload);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            total += out.size();
+        }
+        return total;
+    }
+
+    private static ResourceEventSerializer serializer(String format) {
+        ResourceEventSerializer serializer = new ResourceEventSerializer();
+        serializer.configure(Map.of(ResourceEventSerializer.FORMAT_CONFIG, format), false);
+        return serializer;
+    }
+
+    private static List<ResourceEvent> events() {
+        List<ResourceEvent> events = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            List<CharacteristicDTO> characteristics = new ArrayList<>(CHARACTERISTICS);
+            for (int c = 0; c < CHARACTERISTICS; c++) {
+                characteristics.add(CharacteristicDTO.builder()
+                        .code("C" + c)
+                        .type(CharacteristicType.values()[c % CharacteristicType.values().length])
+                        .value("VALUE-" + (i + c) % 50)
+                        .build());
+            }
+            UUID id = UUID.randomUUID();
+            events.add(ResourceEvent.builder()
+                    .eventId(UUID.randomUUID())
+                    .eventType(EventType.values()[i % 2])
+                    .resourceId(id)
+                    .timestamp(Instant.now())
+                    .resource(ResourceResponse.builder()
+                            .id(id)
+                            .type(ResourceType.values()[i % ResourceType.values().length])
+                            .countryCode("EE")
+                            .location(LocationDTO.builder()
+                                    .streetAddress("Benchmark Street " + i)
+                                    .city("Tallinn")
+                                    .postalCode(String.valueOf(10000 + i))
+                                    .countryCode("EE")
+                                    .build())
+                            .characteristics(characteristics)
+                            .createdAt(LocalDateTime.now())
+                            .updatedAt(LocalDateTime.now())
+                            .version(1L + i % 10)
+                            .build())
+                    .build());
+        }
+        return events;
+    }
+
+    private record Result(long bytesPerEvent, long compressedBytesPerEvent, long serializeNanos, long deserializeNanos) {
+    }
+}
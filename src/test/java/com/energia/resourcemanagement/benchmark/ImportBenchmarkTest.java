@@ -0,0 +1,83 @@
+package com.energia.resourcemanagement.benchmark;
+
+import com.energia.resourcemanagement.domain.enums.ImportFormat;
+import com.energia.resourcemanagement.dto.request.CreateResourceRequest;
+import com.energia.resourcemanagement.dto.response.ResourceImportResponse;
+import com.energia.resourcemanagement.integration.AbstractIntegrationTest;
+import com.energia.resourcemanagement.repository.ResourceRepository;
+import com.energia.resourcemanagement.service.ResourceImportService;
+import com.energia.resourcemanagement.service.ResourceService;
+import com.energia.resourcemanagement.service.impl.CsvImportReader;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Loads the same CSV-shaped resources through the COPY import and through batched POST /batch calls
+// and compares rows per second. Excluded from the default build; run with: ./mvnw test -Pbenchmark
+@Slf4j
+@Tag("benchmark")
+@TestPropertySource(properties = {
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.com.energia.resourcemanagement=WARN",
+        "logging.level.com.energia.resourcemanagement.benchmark=INFO"
+})
+class ImportBenchmarkTest extends AbstractIntegrationTest {
+
+    private static final int IMPORT_ROWS = 500_000;
+    private static final int BATCH_ROWS = 20_000;
+    private static final int BATCH_SIZE = 1_000;
+
+    @Autowired
+    private ResourceImportService resourceImportService;
+
+    @Autowired
+    private ResourceService resourceService;
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    @Test
+    void copyImportVersusBatchedInserts() throws Exception {
+        StringBuilder csv = new StringBuilder(
+                "type,countryCode,streetAddress,city,postalCode,locationCountryCode,characteristics\n");
+        for (int i = 0; i < IMPORT_ROWS; i++) {
+            csv.append("METERING_POINT,EE,Import Street ").append(i).append(",Tallinn,")
+                    .append(10000 + i % 90000).append(",EE,C1:CONSUMPTION_TYPE:RESIDENTIAL;C2:CHARGING_POINT:AC\n");
+        }
+        ResourceImportResponse imported = resourceImportService.importResources(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), ImportFormat.CSV);
+        assertThat(imported.getImported()).isEqualTo(IMPORT_ROWS);
+
+        // The batched path takes its requests from the same rows, parsed once up front
+        List<CreateResourceRequest> requests = new ArrayList<>(BATCH_ROWS);
+        try (CsvImportReader reader = new CsvImportReader(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)))) {
+            for (int i = 0; i < BATCH_ROWS; i++) {
+                requests.add(reader.next().request());
+            }
+        }
+        long start = System.nanoTime();
+        for (int from = 0; from < BATCH_ROWS; from += BATCH_SIZE) {
+            resourceService.createResources(requests.subList(from, from + BATCH_SIZE));
+        }
+        long batchedRowsPerSecond = BATCH_ROWS * 1_000_000_000L / (System.nanoTime() - start);
+
+        log.info("Import benchmark");
+        log.info("  COPY import    : {} rows in {} ms, {} rows/s",
+                IMPORT_ROWS, imported.getElapsedMillis(), Math.round(imported.getRowsPerSecond()));
+        log.info("  batched insert : {} rows in batches of {}, {} rows/s", BATCH_ROWS, BATCH_SIZE, batchedRowsPerSecond);
+
+        assertThat(imported.getRowsPerSecond()).isGreaterThan(10.0 * batchedRowsPerSecond);
+        resourceRepository.deleteAllInBatch();
+    }
+}
@@ -0,0 +1,164 @@
+package com.energia.resourcemanagement.benchmark;
+
+import com.energia.resourcemanagement.domain.entity.Characteristic;
+import com.energia.resourcemanagement.domain.entity.Location;
+import com.energia.resourcemanagement.domain.entity.Resource;
+import com.energia.resourcemanagement.domain.enums.CharacteristicType;
+import com.energia.resourcemanagement.domain.enums.ResourceType;
+import com.energia.resourcemanagement.dto.common.CharacteristicDTO;
+import com.energia.resourcemanagement.dto.response.ResourceResponse;
+import com.energia.resourcemanagement.integration.AbstractIntegrationTest;
+import com.energia.resourcemanagement.mapper.ResourceMapper;
+import com.energia.resourcemanagement.repository.ResourceRepository;
+import com.energia.resourcemanagement.service.ResourceService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Compares the entity + toResponse read path with the projection read path.
+// Excluded from the default build; run with: ./mvnw test -Pbenchmark
+@Slf4j
+@Tag("benchmark")
+@TestPropertySource(properties = {
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.com.energia.resourcemanagement=WARN",
+        "logging.level.com.energia.resourcemanagement.benchmark=INFO"
+})
+class ReadPathBenchmarkTest extends AbstractIntegrationTest {
+
+    private static final int RESOURCES = 2_000;
+    private static final int PAGE_SIZE = 100;
+    private static final int WARMUP_ITERATIONS = 300;
+    private static final int MEASURED_ITERATIONS = 1_000;
+
+    private static final Pageable PAGE = PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ResourceMapper resourceMapper;
+
+    @Autowired
+    private ResourceService resourceService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        resourceRepository.deleteAll();
+        List<Resource> resources = new ArrayList<>(RESOURCES);
+        for (int i = 0; i < RESOURCES; i++) {
+            Resource resource = Resource.builder()
+                    .type(i % 2 == 0 ? ResourceType.METERING_POINT : ResourceType.CONNECTION_POINT)
+                    .countryCode(i % 3 == 0 ? "FI" : "EE")
+                    .location(Location.builder()
+                            .streetAddress("Benchmark Street " + i)
+                            .city("Tallinn")
+                            .postalCode("10000")
+                            .countryCode("EE")
+                            .build())
+                    .build();
+            resource.addCharacteristic(characteristic("C" + i % 1000, CharacteristicType.CONSUMPTION_TYPE, "RESIDENTIAL"));
+            resource.addCharacteristic(characteristic("P" + i % 1000, CharacteristicType.CHARGING_POINT, "AC"));
+            resource.addCharacteristic(characteristic("S" + i % 1000, CharacteristicType.CONNECTION_POINT_STATUS, "ACTIVE"));
+            resources.add(resource);
+        }
+        resourceRepository.saveAll(resources);
+    }
+
+    @Test
+    void entityPathVersusProjectionPath() {
+        Supplier<List<ResourceResponse>> entityPath = () -> readOnlyTransaction.execute(status -> entityPage());
+        Supplier<List<ResourceResponse>> projectionPath = () -> resourceService.getAllResources(null, null, PAGE).getContent();
+
+        assertThat(summarize(projectionPath.get())).isEqualTo(summarize(entityPath.get()));
+
+        Result entity = measure(entityPath);
+        Result projection = measure(projectionPath);
+
+        log.info("Read path benchmark, {} pages of {} resources with 3 characteristics each", MEASURED_ITERATIONS, PAGE_SIZE);
+        log.info("  entity + toResponse : {} pages/s, {} KB allocated per page", entity.pagesPerSecond(), entity.kbPerPage());
+        log.info("  projection          : {} pages/s, {} KB allocated per page", projection.pagesPerSecond(), projection.kbPerPage());
+    }
+
+    // The read path as it was before projections: managed entities mapped through toResponse
+    private List<ResourceResponse> entityPage() {
+        Page<Resource> page = resourceRepository.findAll(PAGE);
+        List<UUID> ids = page.getContent().stream().map(Resource::getId).toList();
+        Map<UUID, List<CharacteristicDTO>> characteristics = entityManager
+                .createQuery("SELECT c FROM Characteristic c WHERE c.resource.id IN :ids", Characteristic.class)
+                .setParameter("ids", ids)
+                .getResultList()
+                .stream()
+                .collect(Collectors.groupingBy(c -> c.getResource().getId(),
+                        Collectors.mapping(resourceMapper::toCharacteristicDTO, Collectors.toList())));
+
+        List<ResourceResponse> responses = new ArrayList<>(page.getNumberOfElements());
+        for (Resource resource : page.getContent()) {
+            ResourceResponse response = resourceMapper.toResponseWithoutCharacteristics(resource);
+            response.setCharacteristics(characteristics.getOrDefault(resource.getId(), new ArrayList<>()));
+            responses.add(response);
+        }
+        return responses;
+    }
+
+    private Result measure(Supplier<List<ResourceResponse>> path) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            path.get();
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            path.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        return new Result(MEASURED_ITERATIONS * 1_000_000_000L / elapsed, allocated / MEASURED_ITERATIONS / 1024);
+    }
+
+    private Map<UUID, Integer> summarize(List<ResourceResponse> responses) {
+        return responses.stream().collect(Collectors.toMap(ResourceResponse::getId, r -> r.getCharacteristics().size()));
+    }
+
+    private Characteristic characteristic(String code, CharacteristicType type, String value) {
+        return Characteristic.builder().code(code).type(type).value(value).build();
+    }
+
+    private record Result(long pagesPerSecond, long kbPerPage) {
+    }
+}
@@ -0,0 +1,101 @@
+package com.energia.resourcemanagement.benchmark;
+
+import com.energia.resourcemanagement.domain.id.UuidV7Generator;
+import com.energia.resourcemanagement.integration.AbstractIntegrationTest;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Bulk loads a characteristics-shaped table (uuid primary key plus an index on a uuid foreign key)
+// with random v4 ids and with time-ordered v7 ids, and compares throughput, WAL volume and index size.
+// Excluded from the default build; run with: ./mvnw test -Pbenchmark
+@Slf4j
+@Tag("benchmark")
+@TestPropertySource(properties = {
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.com.energia.resourcemanagement=WARN",
+        "logging.level.com.energia.resourcemanagement.benchmark=INFO"
+})
+class UuidInsertBenchmarkTest extends AbstractIntegrationTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final int BATCH_SIZE = 1_000;
+    private static final int CHARACTERISTICS_PER_RESOURCE = 3;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void randomVersusTimeOrderedIds() {
+        Result random = load("uuid_benchmark_v4", UUID::randomUUID);
+        Result ordered = load("uuid_benchmark_v7", UuidV7Generator::nextUuid);
+
+        log.info("UUID insert benchmark, {} rows in batches of {}", ROWS, BATCH_SIZE);
+        log.info("  random (v4)       : {} rows/s, {} MB WAL, primary key {} MB, foreign key index {} MB",
+                random.rowsPerSecond(), mb(random.walBytes()), mb(random.primaryKeyBytes()), mb(random.foreignKeyBytes()));
+        log.info("  time-ordered (v7) : {} rows/s, {} MB WAL, primary key {} MB, foreign key index {} MB",
+                ordered.rowsPerSecond(), mb(ordered.walBytes()), mb(ordered.primaryKeyBytes()), mb(ordered.foreignKeyBytes()));
+
+        // Appending at the right edge fills leaf pages instead of splitting them half-empty
+        assertThat(ordered.primaryKeyBytes()).isLessThan(random.primaryKeyBytes());
+        assertThat(ordered.foreignKeyBytes()).isLessThan(random.foreignKeyBytes());
+    }
+
+    private Result load(String table, Supplier<UUID> ids) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+        jdbcTemplate.execute("CREATE TABLE " + table + " (id UUID PRIMARY KEY, resource_id UUID NOT NULL, " +
+                "value VARCHAR(255) NOT NULL)");
+        jdbcTemplate.execute("CREATE INDEX " + table + "_resource_id ON " + table + "(resource_id)");
+
+        String insert = "INSERT INTO " + table + " (id, resource_id, value) VALUES (?, ?, ?)";
+        String walBefore = jdbcTemplate.queryForObject("SELECT pg_current_wal_lsn()::text", String.class);
+        long start = System.nanoTime();
+
+        UUID resourceId = null;
+        for (int loaded = 0; loaded < ROWS; loaded += BATCH_SIZE) {
+            List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                if ((loaded + i) % CHARACTERISTICS_PER_RESOURCE == 0) {
+                    resourceId = ids.get();
+                }
+                batch.add(new Object[]{ids.get(), resourceId, "RESIDENTIAL"});
+            }
+            jdbcTemplate.batchUpdate(insert, batch);
+        }
+
+        long elapsed = System.nanoTime() - start;
+        Long walBytes = jdbcTemplate.queryForObject(
+                "SELECT pg_wal_lsn_diff(pg_current_wal_lsn(), ?::pg_lsn)::BIGINT", Long.class, walBefore);
+        Result result = new Result(
+                ROWS * 1_000_000_000L / elapsed,
+                walBytes != null ? walBytes : 0,
+                relationSize(table + "_pkey"),
+                relationSize(table + "_resource_id"));
+
+        jdbcTemplate.execute("DROP TABLE " + table);
+        return result;
+    }
+
+    private long relationSize(String relation) {
+        Long size = jdbcTemplate.queryForObject("SELECT pg_relation_size(?::regclass)", Long.class, relation);
+        return size != null ? size : 0;
+    }
+
+    private static long mb(long bytes) {
+        return bytes / (1024 * 1024);
+    }
+
+    private record Result(long rowsPerSecond, long walBytes, long primaryKeyBytes, long foreignKeyBytes) {
+    }
+}
@@ -37,5 +37,7 @@ public abstract class AbstractIntegrationTest {
         registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
         registry.add("spring.flyway.enabled", () -> "true");
         registry.add("spring.flyway.locations", () -> "classpath:db/migration");
+
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
     }
 }
\ No newline at end of file
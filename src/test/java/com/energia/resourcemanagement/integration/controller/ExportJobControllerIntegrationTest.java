@@ -0,0 +1,168 @@
+package com.energia.resourcemanagement.integration.controller;
+
+import com.energia.resourcemanagement.domain.entity.Location;
+import com.energia.resourcemanagement.domain.entity.Resource;
+import com.energia.resourcemanagement.domain.enums.ResourceType;
+import com.energia.resourcemanagement.integration.AbstractIntegrationTest;
+import com.energia.resourcemanagement.repository.ExportJobRepository;
+import com.energia.resourcemanagement.repository.ResourceRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+class ExportJobControllerIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    @Autowired
+    private ExportJobRepository exportJobRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        resourceRepository.deleteAll();
+        exportJobRepository.deleteAll();
+    }
+
+    @Test
+    void exportAll_RunsAsynchronouslyAndReportsProgress() throws Exception {
+        List<Resource> resources = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            resources.add(Resource.builder()
+                    .type(ResourceType.METERING_POINT)
+                    .countryCode("EE")
+                    .location(Location.builder()
+                            .streetAddress("Export Street " + i)
+                            .city("Tallinn")
+                            .postalCode("10000")
+                            .countryCode("EE")
+                            .build())
+                    .build());
+        }
+        resourceRepository.saveAll(resources);
+        // The total is estimated from the planner statistics
+        jdbcTemplate.execute("ANALYZE resources");
+
+        MvcResult accepted = mockMvc.perform(post("/api/v1/resources/export-all"))
+                .andExpect(status().isAccepted())
+                .andReturn();
+
+        String statusUrl = accepted.getResponse().getHeader("Location");
+        assertThat(statusUrl).isNotNull();
+
+        await().atMost(Duration.ofSeconds(30)).untilAsserted(() -> {
+            JsonNode job = readJob(statusUrl);
+            assertThat(job.get("status").asText()).isEqualTo("COMPLETED");
+        });
+
+        JsonNode job = readJob(statusUrl);
+        assertThat(job.get("rowsRead").asLong()).isEqualTo(250);
+        assertThat(job.get("totalEstimate").asLong()).isEqualTo(250);
+        // Ranges are read in parallel and split per partition, so the batch count depends on the id spread
+        assertThat(job.get("batchesSent").asLong()).isGreaterThanOrEqualTo(3);
+        assertThat(job.get("batchesAcked").asLong()).isEqualTo(job.get("batchesSent").asLong());
+        assertThat(job.get("batchesFailed").asLong()).isZero();
+        assertThat(job.get("estimatedSecondsRemaining").asLong()).isZero();
+    }
+
+    @Test
+    void exportDelta_SendsOnlyChangesSinceLastDeltaExport() throws Exception {
+        List<Resource> initial = resourceRepository.saveAll(List.of(resource("Delta Street 1"), resource("Delta Street 2")));
+        runToCompletion("/api/v1/resources/export-all?mode=DELTA");
+
+        resourceRepository.save(resource("Delta Street 3"));
+        resourceRepository.deleteById(initial.get(0).getId());
+
+        JsonNode job = runToCompletion("/api/v1/resources/export-all?mode=DELTA");
+        assertThat(job.get("mode").asText()).isEqualTo("DELTA");
+        // One new resource and one tombstone; the untouched resource is not sent again
+        assertThat(job.get("rowsRead").asLong()).isEqualTo(2);
+        assertThat(job.get("totalEstimate").asLong()).isEqualTo(2);
+        assertThat(job.get("toChangeSeq").asLong()).isGreaterThan(job.get("fromChangeSeq").asLong());
+
+        JsonNode unchanged = runToCompletion("/api/v1/resources/export-all?mode=DELTA");
+        assertThat(unchanged.get("rowsRead").asLong()).isZero();
+        assertThat(unchanged.get("fromChangeSeq").asLong()).isEqualTo(job.get("toChangeSeq").asLong());
+    }
+
+    private JsonNode runToCompletion(String exportUrl) throws Exception {
+        String statusUrl = mockMvc.perform(post(exportUrl))
+                .andExpect(status().isAccepted())
+                .andReturn()
+                .getResponse()
+                .getHeader("Location");
+
+        await().atMost(Duration.ofSeconds(30)).untilAsserted(() ->
+                assertThat(readJob(statusUrl).get("status").asText()).isEqualTo("COMPLETED"));
+        return readJob(statusUrl);
+    }
+
+    private Resource resource(String streetAddress) {
+        return Resource.builder()
+                .type(ResourceType.METERING_POINT)
+                .countryCode("EE")
+                .location(Location.builder()
+                        .streetAddress(streetAddress)
+                        .city("Tallinn")
+                        .postalCode("10000")
+                        .countryCode("EE")
+                        .build())
+                .build();
+    }
+
+    @Test
+    void getExportJob_NotFound() throws Exception {
+        mockMvc.perform(get("/api/v1/export-jobs/{id}", UUID.randomUUID()))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("EXPORT_JOB_NOT_FOUND"));
+    }
+
+    @Test
+    void cancelExportJob_NotFound() throws Exception {
+        mockMvc.perform(delete("/api/v1/export-jobs/{id}", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void cancelExportJob_FinishedJob_Conflict() throws Exception {
+        resourceRepository.save(resource("Cancel Street 1"));
+        JsonNode job = runToCompletion("/api/v1/resources/export-all");
+
+        mockMvc.perform(delete("/api/v1/export-jobs/{id}", job.get("id").asText()))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code").value("EXPORT_JOB_NOT_CANCELLABLE"));
+    }
+
+    private JsonNode readJob(String statusUrl) throws Exception {
+        MvcResult result = mockMvc.perform(get(statusUrl))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+}
@@ -4,11 +4,16 @@ import com.energia.resourcemanagement.domain.enums.CharacteristicType;
 import com.energia.resourcemanagement.domain.enums.ResourceType;
 import com.energia.resourcemanagement.dto.common.CharacteristicDTO;
 import com.energia.resourcemanagement.dto.common.LocationDTO;
+import com.energia.resourcemanagement.dto.request.BatchCreateResourceRequest;
 import com.energia.resourcemanagement.dto.request.CreateResourceRequest;
 import com.energia.resourcemanagement.dto.request.UpdateResourceRequest;
 import com.energia.resourcemanagement.integration.AbstractIntegrationTest;
 import com.energia.resourcemanagement.repository.ResourceRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,8 +23,13 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayInputStream;
 import java.util.List;
 import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -37,6 +47,12 @@ class ResourceControllerIntegrationTest extends AbstractIntegrationTest {
     @Autowired
     private ResourceRepository resourceRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @BeforeEach
     void setUp() {
         resourceRepository.deleteAll();
@@ -74,6 +90,191 @@ class ResourceControllerIntegrationTest extends AbstractIntegrationTest {
                 .andExpect(jsonPath("$.characteristics[0].code").value("TEST1"));
     }
 
+    @Test
+    void createResources_Batch_ReportsPerItemResults() throws Exception {
+        LocationDTO location = LocationDTO.builder()
+                .streetAddress("Batch Street 1")
+                .city("Tallinn")
+                .postalCode("12345")
+                .countryCode("EE")
+                .build();
+        CharacteristicDTO characteristic = CharacteristicDTO.builder()
+                .code("BAT1")
+                .type(CharacteristicType.CONSUMPTION_TYPE)
+                .value("RESIDENTIAL")
+                .build();
+        BatchCreateResourceRequest request = BatchCreateResourceRequest.builder()
+                .resources(List.of(
+                        CreateResourceRequest.builder()
+                                .type(ResourceType.METERING_POINT)
+                                .countryCode("EE")
+                                .location(location)
+                                .characteristics(List.of(characteristic))
+                                .build(),
+                        CreateResourceRequest.builder()
+                                .type(ResourceType.CONNECTION_POINT)
+                                .countryCode("EE")
+                                .location(location)
+                                .characteristics(List.of(characteristic, characteristic))
+                                .build(),
+                        CreateResourceRequest.builder()
+                                .type(ResourceType.CONNECTION_POINT)
+                                .countryCode("EE")
+                                .location(location)
+                                .build()))
+                .build();
+
+        mockMvc.perform(post("/api/v1/resources/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].resource.characteristics[0].code").value("BAT1"))
+                .andExpect(jsonPath("$.results[1].index").value(1))
+                .andExpect(jsonPath("$.results[1].status").value("FAILED"))
+                .andExpect(jsonPath("$.results[1].errors[0].field").value("characteristics"))
+                .andExpect(jsonPath("$.results[2].status").value("CREATED"));
+
+        assertThat(resourceRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void createResources_EmptyBatch_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/resources/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"resources\": []}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("VALIDATION_ERROR"));
+    }
+
+    @Test
+    void importResources_Ndjson_ImportsValidRowsAndReportsRejects() throws Exception {
+        entityManager.flush();
+        String upload = """
+                {"type":"METERING_POINT","countryCode":"EE","location":{"streetAddress":"Import\\tStreet 1","city":"Tallinn","postalCode":"12345","countryCode":"EE"},"characteristics":[{"code":"IMP1","type":"CONSUMPTION_TYPE","value":"RESIDENTIAL"}]}
+                {"type":"METERING_POINT","countryCode":"ee","location":{"streetAddress":"Import Street 2","city":"Tallinn","postalCode":"12345","countryCode":"EE"}}
+                not json
+                {"type":"CONNECTION_POINT","countryCode":"FI","location":{"streetAddress":"Import Street 3","city":"Helsinki","postalCode":"00100","countryCode":"FI"}}
+                """;
+
+        mockMvc.perform(post("/api/v1/resources/import")
+                        .contentType("application/x-ndjson")
+                        .content(upload))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.rowsRead").value(4))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andExpect(jsonPath("$.rejects[0].line").value(2))
+                .andExpect(jsonPath("$.rejects[0].errors[0].field").value("countryCode"))
+                .andExpect(jsonPath("$.rejects[1].line").value(3));
+
+        assertThat(resourceRepository.count()).isEqualTo(2);
+        assertThat(resourceRepository.findAll())
+                .filteredOn(r -> r.getCountryCode().equals("EE"))
+                .singleElement()
+                .satisfies(r -> {
+                    assertThat(r.getLocation().getStreetAddress()).isEqualTo("Import\tStreet 1");
+                    assertThat(r.getCharacteristics()).singleElement()
+                            .satisfies(c -> assertThat(c.getCode()).isEqualTo("IMP1"));
+                });
+    }
+
+    @Test
+    void importResources_Csv_ReturnsCreated() throws Exception {
+        entityManager.flush();
+        String upload = """
+                type,countryCode,streetAddress,city,postalCode,locationCountryCode,characteristics
+                METERING_POINT,EE,"Import Street 1, Block A",Tallinn,12345,EE,IMP1:CONSUMPTION_TYPE:RESIDENTIAL;IMP2:CHARGING_POINT:AC
+                CONNECTION_POINT,FI,Import Street 2,Helsinki,00100,FI,
+                """;
+
+        mockMvc.perform(post("/api/v1/resources/import")
+                        .contentType("text/csv")
+                        .content(upload))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(0))
+                .andExpect(jsonPath("$.rowsPerSecond").isNumber());
+
+        assertThat(resourceRepository.count()).isEqualTo(2);
+        assertThat(resourceRepository.findAll())
+                .flatMap(r -> r.getCharacteristics())
+                .hasSize(2);
+    }
+
+    @Test
+    void searchResources_ByCharacteristics() throws Exception {
+        for (String status : List.of("ACTIVE", "INACTIVE")) {
+            CreateResourceRequest request = CreateResourceRequest.builder()
+                    .type(ResourceType.CONNECTION_POINT)
+                    .countryCode("FI")
+                    .location(LocationDTO.builder()
+                            .streetAddress("Search Street")
+                            .city("Helsinki")
+                            .postalCode("00100")
+                            .countryCode("FI")
+                            .build())
+                    .characteristics(List.of(
+                            CharacteristicDTO.builder()
+                                    .code("CP1")
+                                    .type(CharacteristicType.CHARGING_POINT)
+                                    .value("CCS")
+                                    .build(),
+                            CharacteristicDTO.builder()
+                                    .code("ST1")
+                                    .type(CharacteristicType.CONNECTION_POINT_STATUS)
+                                    .value(status)
+                                    .build()))
+                    .build();
+            mockMvc.perform(post("/api/v1/resources")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+        }
+        // Search reads through JDBC, which does not trigger a Hibernate auto-flush
+        entityManager.flush();
+
+        String search = """
+                {
+                  "countryCode": "FI",
+                  "type": "CONNECTION_POINT",
+                  "operator": "AND",
+                  "characteristics": [
+                    {"type": "CHARGING_POINT", "value": "CCS"},
+                    {"type": "CONNECTION_POINT_STATUS", "value": "ACTIVE"}
+                  ]
+                }
+                """;
+
+        mockMvc.perform(post("/api/v1/resources/search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(search))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].characteristics.length()").value(2));
+    }
+
+    @Test
+    void searchResources_RejectsPredicateWithoutValue() throws Exception {
+        mockMvc.perform(post("/api/v1/resources/search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"characteristics\": [{\"type\": \"CHARGING_POINT\"}]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("VALIDATION_ERROR"));
+    }
+
+    @Test
+    void searchResources_RejectsUnknownSortProperty() throws Exception {
+        mockMvc.perform(post("/api/v1/resources/search")
+                        .param("sort", "location.city,asc")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_SEARCH"));
+    }
+
     @Test
     void getResource_Success() throws Exception {
         CreateResourceRequest createRequest = CreateResourceRequest.builder()
@@ -103,6 +304,150 @@ class ResourceControllerIntegrationTest extends AbstractIntegrationTest {
                 .andExpect(jsonPath("$.countryCode").value("FI"));
     }
 
+    @Test
+    void getResource_CacheStatisticsExposedAsMetrics() throws Exception {
+        CreateResourceRequest createRequest = CreateResourceRequest.builder()
+                .type(ResourceType.METERING_POINT)
+                .countryCode("EE")
+                .location(LocationDTO.builder()
+                        .streetAddress("Cache Street")
+                        .city("Tallinn")
+                        .postalCode("10111")
+                        .countryCode("EE")
+                        .build())
+                .build();
+
+        MvcResult createResult = mockMvc.perform(post("/api/v1/resources")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        String resourceId = objectMapper.readTree(createResult.getResponse().getContentAsString()).get("id").asText();
+
+        mockMvc.perform(get("/api/v1/resources/{id}", resourceId)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/resources/{id}", resourceId)).andExpect(status().isOk());
+
+        // The first read misses both caches; the second is answered from the encoded bytes
+        mockMvc.perform(get("/actuator/metrics/cache.gets")
+                        .param("tag", "cache:resources")
+                        .param("tag", "result:miss"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value").value(greaterThanOrEqualTo(1.0)));
+        mockMvc.perform(get("/actuator/metrics/cache.gets")
+                        .param("tag", "cache:encoded-resources")
+                        .param("tag", "result:hit"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value").value(greaterThanOrEqualTo(1.0)));
+        mockMvc.perform(get("/actuator/metrics/cache.evictions").param("tag", "cache:resources"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getResource_GzipVariantForClientsThatAcceptIt() throws Exception {
+        CreateResourceRequest createRequest = CreateResourceRequest.builder()
+                .type(ResourceType.METERING_POINT)
+                .countryCode("EE")
+                .location(LocationDTO.builder()
+                        .streetAddress("Gzip Street")
+                        .city("Tallinn")
+                        .postalCode("10113")
+                        .countryCode("EE")
+                        .build())
+                .build();
+
+        MvcResult createResult = mockMvc.perform(post("/api/v1/resources")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        String resourceId = objectMapper.readTree(createResult.getResponse().getContentAsString()).get("id").asText();
+
+        mockMvc.perform(get("/api/v1/resources/{id}", resourceId))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(header().string("Vary", "Accept-Encoding"))
+                .andExpect(jsonPath("$.location.streetAddress").value("Gzip Street"));
+
+        MvcResult gzipped = mockMvc.perform(get("/api/v1/resources/{id}", resourceId)
+                        .header("Accept-Encoding", "br;q=1.0, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("ETag", "\"" + resourceId + "-0-gz\""))
+                .andReturn();
+        try (GZIPInputStream in = new GZIPInputStream(
+                new ByteArrayInputStream(gzipped.getResponse().getContentAsByteArray()))) {
+            assertThat(objectMapper.readTree(in).get("id").asText()).isEqualTo(resourceId);
+        }
+
+        mockMvc.perform(get("/api/v1/resources/{id}", resourceId).header("Accept-Encoding", "gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"));
+    }
+
+    @Test
+    void getResource_ConditionalRequestsUseVersionETag() throws Exception {
+        CreateResourceRequest createRequest = CreateResourceRequest.builder()
+                .type(ResourceType.METERING_POINT)
+                .countryCode("EE")
+                .location(LocationDTO.builder()
+                        .streetAddress("ETag Street")
+                        .city("Tallinn")
+                        .postalCode("10112")
+                        .countryCode("EE")
+                        .build())
+                .build();
+
+        MvcResult createResult = mockMvc.perform(post("/api/v1/resources")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        String resourceId = objectMapper.readTree(createResult.getResponse().getContentAsString()).get("id").asText();
+        String etag = "\"" + resourceId + "-0\"";
+
+        mockMvc.perform(get("/api/v1/resources/{id}", resourceId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag));
+
+        mockMvc.perform(get("/api/v1/resources/{id}", resourceId).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/api/v1/resources/{id}", resourceId)
+                        .header("If-None-Match", "\"" + resourceId + "-7\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(resourceId));
+
+        mockMvc.perform(head("/api/v1/resources/{id}", resourceId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag));
+
+        mockMvc.perform(head("/api/v1/resources/{id}", resourceId).header("If-None-Match", "W/" + etag))
+                .andExpect(status().isNotModified());
+
+        // Each coding has its own tag, so a cached identity body never validates a gzip response
+        String gzipETag = "\"" + resourceId + "-0-gz\"";
+        mockMvc.perform(get("/api/v1/resources/{id}", resourceId)
+                        .header("Accept-Encoding", "gzip")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", gzipETag));
+
+        mockMvc.perform(get("/api/v1/resources/{id}", resourceId)
+                        .header("Accept-Encoding", "gzip")
+                        .header("If-None-Match", gzipETag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", gzipETag));
+
+        mockMvc.perform(head("/api/v1/resources/{id}", resourceId).header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", gzipETag));
+
+        mockMvc.perform(head("/api/v1/resources/{id}", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void getResource_NotFound() throws Exception {
         UUID randomId = UUID.randomUUID();
@@ -155,6 +500,201 @@ class ResourceControllerIntegrationTest extends AbstractIntegrationTest {
                 .andExpect(jsonPath("$.content[0].type").value("METERING_POINT"));
     }
 
+    @Test
+    void getAllResources_StatementCountIndependentOfPageSize() throws Exception {
+        for (int i = 0; i < 12; i++) {
+            CreateResourceRequest request = CreateResourceRequest.builder()
+                    .type(ResourceType.METERING_POINT)
+                    .countryCode("EE")
+                    .location(LocationDTO.builder()
+                            .streetAddress("N+1 Test " + i)
+                            .city("Tallinn")
+                            .postalCode("12345")
+                            .countryCode("EE")
+                            .build())
+                    .characteristics(List.of(
+                            CharacteristicDTO.builder()
+                                    .code("C" + i)
+                                    .type(CharacteristicType.CONSUMPTION_TYPE)
+                                    .value("RESIDENTIAL")
+                                    .build(),
+                            CharacteristicDTO.builder()
+                                    .code("S" + i)
+                                    .type(CharacteristicType.CONNECTION_POINT_STATUS)
+                                    .value("ACTIVE")
+                                    .build()))
+                    .build();
+
+            mockMvc.perform(post("/api/v1/resources")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (String size : List.of("2", "10")) {
+            entityManager.clear();
+            statistics.clear();
+
+            mockMvc.perform(get("/api/v1/resources")
+                            .param("countryCode", "EE")
+                            .param("size", size))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(Integer.parseInt(size)))
+                    .andExpect(jsonPath("$.content[0].characteristics.length()").value(2))
+                    .andExpect(jsonPath("$.totalElements").value(12));
+
+            // page query + one characteristics IN query; the total is read from the counters over JDBC
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void getStats_CountsResourcesAndCharacteristics() throws Exception {
+        for (String status : List.of("ACTIVE", "ACTIVE", "INACTIVE")) {
+            CreateResourceRequest request = CreateResourceRequest.builder()
+                    .type(ResourceType.CONNECTION_POINT)
+                    .countryCode("FI")
+                    .location(LocationDTO.builder()
+                            .streetAddress("Stats Street")
+                            .city("Helsinki")
+                            .postalCode("00100")
+                            .countryCode("FI")
+                            .build())
+                    .characteristics(List.of(
+                            CharacteristicDTO.builder()
+                                    .code("ST1")
+                                    .type(CharacteristicType.CONNECTION_POINT_STATUS)
+                                    .value(status)
+                                    .build()))
+                    .build();
+            mockMvc.perform(post("/api/v1/resources")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+        }
+        // Stats read through JDBC, which does not trigger a Hibernate auto-flush
+        entityManager.flush();
+
+        mockMvc.perform(get("/api/v1/resources/stats")
+                        .param("countryCode", "FI"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.resources[0].type").value("CONNECTION_POINT"))
+                .andExpect(jsonPath("$.resources[0].count").value(3))
+                .andExpect(jsonPath("$.characteristics.length()").value(2))
+                .andExpect(jsonPath("$.characteristics[0].value").value("ACTIVE"))
+                .andExpect(jsonPath("$.characteristics[0].count").value(2));
+    }
+
+    @Test
+    void getResourcesByCursor_FollowsNextCursor() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            CreateResourceRequest request = CreateResourceRequest.builder()
+                    .type(ResourceType.METERING_POINT)
+                    .countryCode("EE")
+                    .location(LocationDTO.builder()
+                            .streetAddress("Cursor Test " + i)
+                            .city("Tallinn")
+                            .postalCode("1111" + i)
+                            .countryCode("EE")
+                            .build())
+                    .build();
+
+            mockMvc.perform(post("/api/v1/resources")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+        }
+
+        MvcResult firstPage = mockMvc.perform(get("/api/v1/resources/cursor")
+                        .param("countryCode", "EE")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andReturn();
+
+        String nextCursor = objectMapper.readTree(firstPage.getResponse().getContentAsString())
+                .get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/v1/resources/cursor")
+                        .param("countryCode", "EE")
+                        .param("size", "2")
+                        .param("cursor", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    void getResourcesByCursor_InvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/v1/resources/cursor")
+                        .param("cursor", "garbage"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_CURSOR"));
+    }
+
+    @Test
+    void searchByLocation_FuzzyStreetWithinCity() throws Exception {
+        for (String[] location : List.of(
+                new String[]{"Narva mnt 5", "Tallinn", "10117"},
+                new String[]{"Narva mnt 9", "Tallinn", "10117"},
+                new String[]{"Narva mnt 7", "Tartu", "51009"})) {
+            CreateResourceRequest request = CreateResourceRequest.builder()
+                    .type(ResourceType.METERING_POINT)
+                    .countryCode("EE")
+                    .location(LocationDTO.builder()
+                            .streetAddress(location[0])
+                            .city(location[1])
+                            .postalCode(location[2])
+                            .countryCode("EE")
+                            .build())
+                    .build();
+            mockMvc.perform(post("/api/v1/resources")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+        }
+        // Search reads through JDBC, which does not trigger a Hibernate auto-flush
+        entityManager.flush();
+
+        MvcResult firstPage = mockMvc.perform(get("/api/v1/resources/location-search")
+                        .param("street", "narwa mnt")
+                        .param("city", "tallinn")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].location.city").value("Tallinn"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn();
+
+        String nextCursor = objectMapper.readTree(firstPage.getResponse().getContentAsString())
+                .get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/v1/resources/location-search")
+                        .param("street", "narwa mnt")
+                        .param("city", "tallinn")
+                        .param("size", "1")
+                        .param("cursor", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].location.city").value("Tallinn"))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    void searchByLocation_RequiresLocationCriteria() throws Exception {
+        mockMvc.perform(get("/api/v1/resources/location-search")
+                        .param("countryCode", "EE"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_SEARCH"));
+    }
+
     @Test
     void updateResource_Success() throws Exception {
         CreateResourceRequest createRequest = CreateResourceRequest.builder()
@@ -202,6 +742,66 @@ class ResourceControllerIntegrationTest extends AbstractIntegrationTest {
                 .andExpect(jsonPath("$.characteristics[0].code").value("UPD01"));
     }
 
+    @Test
+    void updateResource_WritesOnlyChangedCharacteristicRows() throws Exception {
+        String resourceId = createResourceWithCharacteristics();
+        entityManager.flush();
+        entityManager.clear();
+
+        UpdateResourceRequest updateRequest = UpdateResourceRequest.builder()
+                .characteristics(List.of(
+                        CharacteristicDTO.builder().code("C1").type(CharacteristicType.CONSUMPTION_TYPE)
+                                .value("RESIDENTIAL").build(),
+                        CharacteristicDTO.builder().code("P1").type(CharacteristicType.CHARGING_POINT)
+                                .value("AC").build(),
+                        CharacteristicDTO.builder().code("S1").type(CharacteristicType.CONNECTION_POINT_STATUS)
+                                .value("INACTIVE").build()))
+                .build();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(put("/api/v1/resources/{id}", resourceId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.characteristics.length()").value(3));
+
+        assertThat(statistics.getEntityInsertCount()).isZero();
+        assertThat(statistics.getEntityDeleteCount()).isZero();
+        // The changed characteristic plus the resource version bump
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(2);
+    }
+
+    @Test
+    void patchResource_MergePatchChangesSingleCharacteristics() throws Exception {
+        String resourceId = createResourceWithCharacteristics();
+
+        mockMvc.perform(patch("/api/v1/resources/{id}", resourceId)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"location\": {\"city\": \"Tartu\"}, \"characteristics\": {" +
+                                "\"CONNECTION_POINT_STATUS\": {\"S1\": \"INACTIVE\"}, " +
+                                "\"CHARGING_POINT\": {\"P1\": null}}}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.location.city").value("Tartu"))
+                .andExpect(jsonPath("$.location.streetAddress").value("Patch Street"))
+                .andExpect(jsonPath("$.characteristics.length()").value(2))
+                .andExpect(jsonPath("$.characteristics[?(@.code == 'S1')].value").value("INACTIVE"))
+                .andExpect(jsonPath("$.characteristics[?(@.code == 'C1')].value").value("RESIDENTIAL"));
+
+        mockMvc.perform(patch("/api/v1/resources/{id}", resourceId)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"type\": \"CONNECTION_POINT\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_PATCH"));
+
+        mockMvc.perform(patch("/api/v1/resources/{id}", resourceId)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"characteristics\": {\"CONSUMPTION_TYPE\": {\"C1\": \"\"}}}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("CONSTRAINT_VIOLATION"));
+    }
+
     @Test
     void deleteResource_Success() throws Exception {
         CreateResourceRequest createRequest = CreateResourceRequest.builder()
@@ -304,8 +904,10 @@ class ResourceControllerIntegrationTest extends AbstractIntegrationTest {
 
         mockMvc.perform(post("/api/v1/resources/export-all"))
                 .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
                 .andExpect(jsonPath("$.message").value("Export initiated successfully"))
-                .andExpect(jsonPath("$.totalResources").isNumber())
+                .andExpect(jsonPath("$.status").value("PENDING"))
+                .andExpect(jsonPath("$.statusUrl").isNotEmpty())
                 .andExpect(jsonPath("$.jobId").isNotEmpty());
     }
 
@@ -347,4 +949,94 @@ class ResourceControllerIntegrationTest extends AbstractIntegrationTest {
                 .andExpect(status().isConflict())
                 .andExpect(jsonPath("$.code").value("CONCURRENT_UPDATE"));
     }
+
+    @Test
+    void updateResource_IfMatchAcceptsETagFromGet() throws Exception {
+        CreateResourceRequest createRequest = CreateResourceRequest.builder()
+                .type(ResourceType.METERING_POINT)
+                .countryCode("EE")
+                .location(LocationDTO.builder()
+                        .streetAddress("If-Match Street")
+                        .city("Tallinn")
+                        .postalCode("55556")
+                        .countryCode("EE")
+                        .build())
+                .build();
+
+        MvcResult createResult = mockMvc.perform(post("/api/v1/resources")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        String resourceId = objectMapper.readTree(createResult.getResponse().getContentAsString()).get("id").asText();
+
+        // The tag of the gzip body names the same version
+        String etag = mockMvc.perform(get("/api/v1/resources/{id}", resourceId).header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        UpdateResourceRequest updateRequest = UpdateResourceRequest.builder()
+                .location(LocationDTO.builder()
+                        .streetAddress("If-Match Update")
+                        .city("Tallinn")
+                        .postalCode("55556")
+                        .countryCode("EE")
+                        .build())
+                .build();
+
+        mockMvc.perform(put("/api/v1/resources/{id}", resourceId)
+                        .header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1))
+                .andExpect(jsonPath("$.location.streetAddress").value("If-Match Update"));
+
+        // The ETag read before the update is now stale
+        mockMvc.perform(put("/api/v1/resources/{id}", resourceId)
+                        .header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code").value("CONCURRENT_UPDATE"));
+
+        mockMvc.perform(put("/api/v1/resources/{id}", resourceId)
+                        .header("If-Match", "\"" + UUID.randomUUID() + "-1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(put("/api/v1/resources/{id}", resourceId)
+                        .header("If-Match", "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isOk());
+    }
+
+    private String createResourceWithCharacteristics() throws Exception {
+        CreateResourceRequest createRequest = CreateResourceRequest.builder()
+                .type(ResourceType.CONNECTION_POINT)
+                .countryCode("EE")
+                .location(LocationDTO.builder()
+                        .streetAddress("Patch Street")
+                        .city("Tallinn")
+                        .postalCode("10113")
+                        .countryCode("EE")
+                        .build())
+                .characteristics(List.of(
+                        CharacteristicDTO.builder().code("C1").type(CharacteristicType.CONSUMPTION_TYPE)
+                                .value("RESIDENTIAL").build(),
+                        CharacteristicDTO.builder().code("P1").type(CharacteristicType.CHARGING_POINT)
+                                .value("AC").build(),
+                        CharacteristicDTO.builder().code("S1").type(CharacteristicType.CONNECTION_POINT_STATUS)
+                                .value("ACTIVE").build()))
+                .build();
+
+        MvcResult createResult = mockMvc.perform(post("/api/v1/resources")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readTree(createResult.getResponse().getContentAsString()).get("id").asText();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.energia.resourcemanagement.integration.kafka;
+
+import com.energia.resourcemanagement.domain.enums.ResourceType;
+import com.energia.resourcemanagement.dto.common.LocationDTO;
+import com.energia.resourcemanagement.dto.request.CreateResourceRequest;
+import com.energia.resourcemanagement.dto.request.UpdateResourceRequest;
+import com.energia.resourcemanagement.dto.response.ResourceResponse;
+import com.energia.resourcemanagement.integration.AbstractIntegrationTest;
+import com.energia.resourcemanagement.kafka.producer.ResourceEventProducer;
+import com.energia.resourcemanagement.repository.OutboxEventRepository;
+import com.energia.resourcemanagement.service.ResourceService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class OutboxRelayIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private ResourceService resourceService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+
+    @Value("${kafka.topic.resource-events}")
+    private String resourceEventsTopic;
+
+    @Test
+    void resourceChanges_AreRelayedInCommitOrder() throws Exception {
+        ResourceResponse created = resourceService.createResource(CreateResourceRequest.builder()
+                .type(ResourceType.CONNECTION_POINT)
+                .countryCode("EE")
+                .location(location("Outbox Street 1"))
+                .build());
+        UUID id = created.getId();
+        resourceService.updateResource(id, UpdateResourceRequest.builder()
+                .location(location("Outbox Street 2"))
+                .build(), null);
+        resourceService.deleteResource(id);
+
+        await().atMost(Duration.ofSeconds(30)).until(() -> outboxEventRepository.count() == 0);
+
+        Map<String, Object> props = KafkaTestUtils.consumerProps(bootstrapServers, "outbox-it-" + id, "false");
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+
+        List<String> eventTypes = new ArrayList<>();
+        List<String> eventTypeHeaders = new ArrayList<>();
+        try (KafkaConsumer<String, String> consumer = new KafkaConsumer<>(props)) {
+            consumer.subscribe(List.of(resourceEventsTopic));
+            await().atMost(Duration.ofSeconds(30)).untilAsserted(() -> {
+                for (ConsumerRecord<String, String> record : consumer.poll(Duration.ofMillis(200))) {
+                    if (id.toString().equals(record.key())) {
+                        eventTypes.add(objectMapper.readTree(record.value()).get("eventType").asText());
+                        eventTypeHeaders.add(new String(record.headers()
+                                .lastHeader(ResourceEventProducer.EVENT_TYPE_HEADER).value(), StandardCharsets.UTF_8));
+                    }
+                }
+                assertThat(eventTypes).hasSize(3);
+            });
+        }
+
+        assertThat(eventTypes).containsExactly("RESOURCE_CREATED", "RESOURCE_UPDATED", "RESOURCE_DELETED");
+        assertThat(eventTypeHeaders).isEqualTo(eventTypes);
+    }
+
+    private LocationDTO location(String streetAddress) {
+        return LocationDTO.builder()
+                .streetAddress(streetAddress)
+                .city("Tallinn")
+                .postalCode("10115")
+                .countryCode("EE")
+                .build();
+    }
+}
@@ -0,0 +1,149 @@
+package com.energia.resourcemanagement.integration.repository;
+
+import com.energia.resourcemanagement.domain.entity.Characteristic;
+import com.energia.resourcemanagement.domain.entity.Location;
+import com.energia.resourcemanagement.domain.entity.Resource;
+import com.energia.resourcemanagement.domain.enums.CharacteristicType;
+import com.energia.resourcemanagement.domain.enums.ResourceType;
+import com.energia.resourcemanagement.repository.ResourceCounterRepository;
+import com.energia.resourcemanagement.repository.ResourceCounterRepository.Count;
+import com.energia.resourcemanagement.repository.ResourceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ResourceCounterRepository.class)
+class ResourceCounterRepositoryTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.flyway.locations", () -> "classpath:db/migration");
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    @Autowired
+    private ResourceCounterRepository resourceCounterRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Resource first;
+    private Resource second;
+
+    @BeforeEach
+    void setUp() {
+        resourceRepository.deleteAll();
+        entityManager.flush();
+
+        first = save(ResourceType.CONNECTION_POINT, "EE", "CCS");
+        second = save(ResourceType.CONNECTION_POINT, "EE", "CCS");
+        save(ResourceType.METERING_POINT, "FI", "TYPE2");
+        entityManager.flush();
+    }
+
+    @Test
+    void countResources_FollowsInsertsPerFilter() {
+        assertThat(resourceCounterRepository.countResources(null, null)).isEqualTo(3);
+        assertThat(resourceCounterRepository.countResources("EE", null)).isEqualTo(2);
+        assertThat(resourceCounterRepository.countResources(null, ResourceType.METERING_POINT)).isEqualTo(1);
+        assertThat(resourceCounterRepository.countResources("FI", ResourceType.CONNECTION_POINT)).isZero();
+    }
+
+    @Test
+    void findCounts_FollowsCharacteristicUpdatesAndDeletes() {
+        first.getCharacteristics().get(0).setValue("TYPE2");
+        entityManager.flush();
+        resourceRepository.delete(second);
+        entityManager.flush();
+
+        assertThat(resourceCounterRepository.findCounts("EE", null)).containsExactly(
+                new Count("EE", ResourceType.CONNECTION_POINT, null, null, 1),
+                new Count("EE", ResourceType.CONNECTION_POINT, CharacteristicType.CHARGING_POINT, "TYPE2", 1));
+    }
+
+    @Test
+    void countResources_CascadedDeleteCountsCharacteristicsOnce() {
+        entityManager.clear();
+        jdbcTemplate.update("DELETE FROM resources WHERE id = ?", first.getId());
+
+        assertThat(resourceCounterRepository.countResources("EE", ResourceType.CONNECTION_POINT)).isEqualTo(1);
+        assertThat(resourceCounterRepository.findCounts("EE", null)).contains(
+                new Count("EE", ResourceType.CONNECTION_POINT, CharacteristicType.CHARGING_POINT, "CCS", 1));
+    }
+
+    @Test
+    void compact_FoldsDeltasWithoutChangingCounts() {
+        int folded = resourceCounterRepository.compact();
+
+        assertThat(folded).isPositive();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM resource_counter_deltas", Long.class)).isZero();
+        assertThat(resourceCounterRepository.countResources(null, null)).isEqualTo(3);
+        assertThat(resourceCounterRepository.findCounts("EE", ResourceType.CONNECTION_POINT)).contains(
+                new Count("EE", ResourceType.CONNECTION_POINT, CharacteristicType.CHARGING_POINT, "CCS", 2));
+    }
+
+    @Test
+    void reconcile_CorrectsDriftOnce() {
+        resourceCounterRepository.compact();
+        jdbcTemplate.update("UPDATE resource_counters SET total = total + 5 " +
+                "WHERE country_code = 'EE' AND type = 'CONNECTION_POINT' AND characteristic_type = ''");
+        jdbcTemplate.update("DELETE FROM resource_counters WHERE country_code = 'FI'");
+
+        assertThat(resourceCounterRepository.countResources("EE", null)).isEqualTo(7);
+        assertThat(resourceCounterRepository.reconcile()).isEqualTo(3);
+        assertThat(resourceCounterRepository.reconcile()).isZero();
+        assertThat(resourceCounterRepository.countResources("EE", null)).isEqualTo(2);
+        assertThat(resourceCounterRepository.countResources("FI", null)).isEqualTo(1);
+    }
+
+    private Resource save(ResourceType type, String countryCode, String chargingPoint) {
+        Resource resource = Resource.builder()
+                .type(type)
+                .countryCode(countryCode)
+                .location(Location.builder()
+                        .streetAddress("Counter Street")
+                        .city("Tallinn")
+                        .postalCode("10111")
+                        .countryCode(countryCode)
+                        .build())
+                .build();
+        resource.addCharacteristic(Characteristic.builder()
+                .code("CP1")
+                .type(CharacteristicType.CHARGING_POINT)
+                .value(chargingPoint)
+                .build());
+        return resourceRepository.save(resource);
+    }
+}
@@ -5,13 +5,19 @@ import com.energia.resourcemanagement.domain.entity.Location;
 import com.energia.resourcemanagement.domain.entity.Resource;
 import com.energia.resourcemanagement.domain.enums.CharacteristicType;
 import com.energia.resourcemanagement.domain.enums.ResourceType;
+import com.energia.resourcemanagement.dto.projection.CharacteristicRow;
+import com.energia.resourcemanagement.dto.projection.ResourceRow;
+import com.energia.resourcemanagement.repository.CharacteristicRepository;
 import com.energia.resourcemanagement.repository.ResourceRepository;
+import com.energia.resourcemanagement.service.ExportRange;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.DynamicPropertyRegistry;
@@ -20,10 +26,14 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 
 @DataJpaTest
 @Testcontainers
@@ -53,6 +63,9 @@ class ResourceRepositoryTest {
     @Autowired
     private ResourceRepository resourceRepository;
 
+    @Autowired
+    private CharacteristicRepository characteristicRepository;
+
     private Resource testResource;
 
     @BeforeEach
@@ -178,6 +191,54 @@ class ResourceRepositoryTest {
         assertThat(page.getTotalPages()).isEqualTo(2);
     }
 
+    @Test
+    void findByCountryCodeAfterCursor_WalksAllPagesWithoutGaps() {
+        for (int i = 0; i < 5; i++) {
+            resourceRepository.save(Resource.builder()
+                    .type(ResourceType.METERING_POINT)
+                    .countryCode("EE")
+                    .location(Location.builder()
+                            .streetAddress("Keyset " + i)
+                            .city("Tallinn")
+                            .postalCode("1000" + i)
+                            .countryCode("EE")
+                            .build())
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ResourceRow> firstPage = resourceRepository.findByCountryCodeOrderByCreatedAtDescIdDesc("EE", Limit.of(2));
+        assertThat(firstPage).hasSize(2);
+
+        ResourceRow last = firstPage.get(1);
+        List<ResourceRow> secondPage = resourceRepository.findByCountryCodeAfterCursor(
+                "EE", last.getCreatedAt(), last.getId(), Limit.of(10));
+
+        assertThat(secondPage).hasSize(3);
+        assertThat(secondPage).doesNotContainAnyElementsOf(firstPage);
+        assertThat(secondPage.get(0).getCreatedAt()).isBeforeOrEqualTo(last.getCreatedAt());
+    }
+
+    @Test
+    void findRowById_ProjectsWithoutManagingEntities() {
+        Resource saved = resourceRepository.save(testResource);
+        entityManager.flush();
+        entityManager.clear();
+
+        Optional<ResourceRow> row = resourceRepository.findRowById(saved.getId());
+
+        assertThat(row).isPresent();
+        assertThat(row.get().getCity()).isEqualTo(saved.getLocation().getCity());
+        assertThat(row.get().getLocationCountryCode()).isEqualTo(saved.getLocation().getCountryCode());
+        assertThat(row.get().getVersion()).isEqualTo(saved.getVersion());
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+
+        List<CharacteristicRow> characteristics = characteristicRepository.findRowsByResourceIdIn(List.of(saved.getId()));
+        assertThat(characteristics).hasSize(saved.getCharacteristics().size());
+        assertThat(characteristics).allMatch(c -> c.getResourceId().equals(saved.getId()));
+    }
+
     @Test
     void updateResource_VersionIncremented() {
         Resource saved = resourceRepository.save(testResource);
@@ -204,52 +265,123 @@ class ResourceRepositoryTest {
     }
 
     @Test
-    void findAllWithCharacteristics_Success() {
-        Resource resource1 = Resource.builder()
-                .type(ResourceType.METERING_POINT)
+    void streamAll_WithCharacteristicsLoadedByResourceIds() {
+        Resource saved = resourceRepository.save(testResource);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Resource> streamed;
+        try (Stream<Resource> stream = resourceRepository.streamAll()) {
+            streamed = stream.toList();
+        }
+
+        assertThat(streamed).extracting(Resource::getId).containsExactly(saved.getId());
+
+        List<CharacteristicRow> characteristics = characteristicRepository.findRowsByResourceIdIn(List.of(saved.getId()));
+        assertThat(characteristics).hasSize(1);
+        assertThat(characteristics.get(0).getCode()).isEqualTo("TEST1");
+        assertThat(characteristics.get(0).getResourceId()).isEqualTo(saved.getId());
+    }
+
+    @Test
+    void streamRowsByCountryCodeAndType_ReturnsMatchingRows() {
+        Resource saved = resourceRepository.save(testResource);
+        resourceRepository.save(Resource.builder()
+                .type(ResourceType.CONNECTION_POINT)
                 .countryCode("EE")
                 .location(Location.builder()
-                        .streetAddress("Street 1")
+                        .streetAddress("Other Street")
                         .city("Tallinn")
-                        .postalCode("11111")
+                        .postalCode("12345")
                         .countryCode("EE")
                         .build())
-                .build();
+                .build());
+        entityManager.flush();
+        entityManager.clear();
 
-        Characteristic char1 = Characteristic.builder()
-                .code("ALL1")
-                .type(CharacteristicType.CONSUMPTION_TYPE)
-                .value("RESIDENTIAL")
-                .build();
-        resource1.addCharacteristic(char1);
+        List<ResourceRow> streamed;
+        try (Stream<ResourceRow> stream = resourceRepository.streamRowsByCountryCodeAndType("EE", ResourceType.METERING_POINT)) {
+            streamed = stream.toList();
+        }
 
-        Resource resource2 = Resource.builder()
-                .type(ResourceType.CONNECTION_POINT)
-                .countryCode("FI")
-                .location(Location.builder()
-                        .streetAddress("Street 2")
-                        .city("Helsinki")
-                        .postalCode("22222")
-                        .countryCode("FI")
-                        .build())
-                .build();
+        assertThat(streamed).singleElement().satisfies(row -> {
+            assertThat(row.getId()).isEqualTo(saved.getId());
+            assertThat(row.getStreetAddress()).isEqualTo("Test Street");
+        });
+        try (Stream<ResourceRow> stream = resourceRepository.streamRows()) {
+            assertThat(stream.count()).isEqualTo(2);
+        }
+    }
 
-        resourceRepository.save(resource1);
-        resourceRepository.save(resource2);
+    @Test
+    void streamRange_RangesPartitionAllResources() {
+        List<UUID> savedIds = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            savedIds.add(resourceRepository.save(Resource.builder()
+                    .type(ResourceType.METERING_POINT)
+                    .countryCode("EE")
+                    .location(Location.builder()
+                            .streetAddress("Range Street " + i)
+                            .city("Tallinn")
+                            .postalCode("12345")
+                            .countryCode("EE")
+                            .build())
+                    .build()).getId());
+        }
         entityManager.flush();
+        entityManager.clear();
 
-        List<Resource> allResources = resourceRepository.findAllWithCharacteristics();
+        UUID lowest = resourceRepository.findLowestId().orElseThrow();
+        UUID highest = resourceRepository.findHighestId().orElseThrow();
+        List<UUID> streamed = new ArrayList<>();
+        for (ExportRange range : ExportRange.split(4, lowest, highest)) {
+            try (Stream<Resource> stream = range.to() != null
+                    ? resourceRepository.streamRange(range.from(), range.to())
+                    : resourceRepository.streamFrom(range.from())) {
+                stream.forEach(resource -> streamed.add(resource.getId()));
+            }
+        }
+
+        // Every row is read exactly once across the ranges
+        assertThat(streamed).containsExactlyInAnyOrderElementsOf(savedIds);
+    }
 
-        assertThat(allResources).hasSize(2);
+    @Test
+    void saveResource_AssignsTimeOrderedIds() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Resource resource = resourceRepository.save(Resource.builder()
+                    .type(ResourceType.METERING_POINT)
+                    .countryCode("EE")
+                    .location(Location.builder()
+                            .streetAddress("Ordered Street " + i)
+                            .city("Tallinn")
+                            .postalCode("12345")
+                            .countryCode("EE")
+                            .build())
+                    .build());
+            ids.add(resource.getId());
+        }
+        entityManager.flush();
 
-        Resource foundResource1 = allResources.stream()
-                .filter(r -> r.getCountryCode().equals("EE"))
-                .findFirst().orElseThrow();
-        assertThat(foundResource1.getCharacteristics()).hasSize(1);
+        assertThat(ids).allSatisfy(id -> assertThat(id.version()).isEqualTo(7));
+        assertThat(resourceRepository.findLowestId()).contains(ids.get(0));
+        assertThat(resourceRepository.findHighestId()).contains(ids.get(4));
+    }
 
-        Resource foundResource2 = allResources.stream()
-                .filter(r -> r.getCountryCode().equals("FI"))
-                .findFirst().orElseThrow();
-        assertThat(foundResource2.getCharacteristics()).isEmpty();
+    @Test
+    void uuidGenerateV7_DefaultsAreTimeOrdered() {
+        UUID first = (UUID) entityManager.getEntityManager()
+                .createNativeQuery("SELECT uuid_generate_v7()").getSingleResult();
+        UUID second = (UUID) entityManager.getEntityManager()
+                .createNativeQuery("SELECT uuid_generate_v7()").getSingleResult();
+
+        assertThat(first.version()).isEqualTo(7);
+        assertThat(first.variant()).isEqualTo(2);
+        // The leading 48 bits are the creation time in epoch milliseconds
+        assertThat(first.getMostSignificantBits() >>> 16)
+                .isCloseTo(System.currentTimeMillis(), within(60_000L));
+        assertThat(Long.compareUnsigned(first.getMostSignificantBits() >>> 16,
+                second.getMostSignificantBits() >>> 16)).isLessThanOrEqualTo(0);
     }
-}
\ No newline at end of file
+}
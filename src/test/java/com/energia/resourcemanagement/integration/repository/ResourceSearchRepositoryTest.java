@@ -0,0 +1,348 @@
+package com.energia.resourcemanagement.integration.repository;
+
+import com.energia.resourcemanagement.domain.entity.Characteristic;
+import com.energia.resourcemanagement.domain.entity.Location;
+import com.energia.resourcemanagement.domain.entity.Resource;
+import com.energia.resourcemanagement.domain.enums.CharacteristicType;
+import com.energia.resourcemanagement.domain.enums.ResourceType;
+import com.energia.resourcemanagement.dto.common.LocationCursor;
+import com.energia.resourcemanagement.dto.projection.ResourceRow;
+import com.energia.resourcemanagement.dto.request.LocationSearchRequest;
+import com.energia.resourcemanagement.dto.request.ResourceSearchRequest;
+import com.energia.resourcemanagement.dto.request.ResourceSearchRequest.CharacteristicPredicate;
+import com.energia.resourcemanagement.exception.InvalidSearchException;
+import com.energia.resourcemanagement.repository.ResourceRepository;
+import com.energia.resourcemanagement.repository.ResourceSearchRepository;
+import com.energia.resourcemanagement.repository.ResourceSearchRepository.LocationMatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ResourceSearchRepository.class)
+class ResourceSearchRepositoryTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.flyway.locations", () -> "classpath:db/migration");
+    }
+
+    private static final String SEARCH_INDEX = "idx_characteristics_type_value_resource";
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    @Autowired
+    private ResourceSearchRepository resourceSearchRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Resource activeCcs;
+    private Resource inactiveCcs;
+
+    @BeforeEach
+    void setUp() {
+        resourceRepository.deleteAll();
+        entityManager.flush();
+
+        activeCcs = save(ResourceType.CONNECTION_POINT, "FI", "CCS", "ACTIVE");
+        inactiveCcs = save(ResourceType.CONNECTION_POINT, "FI", "CCS", "INACTIVE");
+        save(ResourceType.CONNECTION_POINT, "EE", "CCS", "ACTIVE");
+        save(ResourceType.CONNECTION_POINT, "FI", "TYPE2", "ACTIVE");
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void search_AndRequiresEveryPredicate() {
+        Page<ResourceRow> result = resourceSearchRepository.search(
+                criteria(ResourceSearchRequest.Operator.AND), PageRequest.of(0, 20));
+
+        assertThat(result.getContent()).extracting(ResourceRow::getId).containsExactly(activeCcs.getId());
+        assertThat(result.getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    void search_OrMatchesAnyPredicate() {
+        Page<ResourceRow> result = resourceSearchRepository.search(
+                criteria(ResourceSearchRequest.Operator.OR), PageRequest.of(0, 20));
+
+        // The TYPE2 resource matches on status alone
+        assertThat(result.getTotalElements()).isEqualTo(3);
+        assertThat(result.getContent()).extracting(ResourceRow::getId)
+                .contains(activeCcs.getId(), inactiveCcs.getId());
+    }
+
+    @Test
+    void search_CountsTotalBeyondFirstPage() {
+        ResourceSearchRequest criteria = ResourceSearchRequest.builder()
+                .characteristics(List.of(predicate(CharacteristicType.CHARGING_POINT, null, "CCS")))
+                .build();
+
+        Page<ResourceRow> result = resourceSearchRepository.search(criteria, PageRequest.of(0, 2));
+
+        assertThat(result.getContent()).hasSize(2);
+        assertThat(result.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    void search_AppliesRequestedSort() {
+        Page<ResourceRow> result = resourceSearchRepository.search(ResourceSearchRequest.builder().build(),
+                PageRequest.of(0, 20, Sort.by(Sort.Order.asc("countryCode"), Sort.Order.desc("createdAt"))));
+
+        assertThat(result.getContent()).extracting(ResourceRow::getCountryCode).isSorted();
+    }
+
+    @Test
+    void search_UnknownSortProperty_IsRejected() {
+        assertThatThrownBy(() -> resourceSearchRepository.search(ResourceSearchRequest.builder().build(),
+                PageRequest.of(0, 20, Sort.by("location.city"))))
+                .isInstanceOf(InvalidSearchException.class)
+                .hasMessageContaining("location.city");
+    }
+
+    @Test
+    void explain_EveryPredicateUsesTheSearchIndex() {
+        // Tiny test tables would otherwise always be scanned sequentially
+        jdbcTemplate.execute("ANALYZE characteristics");
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+
+        for (ResourceSearchRequest.Operator operator : ResourceSearchRequest.Operator.values()) {
+            String plan = String.join("\n", resourceSearchRepository.explain(criteria(operator), PageRequest.of(0, 20)));
+
+            assertThat(plan).contains("Index Only Scan using " + SEARCH_INDEX);
+            assertThat(plan.split("Index Only Scan using " + SEARCH_INDEX, -1)).hasSize(3);
+            assertThat(plan).doesNotContain("Seq Scan on characteristics");
+        }
+    }
+
+    @Test
+    void searchByLocation_StreetMatchesFuzzilyWithinCity() {
+        Resource narva5 = saveAt("Narva mnt 5", "Tallinn", "10117");
+        saveAt("Narva mnt 7", "Tartu", "51009");
+        entityManager.flush();
+
+        for (String street : List.of("Narva mnt", "narwa mnt")) {
+            List<LocationMatch> result = resourceSearchRepository.searchByLocation(
+                    LocationSearchRequest.builder().street(street).city("TALLINN").build(), null, 20);
+
+            assertThat(result).extracting(match -> match.row().getId()).containsExactly(narva5.getId());
+            assertThat(result.get(0).distance()).isLessThan(1f);
+        }
+    }
+
+    @Test
+    void searchByLocation_StreetResultsComeClosestFirst() {
+        Resource exact = saveAt("Narva mnt 5", "Tallinn", "10117");
+        Resource partial = saveAt("Narva mnt tee 12", "Tallinn", "10120");
+        entityManager.flush();
+
+        List<LocationMatch> result = resourceSearchRepository.searchByLocation(
+                LocationSearchRequest.builder().street("Narva mnt 5").build(), null, 20);
+
+        assertThat(result).extracting(match -> match.row().getId()).containsExactly(exact.getId(), partial.getId());
+        assertThat(result.get(0).distance()).isLessThan(result.get(1).distance());
+    }
+
+    @Test
+    void searchByLocation_PostalCodeMatchesByPrefix() {
+        Resource kallio = saveAt("Helsinginkatu 1", "Helsinki", "00180");
+        saveAt("Narva mnt 5", "Tallinn", "10117");
+        entityManager.flush();
+
+        List<LocationMatch> broad = resourceSearchRepository.searchByLocation(
+                LocationSearchRequest.builder().postalCodePrefix("001").build(), null, 20);
+        List<LocationMatch> narrow = resourceSearchRepository.searchByLocation(
+                LocationSearchRequest.builder().postalCodePrefix("0018").build(), null, 20);
+
+        assertThat(broad).hasSize(5);
+        assertThat(broad).extracting(match -> match.row().getPostalCode()).allMatch(code -> code.startsWith("001"));
+        assertThat(narrow).extracting(match -> match.row().getId()).containsExactly(kallio.getId());
+    }
+
+    @Test
+    void searchByLocation_KeysetPagesCoverEveryMatchOnce() {
+        for (int i = 1; i <= 5; i++) {
+            saveAt("Mannerheimintie " + i, "Helsinki", "00100");
+        }
+        entityManager.flush();
+
+        LocationSearchRequest byStreet = LocationSearchRequest.builder().street("Mannerheimintie").build();
+        LocationSearchRequest byCity = LocationSearchRequest.builder().city("helsinki").build();
+
+        assertThat(pageThrough(byStreet, true)).hasSize(5).doesNotHaveDuplicates();
+        assertThat(pageThrough(byCity, false)).hasSize(9).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void searchByLocation_KeysetPagesAcrossTiesInDistance() {
+        for (int i = 0; i < 5; i++) {
+            saveAt("Tammsaare tee " + i, "Tallinn", "10616");
+        }
+        entityManager.flush();
+
+        // The misspelling makes the shared distance a fraction instead of an exact 0
+        LocationSearchRequest byStreet = LocationSearchRequest.builder().street("Tamsaare tee").build();
+        List<LocationMatch> all = resourceSearchRepository.searchByLocation(byStreet, null, 20);
+        assertThat(all).hasSize(5).extracting(LocationMatch::distance).containsOnly(all.get(0).distance());
+        assertThat(all.get(0).distance()).isPositive();
+
+        // Pages of two split the tied rows; every cursor goes through its encoded form as it does over the API
+        assertThat(pageThrough(byStreet, true))
+                .containsExactlyElementsOf(all.stream().map(match -> match.row().getId()).toList());
+    }
+
+    @Test
+    void explainLocationSearch_EveryCriterionUsesItsIndex() {
+        jdbcTemplate.execute("ANALYZE resources");
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        jdbcTemplate.execute("SET LOCAL enable_indexscan = off");
+
+        assertThat(explainLocation(LocationSearchRequest.builder().street("Search Street").build()))
+                .contains("idx_resources_street_address_trgm");
+        assertThat(explainLocation(LocationSearchRequest.builder().city("Helsinki").build()))
+                .contains("idx_resources_city_lower");
+        assertThat(explainLocation(LocationSearchRequest.builder().postalCodePrefix("001").build()))
+                .contains("idx_resources_postal_code");
+    }
+
+    @Test
+    void explainLocationSearch_StreetMatchesAreReadNearestFirstFromTheIndex() {
+        jdbcTemplate.execute("ANALYZE resources");
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        jdbcTemplate.execute("SET LOCAL enable_bitmapscan = off");
+
+        // The id tie-breaker is an incremental sort over rows the index already returns in distance order
+        String plan = explainLocation(LocationSearchRequest.builder().street("Search Street").build());
+        assertThat(plan).contains("Index Scan using idx_resources_street_address_trgm")
+                .doesNotContainPattern("(?m)^\\s*(->\\s+)?Sort\\b");
+    }
+
+    @Test
+    void explainLocationSearch_CityPageIsReadInIndexOrder() {
+        jdbcTemplate.execute("ANALYZE resources");
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        jdbcTemplate.execute("SET LOCAL enable_bitmapscan = off");
+
+        String plan = explainLocation(LocationSearchRequest.builder().city("Helsinki").build());
+        assertThat(plan).contains("idx_resources_city_lower").doesNotContain("Sort");
+    }
+
+    private List<UUID> pageThrough(LocationSearchRequest criteria, boolean ranked) {
+        List<UUID> seen = new ArrayList<>();
+        LocationCursor after = null;
+        List<LocationMatch> page;
+        do {
+            page = resourceSearchRepository.searchByLocation(criteria, after, 2);
+            for (LocationMatch match : page) {
+                seen.add(match.row().getId());
+            }
+            if (!page.isEmpty()) {
+                LocationMatch last = page.get(page.size() - 1);
+                LocationCursor cursor = ranked
+                        ? LocationCursor.ranked(last.distance(), last.row().getId())
+                        : LocationCursor.chronological(last.row().getCreatedAt(), last.row().getId());
+                after = LocationCursor.decode(cursor.encode(), ranked);
+            }
+        } while (page.size() == 2);
+        return seen;
+    }
+
+    private String explainLocation(LocationSearchRequest criteria) {
+        return String.join("\n", resourceSearchRepository.explainLocationSearch(criteria, null, 20));
+    }
+
+    private ResourceSearchRequest criteria(ResourceSearchRequest.Operator operator) {
+        return ResourceSearchRequest.builder()
+                .countryCode("FI")
+                .type(ResourceType.CONNECTION_POINT)
+                .operator(operator)
+                .characteristics(List.of(
+                        predicate(CharacteristicType.CHARGING_POINT, null, "CCS"),
+                        predicate(CharacteristicType.CONNECTION_POINT_STATUS, "ST1", "ACTIVE")))
+                .build();
+    }
+
+    private CharacteristicPredicate predicate(CharacteristicType type, String code, String value) {
+        return CharacteristicPredicate.builder()
+                .type(type)
+                .code(code)
+                .value(value)
+                .build();
+    }
+
+    private Resource save(ResourceType type, String countryCode, String chargingPoint, String status) {
+        Resource resource = Resource.builder()
+                .type(type)
+                .countryCode(countryCode)
+                .location(Location.builder()
+                        .streetAddress("Search Street")
+                        .city("Helsinki")
+                        .postalCode("00100")
+                        .countryCode(countryCode)
+                        .build())
+                .build();
+        resource.addCharacteristic(Characteristic.builder()
+                .code("CP1")
+                .type(CharacteristicType.CHARGING_POINT)
+                .value(chargingPoint)
+                .build());
+        resource.addCharacteristic(Characteristic.builder()
+                .code("ST1")
+                .type(CharacteristicType.CONNECTION_POINT_STATUS)
+                .value(status)
+                .build());
+        return resourceRepository.save(resource);
+    }
+
+    private Resource saveAt(String streetAddress, String city, String postalCode) {
+        return resourceRepository.save(Resource.builder()
+                .type(ResourceType.METERING_POINT)
+                .countryCode("EE")
+                .location(Location.builder()
+                        .streetAddress(streetAddress)
+                        .city(city)
+                        .postalCode(postalCode)
+                        .countryCode("EE")
+                        .build())
+                .build());
+    }
+}
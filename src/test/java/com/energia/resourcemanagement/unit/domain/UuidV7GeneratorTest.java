@@ -0,0 +1,64 @@
+package com.energia.resourcemanagement.unit.domain;
+
+import com.energia.resourcemanagement.domain.id.UuidV7Generator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void nextUuid_HasVersionVariantAndTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7Generator.nextUuid();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isCloseTo(before, within(1_000L));
+    }
+
+    @Test
+    void nextUuid_StrictlyIncreasingInPostgresOrder() {
+        UUID previous = UuidV7Generator.nextUuid();
+        // Far more ids than the 12-bit counter holds per millisecond
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = UuidV7Generator.nextUuid();
+            assertThat(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits()))
+                    .isPositive();
+            previous = next;
+        }
+    }
+
+    @Test
+    void nextUuid_UniqueAcrossThreads() throws Exception {
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                workers.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        ids.add(UuidV7Generator.nextUuid());
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(ids).hasSize(80_000);
+    }
+}
@@ -0,0 +1,190 @@
+package com.energia.resourcemanagement.unit.kafka;
+
+import com.energia.resourcemanagement.domain.enums.EventType;
+import com.energia.resourcemanagement.kafka.event.ResourceEvent;
+import com.energia.resourcemanagement.kafka.outbox.OutboxEvent;
+import com.energia.resourcemanagement.kafka.outbox.OutboxRelay;
+import com.energia.resourcemanagement.kafka.producer.ResourceEventProducer;
+import com.energia.resourcemanagement.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private ResourceEventProducer eventProducer;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private OutboxRelay outboxRelay;
+
+    private final UUID resourceId = UUID.randomUUID();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        outboxRelay = new OutboxRelay(outboxEventRepository, eventProducer, objectMapper, transactionTemplate);
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 500);
+        ReflectionTestUtils.setField(outboxRelay, "sendTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(outboxRelay, "minBackoffMs", 60_000L);
+        ReflectionTestUtils.setField(outboxRelay, "maxBackoffMs", 60_000L);
+
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.getArgument(0, TransactionCallback.class).doInTransaction(null));
+    }
+
+    @Test
+    void relay_SendsBatchInOrderAndDeletesAcknowledgedEvents() throws Exception {
+        List<OutboxEvent> batch = List.of(
+                outboxEvent(1L, EventType.RESOURCE_CREATED),
+                outboxEvent(2L, EventType.RESOURCE_UPDATED),
+                outboxEvent(3L, EventType.RESOURCE_DELETED));
+        when(outboxEventRepository.lockNextPartition()).thenReturn(Optional.of(4), Optional.empty());
+        when(outboxEventRepository.findBatch(4, 500)).thenReturn(batch);
+        when(eventProducer.sendResourceEvent(any())).thenReturn(acked());
+
+        outboxRelay.relay();
+
+        ArgumentCaptor<ResourceEvent> sent = ArgumentCaptor.forClass(ResourceEvent.class);
+        verify(eventProducer, times(3)).sendResourceEvent(sent.capture());
+        assertThat(sent.getAllValues()).extracting(ResourceEvent::getEventType)
+                .containsExactly(EventType.RESOURCE_CREATED, EventType.RESOURCE_UPDATED, EventType.RESOURCE_DELETED);
+        assertThat(sent.getAllValues()).extracting(ResourceEvent::getResourceId).containsOnly(resourceId);
+        verify(outboxEventRepository).deleteByIds(List.of(1L, 2L, 3L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relay_KeepsEventsFromFirstUnacknowledgedOnwards() throws Exception {
+        List<OutboxEvent> batch = List.of(
+                outboxEvent(1L, EventType.RESOURCE_CREATED),
+                outboxEvent(2L, EventType.RESOURCE_UPDATED),
+                outboxEvent(3L, EventType.RESOURCE_UPDATED));
+        when(outboxEventRepository.lockNextPartition()).thenReturn(Optional.of(0));
+        when(outboxEventRepository.findBatch(0, 500)).thenReturn(batch);
+        when(eventProducer.sendResourceEvent(any()))
+                .thenReturn(acked(), CompletableFuture.failedFuture(new IllegalStateException("broker down")), acked());
+
+        outboxRelay.relay();
+
+        ArgumentCaptor<Collection<Long>> deleted = ArgumentCaptor.forClass(Collection.class);
+        verify(outboxEventRepository).deleteByIds(deleted.capture());
+        assertThat(deleted.getValue()).containsExactly(1L);
+        // A partial batch ends the run; the remainder is retried on the next schedule
+        verify(outboxEventRepository, times(1)).lockNextPartition();
+    }
+
+    @Test
+    void relay_StopsSendingBatchAtFirstImmediateFailure() throws Exception {
+        List<OutboxEvent> batch = List.of(
+                outboxEvent(1L, EventType.RESOURCE_CREATED),
+                outboxEvent(2L, EventType.RESOURCE_UPDATED),
+                outboxEvent(3L, EventType.RESOURCE_UPDATED));
+        when(outboxEventRepository.lockNextPartition()).thenReturn(Optional.of(0));
+        when(outboxEventRepository.findBatch(0, 500)).thenReturn(batch);
+        when(eventProducer.sendResourceEvent(any()))
+                .thenReturn(acked(), CompletableFuture.failedFuture(new IllegalStateException("no metadata")));
+
+        outboxRelay.relay();
+
+        verify(eventProducer, times(2)).sendResourceEvent(any());
+        verify(outboxEventRepository).deleteByIds(List.of(1L));
+    }
+
+    @Test
+    void relay_BacksOffWhileKafkaIsDown() throws Exception {
+        when(outboxEventRepository.lockNextPartition()).thenReturn(Optional.of(0));
+        when(outboxEventRepository.findBatch(0, 500)).thenReturn(List.of(outboxEvent(1L, EventType.RESOURCE_CREATED)));
+        when(eventProducer.sendResourceEvent(any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        outboxRelay.relay();
+        outboxRelay.relay();
+
+        // The second run falls inside the backoff and does not touch the outbox
+        verify(outboxEventRepository, times(1)).lockNextPartition();
+        verify(outboxEventRepository).deleteByIds(List.of());
+    }
+
+    @Test
+    void relay_MovesCorruptPayloadToDeadLettersAndContinues() throws Exception {
+        OutboxEvent corrupt = outboxEvent(2L, EventType.RESOURCE_UPDATED);
+        corrupt.setPayload("{\"eventType\":");
+        List<OutboxEvent> batch = List.of(
+                outboxEvent(1L, EventType.RESOURCE_CREATED),
+                corrupt,
+                outboxEvent(3L, EventType.RESOURCE_DELETED));
+        when(outboxEventRepository.lockNextPartition()).thenReturn(Optional.of(2), Optional.empty());
+        when(outboxEventRepository.findBatch(2, 500)).thenReturn(batch);
+        when(eventProducer.sendResourceEvent(any())).thenReturn(acked());
+
+        outboxRelay.relay();
+
+        ArgumentCaptor<ResourceEvent> sent = ArgumentCaptor.forClass(ResourceEvent.class);
+        verify(eventProducer, times(2)).sendResourceEvent(sent.capture());
+        assertThat(sent.getAllValues()).extracting(ResourceEvent::getEventType)
+                .containsExactly(EventType.RESOURCE_CREATED, EventType.RESOURCE_DELETED);
+        verify(outboxEventRepository).moveToDeadLetters(2L);
+        verify(outboxEventRepository).deleteByIds(List.of(1L, 3L));
+        // The batch counts as complete, so the relay goes on to the next partition
+        verify(outboxEventRepository, times(2)).lockNextPartition();
+    }
+
+    @Test
+    void relay_NothingPending() {
+        when(outboxEventRepository.lockNextPartition()).thenReturn(Optional.empty());
+
+        outboxRelay.relay();
+
+        verify(outboxEventRepository, never()).findBatch(anyInt(), anyInt());
+        verifyNoInteractions(eventProducer);
+    }
+
+    private OutboxEvent outboxEvent(long id, EventType eventType) throws Exception {
+        ResourceEvent event = ResourceEvent.builder()
+                .eventId(UUID.randomUUID())
+                .eventType(eventType)
+                .resourceId(resourceId)
+                .timestamp(Instant.now())
+                .build();
+        return OutboxEvent.builder()
+                .id(id)
+                .aggregateId(resourceId)
+                .eventType(eventType.name())
+                .payload(objectMapper.writeValueAsString(event))
+                .build();
+    }
+
+    private CompletableFuture<SendResult<String, Object>> acked() {
+        return CompletableFuture.completedFuture(null);
+    }
+}
@@ -0,0 +1,173 @@
+package com.energia.resourcemanagement.unit.kafka;
+
+import com.energia.resourcemanagement.domain.enums.CharacteristicType;
+import com.energia.resourcemanagement.domain.enums.EventType;
+import com.energia.resourcemanagement.domain.enums.ResourceType;
+import com.energia.resourcemanagement.dto.common.CharacteristicDTO;
+import com.energia.resourcemanagement.dto.common.LocationDTO;
+import com.energia.resourcemanagement.dto.response.ResourceResponse;
+import com.energia.resourcemanagement.kafka.event.ResourceDelta;
+import com.energia.resourcemanagement.kafka.event.ResourceEvent;
+import com.energia.resourcemanagement.kafka.serialization.ResourceEventBinaryCodec;
+import com.energia.resourcemanagement.kafka.serialization.ResourceEventDeserializer;
+import com.energia.resourcemanagement.kafka.serialization.ResourceEventSerializer;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResourceEventSerializationTest {
+
+    private static final String TOPIC = "resource-events";
+
+    private final ResourceEventDeserializer deserializer = new ResourceEventDeserializer();
+
+    @Test
+    void binary_RoundTripsFullEvent() {
+        ResourceEvent event = event(EventType.RESOURCE_UPDATED, resource());
+
+        ResourceEvent decoded = ResourceEventBinaryCodec.decode(ResourceEventBinaryCodec.encode(event));
+
+        assertThat(decoded).isEqualTo(event);
+    }
+
+    @Test
+    void binary_RoundTripsNullsAndNonAsciiText() {
+        ResourceResponse resource = resource();
+        resource.setLocation(null);
+        resource.setCharacteristics(null);
+        resource.setUpdatedAt(null);
+        resource.setCountryCode(null);
+        ResourceEvent deleted = event(EventType.RESOURCE_DELETED, null);
+        ResourceEvent sparse = event(EventType.RESOURCE_CREATED, resource);
+        ResourceEvent text = event(EventType.RESOURCE_CREATED, resource());
+        text.getResource().getLocation().setStreetAddress("Õismäe tee 12 – korter №5");
+
+        assertThat(ResourceEventBinaryCodec.decode(ResourceEventBinaryCodec.encode(deleted))).isEqualTo(deleted);
+        assertThat(ResourceEventBinaryCodec.decode(ResourceEventBinaryCodec.encode(sparse))).isEqualTo(sparse);
+        assertThat(ResourceEventBinaryCodec.decode(ResourceEventBinaryCodec.encode(text))).isEqualTo(text);
+    }
+
+    @Test
+    void binary_RoundTripsDeltaEvent() {
+        ResourceEvent event = event(EventType.RESOURCE_UPDATED, null);
+        event.setDelta(ResourceDelta.builder()
+                .fromVersion(4L)
+                .toVersion(5L)
+                .updatedAt(LocalDateTime.of(2024, 6, 2, 8, 0, 1))
+                .changedCharacteristics(List.of(CharacteristicDTO.builder()
+                        .code("S1").type(CharacteristicType.CONNECTION_POINT_STATUS).value("INACTIVE").build()))
+                .removedCharacteristics(List.of(new ResourceDelta.CharacteristicKey("P1", CharacteristicType.CHARGING_POINT)))
+                .build());
+
+        byte[] payload = ResourceEventBinaryCodec.encode(event);
+
+        assertThat(ResourceEventBinaryCodec.decode(payload)).isEqualTo(event);
+        assertThat(payload.length).isLessThan(ResourceEventBinaryCodec.encode(event(EventType.RESOURCE_UPDATED, resource())).length);
+    }
+
+    @Test
+    void binary_EveryEnumConstantHasACode() {
+        for (EventType eventType : EventType.values()) {
+            for (ResourceType type : ResourceType.values()) {
+                ResourceResponse resource = resource();
+                resource.setType(type);
+                resource.setCharacteristics(Arrays.stream(CharacteristicType.values())
+                        .map(characteristicType -> CharacteristicDTO.builder()
+                                .code("C1")
+                                .type(characteristicType)
+                                .value("V")
+                                .build())
+                        .toList());
+                ResourceEvent event = event(eventType, resource);
+
+                assertThat(ResourceEventBinaryCodec.decode(ResourceEventBinaryCodec.encode(event))).isEqualTo(event);
+            }
+        }
+    }
+
+    @Test
+    void binary_RejectsUnknownVersion() {
+        byte[] payload = ResourceEventBinaryCodec.encode(event(EventType.RESOURCE_CREATED, resource()));
+        payload[0] = 2;
+
+        assertThatThrownBy(() -> ResourceEventBinaryCodec.decode(payload))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("version 2");
+    }
+
+    @Test
+    void serializer_WritesConfiguredFormatAndNamesItInHeader() {
+        ResourceEvent event = event(EventType.RESOURCE_CREATED, resource());
+
+        RecordHeaders jsonHeaders = new RecordHeaders();
+        byte[] json = serializer("json").serialize(TOPIC, jsonHeaders, event);
+        RecordHeaders binaryHeaders = new RecordHeaders();
+        byte[] binary = serializer("binary").serialize(TOPIC, binaryHeaders, event);
+
+        assertThat(header(jsonHeaders)).isEqualTo("json");
+        assertThat(header(binaryHeaders)).isEqualTo("binary-v1");
+        assertThat(binary.length).isLessThan(json.length / 2);
+        assertThat(deserializer.deserialize(TOPIC, json)).isEqualTo(event);
+        assertThat(deserializer.deserialize(TOPIC, binary)).isEqualTo(event);
+    }
+
+    @Test
+    void serializer_KeepsBulkExportBatchesAsJson() {
+        RecordHeaders headers = new RecordHeaders();
+
+        byte[] payload = serializer("binary").serialize(TOPIC, headers, List.of(resource()));
+
+        assertThat(header(headers)).isEqualTo("json");
+        assertThat(new String(payload, StandardCharsets.UTF_8)).startsWith("[{");
+    }
+
+    private ResourceEventSerializer serializer(String format) {
+        ResourceEventSerializer serializer = new ResourceEventSerializer();
+        serializer.configure(Map.of(ResourceEventSerializer.FORMAT_CONFIG, format), false);
+        return serializer;
+    }
+
+    private static String header(RecordHeaders headers) {
+        return new String(headers.lastHeader(ResourceEventSerializer.FORMAT_HEADER).value(), StandardCharsets.UTF_8);
+    }
+
+    private static ResourceEvent event(EventType eventType, ResourceResponse resource) {
+        return ResourceEvent.builder()
+                .eventId(UUID.randomUUID())
+                .eventType(eventType)
+                .resourceId(resource != null ? resource.getId() : UUID.randomUUID())
+                .resource(resource)
+                .timestamp(Instant.now())
+                .build();
+    }
+
+    private static ResourceResponse resource() {
+        return ResourceResponse.builder()
+                .id(UUID.randomUUID())
+                .type(ResourceType.METERING_POINT)
+                .countryCode("EE")
+                .location(LocationDTO.builder()
+                        .streetAddress("Test Street 1")
+                        .city("Tallinn")
+                        .postalCode("10115")
+                        .countryCode("EE")
+                        .build())
+                .characteristics(List.of(
+                        CharacteristicDTO.builder().code("C1").type(CharacteristicType.CONSUMPTION_TYPE).value("RESIDENTIAL").build(),
+                        CharacteristicDTO.builder().code("C2").type(CharacteristicType.CHARGING_POINT).value("AC").build()))
+                .createdAt(LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_456_000))
+                .updatedAt(LocalDateTime.of(2024, 6, 2, 8, 0))
+                .version(7L)
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package com.energia.resourcemanagement.unit.profiling;
+
+import com.energia.resourcemanagement.profiling.ContinuousRecording;
+import com.energia.resourcemanagement.profiling.EventSendEvent;
+import com.energia.resourcemanagement.profiling.FlightRecordingEndpoint;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContinuousRecordingTest {
+
+    @TempDir
+    private Path dumpDirectory;
+
+    private ContinuousRecording continuousRecording;
+    private FlightRecordingEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        continuousRecording = new ContinuousRecording();
+        ReflectionTestUtils.setField(continuousRecording, "enabled", true);
+        ReflectionTestUtils.setField(continuousRecording, "settings", "default");
+        ReflectionTestUtils.setField(continuousRecording, "maxAge", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(continuousRecording, "maxSize", DataSize.ofMegabytes(50));
+        ReflectionTestUtils.setField(continuousRecording, "dumpDirectory", dumpDirectory);
+        endpoint = new FlightRecordingEndpoint(continuousRecording);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(continuousRecording, "stop");
+    }
+
+    @Test
+    void dump_WritesRecordedEventsToFile() throws Exception {
+        ReflectionTestUtils.invokeMethod(continuousRecording, "start");
+        EventSendEvent.begin("RESOURCE_CREATED", "key-1", 1).complete(null);
+
+        WebEndpointResponse<FlightRecordingEndpoint.Dump> response = endpoint.dump(1);
+
+        assertThat(response.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        Path file = Path.of(response.getBody().file());
+        assertThat(file.getParent()).isEqualTo(dumpDirectory.toAbsolutePath());
+        assertThat(Files.size(file)).isPositive();
+
+        List<RecordedEvent> sends = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("com.energia.resourcemanagement.EventSend"))
+                .filter(event -> "key-1".equals(event.getString("key")))
+                .toList();
+        assertThat(sends).hasSize(1);
+        assertThat(sends.get(0).getString("eventType")).isEqualTo("RESOURCE_CREATED");
+        assertThat(sends.get(0).getBoolean("failed")).isFalse();
+    }
+
+    @Test
+    void dump_WhenRecordingIsOff_ReturnsServiceUnavailable() {
+        ReflectionTestUtils.setField(continuousRecording, "enabled", false);
+        ReflectionTestUtils.invokeMethod(continuousRecording, "start");
+
+        assertThat(endpoint.status().running()).isFalse();
+        assertThat(endpoint.dump(5).getStatus()).isEqualTo(WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE);
+    }
+
+    @Test
+    void dump_NonPositiveWindow_ReturnsBadRequest() {
+        assertThat(endpoint.dump(0).getStatus()).isEqualTo(WebEndpointResponse.STATUS_BAD_REQUEST);
+    }
+}
@@ -0,0 +1,490 @@
+package com.energia.resourcemanagement.unit.service;
+
+import com.energia.resourcemanagement.domain.entity.ExportJob;
+import com.energia.resourcemanagement.domain.enums.ExportJobStatus;
+import com.energia.resourcemanagement.domain.enums.ExportMode;
+import com.energia.resourcemanagement.dto.response.ExportJobResponse;
+import com.energia.resourcemanagement.exception.ExportCancelledException;
+import com.energia.resourcemanagement.exception.ExportCapacityExceededException;
+import com.energia.resourcemanagement.exception.ExportJobNotCancellableException;
+import com.energia.resourcemanagement.exception.ExportJobNotFoundException;
+import com.energia.resourcemanagement.kafka.producer.ResourceEventProducer;
+import com.energia.resourcemanagement.mapper.ExportJobMapper;
+import com.energia.resourcemanagement.mapper.ExportJobMapperImpl;
+import com.energia.resourcemanagement.repository.ChangeTrackingRepository;
+import com.energia.resourcemanagement.repository.ExportJobRepository;
+import com.energia.resourcemanagement.repository.ResourceRepository;
+import com.energia.resourcemanagement.service.ExportProgressListener;
+import com.energia.resourcemanagement.service.ExportRange;
+import com.energia.resourcemanagement.service.ResourceService;
+import com.energia.resourcemanagement.service.impl.ExportJobServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportJobServiceTest {
+
+    @Mock
+    private ExportJobRepository exportJobRepository;
+
+    @Mock
+    private ChangeTrackingRepository changeTrackingRepository;
+
+    @Mock
+    private ResourceService resourceService;
+
+    @Mock
+    private ResourceRepository resourceRepository;
+
+    @Mock
+    private ResourceEventProducer eventProducer;
+
+    private final ExportJobMapper exportJobMapper = new ExportJobMapperImpl();
+
+    private final List<Runnable> queuedTasks = new ArrayList<>();
+
+    private ExportJobServiceImpl exportJobService;
+
+    private final List<ExportJob> savedJobs = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        TaskExecutor queueingExecutor = queuedTasks::add;
+        exportJobService = new ExportJobServiceImpl(exportJobRepository, changeTrackingRepository, exportJobMapper, resourceService,
+                resourceRepository, eventProducer, queueingExecutor, Runnable::run, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(exportJobService, "rangeCount", 2);
+
+        lenient().when(exportJobRepository.save(any(ExportJob.class))).thenAnswer(invocation -> {
+            ExportJob job = invocation.getArgument(0);
+            if (job.getId() == null) {
+                job.setId(UUID.randomUUID());
+            }
+            savedJobs.add(copyOf(job));
+            return job;
+        });
+    }
+
+    @Test
+    void startExport_ReturnsPendingJobWithoutRunningExport() {
+        ExportJobResponse response = exportJobService.startExport(ExportMode.FULL);
+
+        assertThat(response.getId()).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(ExportJobStatus.PENDING);
+        assertThat(savedJobs.get(0).getOwnerId()).isNotBlank();
+        assertThat(savedJobs.get(0).getHeartbeatAt()).isNotNull();
+        assertThat(queuedTasks).hasSize(1);
+        verifyNoInteractions(resourceService);
+    }
+
+    @Test
+    void runExport_CompletesAndRecordsThroughput() {
+        when(resourceRepository.estimateCount()).thenReturn(1000L);
+        when(resourceService.exportRangeToKafka(any(), any())).thenAnswer(invocation -> {
+            ExportProgressListener listener = invocation.getArgument(1);
+            listener.onRowsRead(500);
+            for (int i = 0; i < 5; i++) {
+                listener.onBatchSent();
+                listener.onBatchAcked(100);
+            }
+            return 500L;
+        });
+
+        ExportJobResponse started = exportJobService.startExport(ExportMode.FULL);
+        queuedTasks.get(0).run();
+
+        ExportJob last = savedJobs.get(savedJobs.size() - 1);
+        assertThat(last.getStatus()).isEqualTo(ExportJobStatus.COMPLETED);
+        assertThat(last.getRowsRead()).isEqualTo(1000);
+        assertThat(last.getBatchesSent()).isEqualTo(10);
+        assertThat(last.getBatchesAcked()).isEqualTo(10);
+        assertThat(last.getTotalEstimate()).isEqualTo(1000L);
+        assertThat(last.getFinishedAt()).isNotNull();
+        verify(eventProducer).flush();
+
+        ArgumentCaptor<ExportRange> ranges = ArgumentCaptor.forClass(ExportRange.class);
+        verify(resourceService, times(2)).exportRangeToKafka(ranges.capture(), any());
+        assertThat(ranges.getAllValues()).containsExactlyElementsOf(ExportRange.split(2));
+
+        when(exportJobRepository.findById(started.getId())).thenReturn(Optional.of(last));
+        ExportJobResponse finished = exportJobService.getJob(started.getId());
+        assertThat(finished.getEstimatedSecondsRemaining()).isZero();
+    }
+
+    @Test
+    void runExport_TableNotAnalyzedYet_LeavesEstimateUnknown() {
+        when(resourceRepository.estimateCount()).thenReturn(-1L);
+
+        exportJobService.startExport(ExportMode.FULL);
+        queuedTasks.get(0).run();
+
+        ExportJob last = savedJobs.get(savedJobs.size() - 1);
+        assertThat(last.getStatus()).isEqualTo(ExportJobStatus.COMPLETED);
+        assertThat(last.getTotalEstimate()).isNull();
+        verify(resourceRepository, never()).count();
+    }
+
+    @Test
+    void runExport_FailsWhenBatchesAreNotAcknowledged() {
+        when(resourceService.exportRangeToKafka(any(), any())).thenAnswer(invocation -> {
+            ExportProgressListener listener = invocation.getArgument(1);
+            listener.onRowsRead(100);
+            listener.onBatchSent();
+            listener.onBatchFailed(new RuntimeException("broker down"));
+            return 100L;
+        });
+
+        exportJobService.startExport(ExportMode.FULL);
+        queuedTasks.get(0).run();
+
+        ExportJob last = savedJobs.get(savedJobs.size() - 1);
+        assertThat(last.getStatus()).isEqualTo(ExportJobStatus.FAILED);
+        assertThat(last.getBatchesFailed()).isEqualTo(2);
+    }
+
+    @Test
+    void runExport_FailedRangeStopsTheOthers() {
+        when(resourceService.exportRangeToKafka(any(), any()))
+                .thenThrow(new IllegalStateException("connection lost"));
+
+        exportJobService.startExport(ExportMode.FULL);
+        queuedTasks.get(0).run();
+
+        ExportJob last = savedJobs.get(savedJobs.size() - 1);
+        assertThat(last.getStatus()).isEqualTo(ExportJobStatus.FAILED);
+        assertThat(last.getErrorMessage()).isEqualTo("connection lost");
+        // The second range was still waiting for a worker and is never read
+        verify(resourceService, times(1)).exportRangeToKafka(any(), any());
+    }
+
+    @Test
+    void runDeltaExport_AdvancesWatermarkAfterAcks() {
+        when(changeTrackingRepository.findWatermark(ChangeTrackingRepository.RESOURCES_WATERMARK)).thenReturn(40L);
+        when(changeTrackingRepository.stampPendingChanges()).thenReturn(55L);
+        when(changeTrackingRepository.countChanges(40L, 55L)).thenReturn(15L);
+        when(resourceService.exportChangesToKafka(eq(40L), eq(55L), any())).thenAnswer(invocation -> {
+            ExportProgressListener listener = invocation.getArgument(2);
+            listener.onRowsRead(15);
+            listener.onBatchSent();
+            listener.onBatchAcked(15);
+            return 15L;
+        });
+
+        exportJobService.startExport(ExportMode.DELTA);
+        queuedTasks.get(0).run();
+
+        ExportJob last = savedJobs.get(savedJobs.size() - 1);
+        assertThat(last.getStatus()).isEqualTo(ExportJobStatus.COMPLETED);
+        assertThat(last.getMode()).isEqualTo(ExportMode.DELTA);
+        assertThat(last.getFromChangeSeq()).isEqualTo(40L);
+        assertThat(last.getToChangeSeq()).isEqualTo(55L);
+        assertThat(last.getTotalEstimate()).isEqualTo(15L);
+
+        InOrder inOrder = inOrder(eventProducer, changeTrackingRepository);
+        inOrder.verify(eventProducer).flush();
+        inOrder.verify(changeTrackingRepository).advanceWatermark(ChangeTrackingRepository.RESOURCES_WATERMARK, 55L);
+        inOrder.verify(changeTrackingRepository).purgeTombstones(55L);
+        verify(resourceService, never()).exportRangeToKafka(any(), any());
+    }
+
+    @Test
+    void runDeltaExport_KeepsWatermarkWhenBatchesFail() {
+        when(changeTrackingRepository.stampPendingChanges()).thenReturn(10L);
+        when(resourceService.exportChangesToKafka(anyLong(), anyLong(), any())).thenAnswer(invocation -> {
+            ExportProgressListener listener = invocation.getArgument(2);
+            listener.onBatchSent();
+            listener.onBatchFailed(new RuntimeException("broker down"));
+            return 5L;
+        });
+
+        exportJobService.startExport(ExportMode.DELTA);
+        queuedTasks.get(0).run();
+
+        ExportJob last = savedJobs.get(savedJobs.size() - 1);
+        assertThat(last.getStatus()).isEqualTo(ExportJobStatus.FAILED);
+        verify(changeTrackingRepository, never()).advanceWatermark(any(), anyLong());
+        verify(changeTrackingRepository, never()).purgeTombstones(anyLong());
+    }
+
+    @Test
+    void cancelJob_StopsRunningExport() {
+        ExportJobResponse started = exportJobService.startExport(ExportMode.FULL);
+
+        ExportJobResponse cancelling = exportJobService.cancelJob(started.getId());
+        assertThat(cancelling.isCancelRequested()).isTrue();
+
+        queuedTasks.get(0).run();
+
+        ExportJob last = savedJobs.get(savedJobs.size() - 1);
+        assertThat(last.getStatus()).isEqualTo(ExportJobStatus.CANCELLED);
+        verify(resourceService, never()).exportRangeToKafka(any(), any());
+    }
+
+    @Test
+    void runExport_CancelSkipsRangesStillQueued() {
+        ExportJobResponse started = exportJobService.startExport(ExportMode.FULL);
+        when(resourceService.exportRangeToKafka(any(), any())).thenAnswer(invocation -> {
+            exportJobService.cancelJob(started.getId());
+            throw new ExportCancelledException(0);
+        });
+
+        queuedTasks.get(0).run();
+
+        verify(resourceService, times(1)).exportRangeToKafka(any(), any());
+        assertThat(savedJobs.get(savedJobs.size() - 1).getStatus()).isEqualTo(ExportJobStatus.CANCELLED);
+    }
+
+    @Test
+    void cancelJob_JobOfAnotherInstance_PersistsCancelRequest() {
+        ReflectionTestUtils.setField(exportJobService, "heartbeatTimeoutMs", 60_000L);
+        ExportJob remote = remoteJob(ExportJobStatus.RUNNING);
+        when(exportJobRepository.findById(remote.getId())).thenReturn(Optional.of(remote));
+
+        ExportJobResponse response = exportJobService.cancelJob(remote.getId());
+
+        assertThat(response.isCancelRequested()).isTrue();
+        assertThat(response.getStatus()).isEqualTo(ExportJobStatus.RUNNING);
+        assertThat(savedJobs).singleElement().satisfies(job -> assertThat(job.isCancelRequested()).isTrue());
+    }
+
+    @Test
+    void cancelJob_JobOfAnotherInstance_RereadsAfterConcurrentFlush() {
+        ReflectionTestUtils.setField(exportJobService, "heartbeatTimeoutMs", 60_000L);
+        ExportJob remote = remoteJob(ExportJobStatus.RUNNING);
+        when(exportJobRepository.findById(remote.getId())).thenReturn(Optional.of(remote));
+        doThrow(new ObjectOptimisticLockingFailureException(ExportJob.class, remote.getId()))
+                .doAnswer(invocation -> invocation.getArgument(0))
+                .when(exportJobRepository).save(any(ExportJob.class));
+
+        assertThat(exportJobService.cancelJob(remote.getId()).isCancelRequested()).isTrue();
+        verify(exportJobRepository, times(2)).findById(remote.getId());
+    }
+
+    @Test
+    void cancelJob_FinishedJob_NotCancellable() {
+        ExportJob finished = remoteJob(ExportJobStatus.COMPLETED);
+        when(exportJobRepository.findById(finished.getId())).thenReturn(Optional.of(finished));
+
+        assertThatThrownBy(() -> exportJobService.cancelJob(finished.getId()))
+                .isInstanceOf(ExportJobNotCancellableException.class)
+                .hasMessageContaining("COMPLETED");
+        verify(exportJobRepository, never()).save(any());
+    }
+
+    @Test
+    void cancelJob_OwnerStoppedHeartbeating_NotCancellable() {
+        ReflectionTestUtils.setField(exportJobService, "heartbeatTimeoutMs", 60_000L);
+        ExportJob orphaned = staleJob(ExportJobStatus.RUNNING);
+        when(exportJobRepository.findById(orphaned.getId())).thenReturn(Optional.of(orphaned));
+
+        assertThatThrownBy(() -> exportJobService.cancelJob(orphaned.getId()))
+                .isInstanceOf(ExportJobNotCancellableException.class)
+                .hasMessageContaining("other-instance");
+        verify(exportJobRepository, never()).save(any());
+    }
+
+    @Test
+    void flushProgress_AdoptsCancelRequestedThroughAnotherInstance() {
+        ExportJobResponse started = exportJobService.startExport(ExportMode.FULL);
+        ExportJob stored = ExportJob.builder().id(started.getId()).status(ExportJobStatus.PENDING)
+                .cancelRequested(true).version(1L).build();
+        when(exportJobRepository.findById(started.getId())).thenReturn(Optional.of(stored));
+        doThrow(new ObjectOptimisticLockingFailureException(ExportJob.class, started.getId()))
+                .doAnswer(invocation -> {
+                    savedJobs.add(copyOf(invocation.getArgument(0)));
+                    return invocation.getArgument(0);
+                })
+                .when(exportJobRepository).save(any(ExportJob.class));
+
+        exportJobService.flushProgress();
+        assertThat(savedJobs.get(savedJobs.size() - 1).isCancelRequested()).isTrue();
+
+        queuedTasks.get(0).run();
+
+        assertThat(savedJobs.get(savedJobs.size() - 1).getStatus()).isEqualTo(ExportJobStatus.CANCELLED);
+        verify(resourceService, never()).exportRangeToKafka(any(), any());
+    }
+
+    @Test
+    void runExport_CancelledMidway() {
+        when(resourceService.exportRangeToKafka(any(), any())).thenAnswer(invocation -> {
+            ExportProgressListener listener = invocation.getArgument(1);
+            listener.onRowsRead(250);
+            throw new ExportCancelledException(250);
+        });
+
+        exportJobService.startExport(ExportMode.FULL);
+        queuedTasks.get(0).run();
+
+        ExportJob last = savedJobs.get(savedJobs.size() - 1);
+        assertThat(last.getStatus()).isEqualTo(ExportJobStatus.CANCELLED);
+        assertThat(last.getErrorMessage()).contains("250");
+    }
+
+    @Test
+    void startExport_ExecutorSaturated() {
+        exportJobService = new ExportJobServiceImpl(exportJobRepository, changeTrackingRepository, exportJobMapper, resourceService,
+                resourceRepository, eventProducer, task -> {
+                    throw new TaskRejectedException("full");
+                }, Runnable::run, new SimpleMeterRegistry());
+
+        assertThatThrownBy(() -> exportJobService.startExport(ExportMode.FULL))
+                .isInstanceOf(ExportCapacityExceededException.class)
+                .hasCauseInstanceOf(TaskRejectedException.class);
+
+        ArgumentCaptor<ExportJob> captor = ArgumentCaptor.forClass(ExportJob.class);
+        verify(exportJobRepository, atLeastOnce()).save(captor.capture());
+        assertThat(savedJobs.get(savedJobs.size() - 1).getStatus()).isEqualTo(ExportJobStatus.FAILED);
+    }
+
+    @Test
+    void failOrphanedJobs_FailsJobsWithStaleHeartbeat() {
+        ReflectionTestUtils.setField(exportJobService, "heartbeatTimeoutMs", 60_000L);
+        ExportJob running = staleJob(ExportJobStatus.RUNNING);
+        ExportJob pending = staleJob(ExportJobStatus.PENDING);
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(exportJobRepository.findByStatusInAndHeartbeatAtBefore(
+                eq(List.of(ExportJobStatus.PENDING, ExportJobStatus.RUNNING)), cutoff.capture()))
+                .thenReturn(List.of(running, pending));
+
+        exportJobService.failOrphanedJobs();
+
+        assertThat(cutoff.getValue()).isBefore(LocalDateTime.now().minusSeconds(59));
+        assertThat(savedJobs).hasSize(2).allSatisfy(job -> {
+            assertThat(job.getStatus()).isEqualTo(ExportJobStatus.FAILED);
+            assertThat(job.getErrorMessage()).contains("other-instance");
+            assertThat(job.getFinishedAt()).isNotNull();
+        });
+    }
+
+    @Test
+    void failOrphanedJobs_SkipsJobsItsOwnerUpdatedMeanwhile() {
+        ExportJob resumed = staleJob(ExportJobStatus.RUNNING);
+        ExportJob orphaned = staleJob(ExportJobStatus.RUNNING);
+        when(exportJobRepository.findByStatusInAndHeartbeatAtBefore(any(), any())).thenReturn(List.of(resumed, orphaned));
+        doThrow(new ObjectOptimisticLockingFailureException(ExportJob.class, resumed.getId()))
+                .when(exportJobRepository).save(resumed);
+
+        exportJobService.failOrphanedJobs();
+
+        assertThat(savedJobs).extracting(ExportJob::getId).containsExactly(orphaned.getId());
+    }
+
+    @Test
+    void failOrphanedJobs_LeavesJobsRunningHere() {
+        ExportJobResponse started = exportJobService.startExport(ExportMode.FULL);
+        ExportJob ownJob = staleJob(ExportJobStatus.PENDING);
+        ownJob.setId(started.getId());
+        when(exportJobRepository.findByStatusInAndHeartbeatAtBefore(any(), any())).thenReturn(List.of(ownJob));
+
+        exportJobService.failOrphanedJobs();
+
+        assertThat(ownJob.getStatus()).isEqualTo(ExportJobStatus.PENDING);
+    }
+
+    @Test
+    void flushProgress_WritesOverConcurrentNonTerminalUpdate() {
+        ExportJobResponse started = exportJobService.startExport(ExportMode.FULL);
+        ExportJob stored = ExportJob.builder().id(started.getId()).status(ExportJobStatus.PENDING).version(3L).build();
+        when(exportJobRepository.findById(started.getId())).thenReturn(Optional.of(stored));
+        doThrow(new ObjectOptimisticLockingFailureException(ExportJob.class, started.getId()))
+                .doAnswer(invocation -> invocation.getArgument(0))
+                .when(exportJobRepository).save(any(ExportJob.class));
+
+        exportJobService.flushProgress();
+
+        ArgumentCaptor<ExportJob> saved = ArgumentCaptor.forClass(ExportJob.class);
+        verify(exportJobRepository, times(3)).save(saved.capture());
+        assertThat(saved.getValue().getVersion()).isEqualTo(3L);
+        assertThat(saved.getValue().getStatus()).isEqualTo(ExportJobStatus.PENDING);
+    }
+
+    @Test
+    void runExport_StopsWhenAnotherInstanceFailedTheJob() {
+        ExportJobResponse started = exportJobService.startExport(ExportMode.FULL);
+        ExportJob failedElsewhere = ExportJob.builder().id(started.getId()).status(ExportJobStatus.FAILED).version(2L).build();
+        when(exportJobRepository.findById(started.getId())).thenReturn(Optional.of(failedElsewhere));
+        doThrow(new ObjectOptimisticLockingFailureException(ExportJob.class, started.getId()))
+                .when(exportJobRepository).save(any(ExportJob.class));
+
+        queuedTasks.get(0).run();
+
+        // Only the first write after the conflict is attempted; the FAILED row is never overwritten
+        verify(exportJobRepository, times(2)).save(any(ExportJob.class));
+        assertThat(exportJobService.getJob(started.getId()).getStatus()).isEqualTo(ExportJobStatus.FAILED);
+    }
+
+    @Test
+    void getJob_NotFound() {
+        UUID id = UUID.randomUUID();
+        when(exportJobRepository.findById(id)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> exportJobService.getJob(id))
+                .isInstanceOf(ExportJobNotFoundException.class);
+    }
+
+    private static ExportJob remoteJob(ExportJobStatus status) {
+        return ExportJob.builder()
+                .id(UUID.randomUUID())
+                .status(status)
+                .ownerId("other-instance")
+                .heartbeatAt(LocalDateTime.now())
+                .version(4L)
+                .build();
+    }
+
+    private static ExportJob staleJob(ExportJobStatus status) {
+        return ExportJob.builder()
+                .id(UUID.randomUUID())
+                .status(status)
+                .ownerId("other-instance")
+                .heartbeatAt(LocalDateTime.now().minusMinutes(5))
+                .version(7L)
+                .build();
+    }
+
+    private static ExportJob copyOf(ExportJob job) {
+        return ExportJob.builder()
+                .id(job.getId())
+                .status(job.getStatus())
+                .mode(job.getMode())
+                .fromChangeSeq(job.getFromChangeSeq())
+                .toChangeSeq(job.getToChangeSeq())
+                .totalEstimate(job.getTotalEstimate())
+                .rowsRead(job.getRowsRead())
+                .batchesSent(job.getBatchesSent())
+                .batchesAcked(job.getBatchesAcked())
+                .batchesFailed(job.getBatchesFailed())
+                .rowsPerSecond(job.getRowsPerSecond())
+                .cancelRequested(job.isCancelRequested())
+                .errorMessage(job.getErrorMessage())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .ownerId(job.getOwnerId())
+                .heartbeatAt(job.getHeartbeatAt())
+                .version(job.getVersion())
+                .build();
+    }
+}
@@ -0,0 +1,61 @@
+package com.energia.resourcemanagement.unit.service;
+
+import com.energia.resourcemanagement.service.ExportRange;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExportRangeTest {
+
+    @Test
+    void split_CoversWholeIdSpaceWithoutGaps() {
+        List<ExportRange> ranges = ExportRange.split(4);
+
+        assertThat(ranges).hasSize(4);
+        assertThat(ranges.get(0).from()).isEqualTo(new UUID(0L, 0L));
+        assertThat(ranges.get(3).to()).isNull();
+        for (int i = 1; i < ranges.size(); i++) {
+            assertThat(ranges.get(i).from()).isEqualTo(ranges.get(i - 1).to());
+        }
+        // Bounds are compared as Postgres does: hex order, not Java's signed UUID order
+        assertThat(ranges.get(1).from()).hasToString("40000000-0000-0000-0000-000000000000");
+        assertThat(ranges.get(2).from()).hasToString("80000000-0000-0000-0000-000000000000");
+        assertThat(ranges.get(3).from()).hasToString("c0000000-0000-0000-0000-000000000000");
+    }
+
+    @Test
+    void split_SingleRangeIsUnbounded() {
+        assertThat(ExportRange.split(1)).containsExactly(new ExportRange(new UUID(0L, 0L), null));
+    }
+
+    @Test
+    void split_WithBoundsSlicesSpanBetweenLowestAndHighestId() {
+        UUID lowest = UUID.fromString("01890000-0000-7000-8000-000000000000");
+        UUID highest = UUID.fromString("01890000-0400-7000-8000-000000000000");
+
+        List<ExportRange> ranges = ExportRange.split(4, lowest, highest);
+
+        assertThat(ranges).hasSize(4);
+        assertThat(ranges.get(0).from()).isEqualTo(new UUID(0L, 0L));
+        assertThat(ranges.get(3).to()).isNull();
+        assertThat(ranges.get(1).from()).hasToString("01890000-0100-7001-0000-000000000000");
+        assertThat(ranges.get(3).from()).hasToString("01890000-0300-7003-0000-000000000000");
+    }
+
+    @Test
+    void split_WithBoundsTooCloseIsSingleRange() {
+        UUID id = UUID.fromString("01890000-0000-7000-8000-000000000000");
+
+        assertThat(ExportRange.split(4, id, id)).containsExactly(new ExportRange(new UUID(0L, 0L), null));
+    }
+
+    @Test
+    void split_RejectsNonPositiveCount() {
+        assertThatThrownBy(() -> ExportRange.split(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,104 @@
+package com.energia.resourcemanagement.unit.service;
+
+import com.energia.resourcemanagement.domain.enums.CharacteristicType;
+import com.energia.resourcemanagement.domain.enums.ResourceType;
+import com.energia.resourcemanagement.exception.InvalidImportException;
+import com.energia.resourcemanagement.service.ImportRow;
+import com.energia.resourcemanagement.service.ImportRowReader;
+import com.energia.resourcemanagement.service.impl.CsvImportReader;
+import com.energia.resourcemanagement.service.impl.NdjsonImportReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImportRowReaderTest {
+
+    private static final String CSV_HEADER =
+            "type,countryCode,streetAddress,city,postalCode,locationCountryCode,characteristics\n";
+
+    @Test
+    void ndjson_ParsesRowsAndSkipsBlankLines() throws IOException {
+        List<ImportRow> rows = readAll(new NdjsonImportReader(input("""
+                {"type":"METERING_POINT","countryCode":"EE","location":{"streetAddress":"Narva mnt 5","city":"Tallinn","postalCode":"10117","countryCode":"EE"},"characteristics":[{"code":"C1","type":"CONSUMPTION_TYPE","value":"RESIDENTIAL"}]}
+
+                {"type":"CONNECTION_POINT","countryCode":"FI","location":{"streetAddress":"Mannerheimintie 1","city":"Helsinki","postalCode":"00100","countryCode":"FI"}}
+                """), new ObjectMapper()));
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).line()).isEqualTo(1);
+        assertThat(rows.get(0).request().getCharacteristics()).singleElement()
+                .satisfies(c -> assertThat(c.getType()).isEqualTo(CharacteristicType.CONSUMPTION_TYPE));
+        assertThat(rows.get(1).line()).isEqualTo(3);
+        assertThat(rows.get(1).request().getType()).isEqualTo(ResourceType.CONNECTION_POINT);
+    }
+
+    @Test
+    void ndjson_MalformedLineIsReportedAndReadingContinues() throws IOException {
+        List<ImportRow> rows = readAll(new NdjsonImportReader(input("""
+                {"type":"METERING_POINT",
+                {"type":"UNKNOWN_TYPE","countryCode":"EE"}
+                {"type":"METERING_POINT","countryCode":"EE"}
+                """), new ObjectMapper()));
+
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(0).parseError()).startsWith("Malformed JSON");
+        assertThat(rows.get(1).parseError()).isNotNull();
+        assertThat(rows.get(2).request().getCountryCode()).isEqualTo("EE");
+    }
+
+    @Test
+    void csv_ParsesQuotedFieldsAndCharacteristics() throws IOException {
+        List<ImportRow> rows = readAll(new CsvImportReader(input(CSV_HEADER +
+                "METERING_POINT,EE,\"Narva mnt 5, \"\"B\"\"\",Tallinn,10117,EE,C1:CONSUMPTION_TYPE:RESIDENTIAL;C2:CHARGING_POINT:1\n" +
+                "CONNECTION_POINT,FI,Mannerheimintie 1,Helsinki,00100,FI,\n")));
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).line()).isEqualTo(2);
+        assertThat(rows.get(0).request().getLocation().getStreetAddress()).isEqualTo("Narva mnt 5, \"B\"");
+        assertThat(rows.get(0).request().getCharacteristics()).hasSize(2);
+        assertThat(rows.get(0).request().getCharacteristics().get(1).getValue()).isEqualTo("1");
+        assertThat(rows.get(1).request().getCharacteristics()).isEmpty();
+    }
+
+    @Test
+    void csv_EmptyCellIsMissingAndUnknownEnumIsMalformed() throws IOException {
+        List<ImportRow> rows = readAll(new CsvImportReader(input(CSV_HEADER +
+                "METERING_POINT,EE,,Tallinn,10117,EE,\n" +
+                "METERING_POINT,EE,Narva mnt 5,Tallinn,10117,EE,C1:COLOUR:RED\n")));
+
+        assertThat(rows.get(0).request().getLocation().getStreetAddress()).isNull();
+        assertThat(rows.get(1).parseError()).isEqualTo("Unknown characteristic type: COLOUR");
+    }
+
+    @Test
+    void csv_MissingHeaderColumn_ThrowsInvalidImport() {
+        CsvImportReader reader = new CsvImportReader(input("type,countryCode\nMETERING_POINT,EE\n"));
+
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(InvalidImportException.class)
+                .hasMessageContaining("streetAddress");
+    }
+
+    private static List<ImportRow> readAll(ImportRowReader reader) throws IOException {
+        List<ImportRow> rows = new ArrayList<>();
+        try (reader) {
+            ImportRow row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private static ByteArrayInputStream input(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
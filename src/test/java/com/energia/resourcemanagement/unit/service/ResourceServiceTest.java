@@ -1,5 +1,7 @@
 package com.energia.resourcemanagement.unit.service;
 
+import com.energia.resourcemanagement.cache.EncodedResponseCache;
+import com.energia.resourcemanagement.cache.ResourceResponseCache;
 import com.energia.resourcemanagement.domain.entity.Characteristic;
 import com.energia.resourcemanagement.domain.entity.Location;
 import com.energia.resourcemanagement.domain.entity.Resource;
@@ -7,34 +9,77 @@ import com.energia.resourcemanagement.domain.enums.CharacteristicType;
 import com.energia.resourcemanagement.domain.enums.EventType;
 import com.energia.resourcemanagement.domain.enums.ResourceType;
 import com.energia.resourcemanagement.dto.common.CharacteristicDTO;
+import com.energia.resourcemanagement.dto.common.ErrorResponse;
 import com.energia.resourcemanagement.dto.common.LocationDTO;
+import com.energia.resourcemanagement.dto.common.LocationCursor;
+import com.energia.resourcemanagement.dto.common.ResourceCursor;
+import com.energia.resourcemanagement.dto.projection.CharacteristicRow;
+import com.energia.resourcemanagement.dto.projection.ResourceRow;
 import com.energia.resourcemanagement.dto.request.CreateResourceRequest;
+import com.energia.resourcemanagement.dto.request.LocationSearchRequest;
+import com.energia.resourcemanagement.dto.request.ResourceSearchRequest;
 import com.energia.resourcemanagement.dto.request.UpdateResourceRequest;
+import com.energia.resourcemanagement.dto.response.BatchCreateResponse;
+import com.energia.resourcemanagement.dto.response.CursorPage;
 import com.energia.resourcemanagement.dto.response.ResourceResponse;
+import com.energia.resourcemanagement.dto.response.ResourceStatsResponse;
 import com.energia.resourcemanagement.exception.DuplicateCharacteristicException;
+import com.energia.resourcemanagement.exception.ExportCancelledException;
+import com.energia.resourcemanagement.exception.InvalidCursorException;
+import com.energia.resourcemanagement.exception.InvalidSearchException;
 import com.energia.resourcemanagement.exception.ResourceNotFoundException;
+import com.energia.resourcemanagement.kafka.event.ResourceDelta;
 import com.energia.resourcemanagement.kafka.event.ResourceEvent;
+import com.energia.resourcemanagement.kafka.event.UpdateEventMode;
+import com.energia.resourcemanagement.kafka.outbox.OutboxEventWriter;
 import com.energia.resourcemanagement.kafka.producer.ResourceEventProducer;
 import com.energia.resourcemanagement.mapper.ResourceMapper;
+import com.energia.resourcemanagement.repository.ChangeTrackingRepository;
+import com.energia.resourcemanagement.repository.CharacteristicRepository;
 import com.energia.resourcemanagement.repository.ResourceRepository;
+import com.energia.resourcemanagement.repository.ResourceCounterRepository;
+import com.energia.resourcemanagement.repository.ResourceSearchRepository;
+import com.energia.resourcemanagement.repository.ResourceSearchRepository.LocationMatch;
+import com.energia.resourcemanagement.service.ExportProgressListener;
+import com.energia.resourcemanagement.service.ExportRange;
+import com.energia.resourcemanagement.service.impl.CharacteristicValidator;
 import com.energia.resourcemanagement.service.impl.ResourceServiceImpl;
+import com.energia.resourcemanagement.exception.InvalidPatchException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -47,17 +92,56 @@ class ResourceServiceTest {
     @Mock
     private ResourceRepository resourceRepository;
 
+    @Mock
+    private CharacteristicRepository characteristicRepository;
+
+    @Mock
+    private ChangeTrackingRepository changeTrackingRepository;
+
+    @Mock
+    private ResourceSearchRepository resourceSearchRepository;
+
+    @Mock
+    private ResourceCounterRepository resourceCounterRepository;
+
     @Mock
     private ResourceMapper resourceMapper;
 
     @Mock
     private ResourceEventProducer eventProducer;
 
+    @Mock
+    private OutboxEventWriter outboxEventWriter;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private CharacteristicValidator characteristicValidator = new CharacteristicValidator();
+
+    @Spy
+    private ResourceResponseCache resourceCache =
+            new ResourceResponseCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+
+    @Spy
+    private EncodedResponseCache encodedResponseCache = new EncodedResponseCache(
+            new ObjectMapper(), new SimpleMeterRegistry(), true, 100, Duration.ofMinutes(10));
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private ResourceServiceImpl resourceService;
 
     private UUID resourceId;
     private Resource resource;
+    private ResourceRow resourceRow;
     private ResourceResponse resourceResponse;
     private CreateResourceRequest createRequest;
     private UpdateResourceRequest updateRequest;
@@ -79,6 +163,9 @@ class ResourceServiceTest {
                 .version(0L)
                 .build();
 
+        resourceRow = new ResourceRow(resourceId, ResourceType.METERING_POINT, "EE",
+                "Test Street", "Tallinn", "12345", "EE", null, null, 0L);
+
         resourceResponse = ResourceResponse.builder()
                 .id(resourceId)
                 .type(ResourceType.METERING_POINT)
@@ -139,7 +226,9 @@ class ResourceServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(resourceId);
         verify(resourceRepository).save(any(Resource.class));
-        verify(eventProducer).sendResourceEvent(any(ResourceEvent.class));
+        verify(outboxEventWriter).append(any(ResourceEvent.class));
+        assertThat(meterRegistry.get("resource.characteristics").tag("operation", "create").summary().totalAmount())
+                .isEqualTo(1);
     }
 
     @Test
@@ -162,29 +251,123 @@ class ResourceServiceTest {
                 ))
                 .build();
 
-        when(resourceMapper.toEntity(requestWithDuplicates)).thenReturn(resource);
-        when(resourceMapper.toLocation(requestWithDuplicates.getLocation())).thenReturn(resource.getLocation());
-
         assertThatThrownBy(() -> resourceService.createResource(requestWithDuplicates))
                 .isInstanceOf(DuplicateCharacteristicException.class)
                 .hasMessageContaining("DUP1");
     }
 
     @Test
-    void getResource_Success() {
-        when(resourceRepository.findByIdWithCharacteristics(resourceId)).thenReturn(Optional.of(resource));
+    void createResources_SavesValidItemsAndQueuesEventsInOneBatch() {
+        CreateResourceRequest invalidRequest = CreateResourceRequest.builder()
+                .countryCode("EE")
+                .location(createRequest.getLocation())
+                .build();
+        when(resourceMapper.toEntity(createRequest)).thenReturn(resource);
+        when(resourceMapper.toLocation(createRequest.getLocation())).thenReturn(resource.getLocation());
+        when(resourceMapper.toCharacteristic(any(CharacteristicDTO.class))).thenReturn(new Characteristic());
+        when(resourceRepository.save(any(Resource.class))).thenReturn(resource);
         when(resourceMapper.toResponse(resource)).thenReturn(resourceResponse);
 
+        BatchCreateResponse result = resourceService.createResources(List.of(createRequest, invalidRequest));
+
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getResults()).extracting(BatchCreateResponse.ItemResult::getStatus)
+                .containsExactly(BatchCreateResponse.ItemStatus.CREATED, BatchCreateResponse.ItemStatus.FAILED);
+        assertThat(result.getResults().get(1).getErrors())
+                .extracting(ErrorResponse.ValidationError::getField)
+                .containsExactly("type");
+
+        verify(resourceRepository, times(1)).save(any(Resource.class));
+        verify(outboxEventWriter).appendAll(argThat(events -> events.size() == 1));
+        verify(outboxEventWriter, never()).append(any());
+    }
+
+    @Test
+    void createResources_DuplicateCharacteristicsRejectOnlyThatItem() {
+        CharacteristicDTO duplicate = createRequest.getCharacteristics().get(0);
+        CreateResourceRequest requestWithDuplicates = CreateResourceRequest.builder()
+                .type(ResourceType.METERING_POINT)
+                .countryCode("EE")
+                .location(createRequest.getLocation())
+                .characteristics(List.of(duplicate, duplicate))
+                .build();
+
+        BatchCreateResponse result = resourceService.createResources(List.of(requestWithDuplicates));
+
+        assertThat(result.getCreated()).isZero();
+        assertThat(result.getResults().get(0).getErrors().get(0).getMessage()).contains("TEST1");
+        verify(resourceRepository, never()).save(any());
+        verify(outboxEventWriter).appendAll(List.of());
+    }
+
+    @Test
+    void getResource_Success() {
+        CharacteristicRow characteristicRow = new CharacteristicRow(resourceId, "TEST1",
+                CharacteristicType.CONSUMPTION_TYPE, "RESIDENTIAL");
+        CharacteristicDTO characteristicDTO = CharacteristicDTO.builder()
+                .code("TEST1")
+                .type(CharacteristicType.CONSUMPTION_TYPE)
+                .value("RESIDENTIAL")
+                .build();
+        when(resourceRepository.findRowById(resourceId)).thenReturn(Optional.of(resourceRow));
+        when(characteristicRepository.findRowsByResourceIdIn(List.of(resourceId))).thenReturn(List.of(characteristicRow));
+        when(resourceMapper.toResponse(resourceRow)).thenReturn(resourceResponse);
+        when(resourceMapper.toCharacteristicDTO(characteristicRow)).thenReturn(characteristicDTO);
+
         ResourceResponse result = resourceService.getResource(resourceId);
 
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(resourceId);
-        verify(resourceRepository).findByIdWithCharacteristics(resourceId);
+        assertThat(result.getCharacteristics()).containsExactly(characteristicDTO);
+        // Read path never hydrates entities
+        verify(resourceRepository, never()).findByIdWithCharacteristics(any());
+        verify(resourceMapper, never()).toResponse(any(Resource.class));
+    }
+
+    @Test
+    void getResource_SecondReadServedFromCache() {
+        when(resourceRepository.findRowById(resourceId)).thenReturn(Optional.of(resourceRow));
+        when(resourceMapper.toResponse(resourceRow)).thenReturn(resourceResponse);
+
+        resourceService.getResource(resourceId);
+        ResourceResponse result = resourceService.getResource(resourceId);
+
+        assertThat(result).isSameAs(resourceResponse);
+        verify(resourceRepository, times(1)).findRowById(resourceId);
+        verify(resourceMapper, times(1)).toResponse(resourceRow);
+    }
+
+    @Test
+    void getResource_StaleReadDoesNotReplaceNewerCachedVersion() {
+        ResourceResponse newer = ResourceResponse.builder().id(resourceId).version(3L).build();
+        resourceCache.put(newer);
+        resourceCache.put(ResourceResponse.builder().id(resourceId).version(2L).build());
+
+        assertThat(resourceService.getResource(resourceId)).isSameAs(newer);
+        verifyNoInteractions(resourceRepository);
+    }
+
+    @Test
+    void getResourceVersion_UsesProjectionOnly() {
+        when(resourceRepository.findVersionById(resourceId)).thenReturn(Optional.of(4L));
+
+        assertThat(resourceService.getResourceVersion(resourceId)).isEqualTo(4L);
+        verify(resourceRepository, never()).findByIdWithCharacteristics(any());
+        verifyNoInteractions(resourceMapper);
+    }
+
+    @Test
+    void getResourceVersion_NotFound() {
+        when(resourceRepository.findVersionById(resourceId)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> resourceService.getResourceVersion(resourceId))
+                .isInstanceOf(ResourceNotFoundException.class);
     }
 
     @Test
     void getResource_NotFound() {
-        when(resourceRepository.findByIdWithCharacteristics(resourceId)).thenReturn(Optional.empty());
+        when(resourceRepository.findRowById(resourceId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> resourceService.getResource(resourceId))
                 .isInstanceOf(ResourceNotFoundException.class)
@@ -194,62 +377,265 @@ class ResourceServiceTest {
     @Test
     void getAllResources_WithAllFilters() {
         Pageable pageable = PageRequest.of(0, 20);
-        Page<Resource> resourcePage = new PageImpl<>(List.of(resource));
+        List<ResourceRow> rows = List.of(resourceRow);
 
-        when(resourceRepository.findByCountryCodeAndType("EE", ResourceType.METERING_POINT, pageable))
-                .thenReturn(resourcePage);
-        when(resourceMapper.toResponse(resource)).thenReturn(resourceResponse);
+        when(resourceRepository.findRowsByCountryCodeAndType("EE", ResourceType.METERING_POINT, pageable))
+                .thenReturn(rows);
+        when(resourceMapper.toResponse(resourceRow)).thenReturn(resourceResponse);
 
         Page<ResourceResponse> result = resourceService.getAllResources("EE", "METERING_POINT", pageable);
 
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
-        verify(resourceRepository).findByCountryCodeAndType("EE", ResourceType.METERING_POINT, pageable);
+        verify(resourceRepository).findRowsByCountryCodeAndType("EE", ResourceType.METERING_POINT, pageable);
+    }
+
+    @Test
+    void searchResources_AttachesCharacteristicsToMatchingRows() {
+        Pageable pageable = PageRequest.of(0, 20);
+        ResourceSearchRequest request = ResourceSearchRequest.builder()
+                .countryCode("EE")
+                .characteristics(List.of(ResourceSearchRequest.CharacteristicPredicate.builder()
+                        .type(CharacteristicType.CONSUMPTION_TYPE)
+                        .value("RESIDENTIAL")
+                        .build()))
+                .build();
+        CharacteristicRow characteristicRow = new CharacteristicRow(resourceId, "TEST1",
+                CharacteristicType.CONSUMPTION_TYPE, "RESIDENTIAL");
+        CharacteristicDTO characteristicDTO = CharacteristicDTO.builder()
+                .code("TEST1")
+                .type(CharacteristicType.CONSUMPTION_TYPE)
+                .value("RESIDENTIAL")
+                .build();
+        when(resourceSearchRepository.search(request, pageable)).thenReturn(new PageImpl<>(List.of(resourceRow), pageable, 41));
+        when(resourceMapper.toResponse(resourceRow)).thenReturn(resourceResponse);
+        when(characteristicRepository.findRowsByResourceIdIn(List.of(resourceId))).thenReturn(List.of(characteristicRow));
+        when(resourceMapper.toCharacteristicDTO(characteristicRow)).thenReturn(characteristicDTO);
+
+        Page<ResourceResponse> result = resourceService.searchResources(request, pageable);
+
+        assertThat(result.getTotalElements()).isEqualTo(41);
+        assertThat(result.getContent()).containsExactly(resourceResponse);
+        assertThat(resourceResponse.getCharacteristics()).containsExactly(characteristicDTO);
     }
 
     @Test
     void getAllResources_WithCountryCodeOnly() {
         Pageable pageable = PageRequest.of(0, 20);
-        Page<Resource> resourcePage = new PageImpl<>(List.of(resource));
+        List<ResourceRow> rows = List.of(resourceRow);
 
-        when(resourceRepository.findByCountryCode("EE", pageable)).thenReturn(resourcePage);
-        when(resourceMapper.toResponse(resource)).thenReturn(resourceResponse);
+        when(resourceRepository.findRowsByCountryCode("EE", pageable)).thenReturn(rows);
+        when(resourceMapper.toResponse(resourceRow)).thenReturn(resourceResponse);
 
         Page<ResourceResponse> result = resourceService.getAllResources("EE", null, pageable);
 
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
-        verify(resourceRepository).findByCountryCode("EE", pageable);
+        verify(resourceRepository).findRowsByCountryCode("EE", pageable);
     }
 
     @Test
     void getAllResources_WithTypeOnly() {
         Pageable pageable = PageRequest.of(0, 20);
-        Page<Resource> resourcePage = new PageImpl<>(List.of(resource));
+        List<ResourceRow> rows = List.of(resourceRow);
 
-        when(resourceRepository.findByType(ResourceType.METERING_POINT, pageable)).thenReturn(resourcePage);
-        when(resourceMapper.toResponse(resource)).thenReturn(resourceResponse);
+        when(resourceRepository.findRowsByType(ResourceType.METERING_POINT, pageable)).thenReturn(rows);
+        when(resourceMapper.toResponse(resourceRow)).thenReturn(resourceResponse);
 
         Page<ResourceResponse> result = resourceService.getAllResources(null, "METERING_POINT", pageable);
 
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
-        verify(resourceRepository).findByType(ResourceType.METERING_POINT, pageable);
+        verify(resourceRepository).findRowsByType(ResourceType.METERING_POINT, pageable);
+    }
+
+    @Test
+    void getAllResources_LoadsCharacteristicsForWholePageInOneQuery() {
+        Pageable pageable = PageRequest.of(0, 20);
+        ResourceRow other = new ResourceRow(UUID.randomUUID(), ResourceType.METERING_POINT, "EE",
+                "Other Street", "Tallinn", "12345", "EE", null, null, 0L);
+        CharacteristicRow characteristicRow = new CharacteristicRow(other.getId(), "TEST1",
+                CharacteristicType.CONSUMPTION_TYPE, "RESIDENTIAL");
+        CharacteristicDTO characteristicDTO = CharacteristicDTO.builder()
+                .code("TEST1")
+                .type(CharacteristicType.CONSUMPTION_TYPE)
+                .value("RESIDENTIAL")
+                .build();
+        ResourceResponse otherResponse = ResourceResponse.builder().id(other.getId()).build();
+
+        when(resourceRepository.findRows(pageable)).thenReturn(List.of(resourceRow, other));
+        when(characteristicRepository.findRowsByResourceIdIn(List.of(resourceId, other.getId())))
+                .thenReturn(List.of(characteristicRow));
+        when(resourceMapper.toResponse(resourceRow)).thenReturn(resourceResponse);
+        when(resourceMapper.toResponse(other)).thenReturn(otherResponse);
+        when(resourceMapper.toCharacteristicDTO(characteristicRow)).thenReturn(characteristicDTO);
+
+        Page<ResourceResponse> result = resourceService.getAllResources(null, null, pageable);
+
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.getContent().get(0).getCharacteristics()).isEmpty();
+        assertThat(result.getContent().get(1).getCharacteristics()).containsExactly(characteristicDTO);
+        verify(characteristicRepository, times(1)).findRowsByResourceIdIn(any());
+        verify(resourceMapper, never()).toResponse(any(Resource.class));
     }
 
     @Test
     void getAllResources_NoFilters() {
         Pageable pageable = PageRequest.of(0, 20);
-        Page<Resource> resourcePage = new PageImpl<>(List.of(resource));
+        List<ResourceRow> rows = List.of(resourceRow);
 
-        when(resourceRepository.findAll(pageable)).thenReturn(resourcePage);
-        when(resourceMapper.toResponse(resource)).thenReturn(resourceResponse);
+        when(resourceRepository.findRows(pageable)).thenReturn(rows);
+        when(resourceMapper.toResponse(resourceRow)).thenReturn(resourceResponse);
 
         Page<ResourceResponse> result = resourceService.getAllResources(null, null, pageable);
 
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
-        verify(resourceRepository).findAll(pageable);
+        verify(resourceRepository).findRows(pageable);
+    }
+
+    @Test
+    void getAllResources_TotalComesFromCounters() {
+        Pageable pageable = PageRequest.of(2, 1);
+
+        when(resourceRepository.findRowsByCountryCode("EE", pageable)).thenReturn(List.of(resourceRow));
+        when(resourceCounterRepository.countResources("EE", null)).thenReturn(41L);
+        when(resourceMapper.toResponse(resourceRow)).thenReturn(resourceResponse);
+
+        Page<ResourceResponse> result = resourceService.getAllResources("EE", null, pageable);
+
+        assertThat(result.getTotalElements()).isEqualTo(41);
+        assertThat(result.getContent()).containsExactly(resourceResponse);
+    }
+
+    @Test
+    void getStats_SplitsResourceAndCharacteristicCounts() {
+        when(resourceCounterRepository.findCounts("EE", null)).thenReturn(List.of(
+                new ResourceCounterRepository.Count("EE", ResourceType.CONNECTION_POINT, null, null, 3),
+                new ResourceCounterRepository.Count("EE", ResourceType.CONNECTION_POINT,
+                        CharacteristicType.CHARGING_POINT, "CCS", 2),
+                new ResourceCounterRepository.Count("EE", ResourceType.METERING_POINT, null, null, 4)));
+
+        ResourceStatsResponse stats = resourceService.getStats("EE", null);
+
+        assertThat(stats.getTotal()).isEqualTo(7);
+        assertThat(stats.getResources()).extracting(ResourceStatsResponse.ResourceCount::getCount)
+                .containsExactly(3L, 4L);
+        assertThat(stats.getCharacteristics()).singleElement().satisfies(count -> {
+            assertThat(count.getCharacteristicType()).isEqualTo(CharacteristicType.CHARGING_POINT);
+            assertThat(count.getValue()).isEqualTo("CCS");
+            assertThat(count.getCount()).isEqualTo(2);
+        });
+    }
+
+    @Test
+    void getResourcesByCursor_FirstPageHasNext() {
+        ResourceRow second = new ResourceRow(UUID.randomUUID(), ResourceType.METERING_POINT, "EE",
+                "Other Street", "Tallinn", "12345", "EE", LocalDateTime.of(2024, 1, 1, 10, 0), null, 0L);
+        resourceRow.setCreatedAt(LocalDateTime.of(2024, 1, 2, 10, 0));
+
+        when(resourceRepository.findByCountryCodeOrderByCreatedAtDescIdDesc("EE", Limit.of(2)))
+                .thenReturn(List.of(resourceRow, second));
+        when(resourceMapper.toResponse(resourceRow)).thenReturn(resourceResponse);
+
+        CursorPage<ResourceResponse> result = resourceService.getResourcesByCursor("EE", null, null, 1);
+
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.isHasNext()).isTrue();
+
+        ResourceCursor cursor = ResourceCursor.decode(result.getNextCursor());
+        assertThat(cursor.getId()).isEqualTo(resourceId);
+        assertThat(cursor.getCreatedAt()).isEqualTo(resourceRow.getCreatedAt());
+    }
+
+    @Test
+    void getResourcesByCursor_WithCursor_LastPage() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 2, 10, 0);
+        UUID lastSeenId = UUID.randomUUID();
+        String cursor = new ResourceCursor(createdAt, lastSeenId).encode();
+
+        when(resourceRepository.findAfterCursor(createdAt, lastSeenId, Limit.of(21)))
+                .thenReturn(List.of(resourceRow));
+        when(resourceMapper.toResponse(resourceRow)).thenReturn(resourceResponse);
+
+        CursorPage<ResourceResponse> result = resourceService.getResourcesByCursor(null, null, cursor, 20);
+
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getResourcesByCursor_InvalidCursor() {
+        assertThatThrownBy(() -> resourceService.getResourcesByCursor(null, null, "not-a-cursor", 20))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void streamResources_WritesOneJsonLinePerResource() throws Exception {
+        ResourceRow second = new ResourceRow(UUID.randomUUID(), ResourceType.METERING_POINT, "EE",
+                "Other Street", "Tallinn", "12345", "EE", null, null, 0L);
+        ResourceResponse secondResponse = ResourceResponse.builder()
+                .id(second.getId())
+                .type(ResourceType.METERING_POINT)
+                .countryCode("EE")
+                .build();
+
+        when(resourceRepository.streamRowsByType(ResourceType.METERING_POINT))
+                .thenReturn(Stream.of(resourceRow, second));
+        when(resourceMapper.toResponse(resourceRow)).thenReturn(resourceResponse);
+        when(resourceMapper.toResponse(second)).thenReturn(secondResponse);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long streamed = resourceService.streamResources(null, "METERING_POINT", out);
+
+        assertThat(streamed).isEqualTo(2);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("id").asText()).isEqualTo(resourceId.toString());
+        assertThat(objectMapper.readTree(lines[1]).get("location").isNull()).isTrue();
+        verify(characteristicRepository).findRowsByResourceIdIn(List.of(resourceId, second.getId()));
+    }
+
+    @Test
+    void searchByLocation_StreetSearchPagesByDistance() {
+        LocationSearchRequest request = LocationSearchRequest.builder()
+                .city("Tallinn")
+                .street("Test Stret")
+                .build();
+        ResourceRow second = new ResourceRow(UUID.randomUUID(), ResourceType.METERING_POINT, "EE",
+                "Test Street 2", "Tallinn", "12345", "EE", LocalDateTime.of(2024, 1, 1, 10, 0), null, 0L);
+
+        when(resourceSearchRepository.searchByLocation(request, null, 2))
+                .thenReturn(List.of(new LocationMatch(resourceRow, 0.2f), new LocationMatch(second, 0.3f)));
+        when(resourceMapper.toResponse(resourceRow)).thenReturn(resourceResponse);
+
+        CursorPage<ResourceResponse> result = resourceService.searchByLocation(request, null, 1);
+
+        assertThat(result.getContent()).containsExactly(resourceResponse);
+        assertThat(result.isHasNext()).isTrue();
+
+        LocationCursor cursor = LocationCursor.decode(result.getNextCursor(), true);
+        assertThat(cursor.getDistance()).isEqualTo(0.2f);
+        assertThat(cursor.getId()).isEqualTo(resourceId);
+    }
+
+    @Test
+    void searchByLocation_WithoutLocationCriteria_ThrowsException() {
+        LocationSearchRequest request = LocationSearchRequest.builder().countryCode("EE").build();
+
+        assertThatThrownBy(() -> resourceService.searchByLocation(request, null, 20))
+                .isInstanceOf(InvalidSearchException.class);
+        verifyNoInteractions(resourceSearchRepository);
+    }
+
+    @Test
+    void searchByLocation_ChronologicalCursorRejectedForStreetSearch() {
+        LocationSearchRequest request = LocationSearchRequest.builder().street("Test Street").build();
+        String cursor = LocationCursor.chronological(LocalDateTime.of(2024, 1, 2, 10, 0), resourceId).encode();
+
+        assertThatThrownBy(() -> resourceService.searchByLocation(request, cursor, 20))
+                .isInstanceOf(InvalidCursorException.class);
     }
 
     @Test
@@ -263,14 +649,185 @@ class ResourceServiceTest {
                         .countryCode("EE")
                         .build()
         );
-        when(resourceRepository.save(resource)).thenReturn(resource);
+        when(resourceRepository.saveAndFlush(resource)).thenReturn(resource);
         when(resourceMapper.toResponse(resource)).thenReturn(resourceResponse);
 
         ResourceResponse result = resourceService.updateResource(resourceId, updateRequest, null);
 
         assertThat(result).isNotNull();
-        verify(resourceRepository).save(resource);
-        verify(eventProducer).sendResourceEvent(any(ResourceEvent.class));
+        verify(resourceRepository).saveAndFlush(resource);
+        verify(outboxEventWriter).append(any(ResourceEvent.class));
+    }
+
+    @Test
+    void updateResource_ReplacesCachedResponse() {
+        resourceCache.put(ResourceResponse.builder().id(resourceId).version(0L).build());
+        ResourceResponse updated = ResourceResponse.builder().id(resourceId).version(1L).build();
+        when(resourceRepository.findByIdWithCharacteristics(resourceId)).thenReturn(Optional.of(resource));
+        when(resourceRepository.saveAndFlush(resource)).thenReturn(resource);
+        when(resourceMapper.toResponse(resource)).thenReturn(updated);
+
+        resourceService.updateResource(resourceId, updateRequest, null);
+
+        assertThat(resourceService.getResource(resourceId)).isSameAs(updated);
+    }
+
+    @Test
+    void updateResource_EvictsEncodedResponse() {
+        ResourceResponse previous = ResourceResponse.builder().id(resourceId).version(0L).build();
+        ResourceResponse updated = ResourceResponse.builder().id(resourceId).version(1L).build();
+        encodedResponseCache.encode(previous);
+        when(resourceRepository.findByIdWithCharacteristics(resourceId)).thenReturn(Optional.of(resource));
+        when(resourceRepository.saveAndFlush(resource)).thenReturn(resource);
+        when(resourceMapper.toResponse(resource)).thenReturn(updated);
+
+        resourceService.updateResource(resourceId, updateRequest, null);
+        assertThat(encodedResponseCache.get(resourceId)).isEmpty();
+
+        // A read that encoded the old version before the update committed
+        encodedResponseCache.encode(previous);
+        assertThat(encodedResponseCache.get(resourceId)).isEmpty();
+
+        encodedResponseCache.encode(updated);
+        assertThat(encodedResponseCache.get(resourceId)).hasValueSatisfying(entry -> {
+            assertThat(entry.version()).isEqualTo(1L);
+            assertThat(new String(entry.identity(), StandardCharsets.UTF_8)).contains(resourceId.toString());
+        });
+    }
+
+    @Test
+    void updateResource_DiffsCharacteristicsByCodeAndType() {
+        Characteristic unchanged = characteristic("C1", CharacteristicType.CONSUMPTION_TYPE, "RESIDENTIAL");
+        Characteristic changed = characteristic("S1", CharacteristicType.CONNECTION_POINT_STATUS, "ACTIVE");
+        Characteristic removed = characteristic("P1", CharacteristicType.CHARGING_POINT, "AC");
+        resource.addCharacteristic(unchanged);
+        resource.addCharacteristic(changed);
+        resource.addCharacteristic(removed);
+
+        CharacteristicDTO added = CharacteristicDTO.builder()
+                .code("P2").type(CharacteristicType.CHARGING_POINT).value("DC").build();
+        UpdateResourceRequest request = UpdateResourceRequest.builder()
+                .characteristics(List.of(
+                        CharacteristicDTO.builder().code("C1").type(CharacteristicType.CONSUMPTION_TYPE).value("RESIDENTIAL").build(),
+                        CharacteristicDTO.builder().code("S1").type(CharacteristicType.CONNECTION_POINT_STATUS).value("INACTIVE").build(),
+                        added))
+                .build();
+        when(resourceRepository.findByIdWithCharacteristics(resourceId)).thenReturn(Optional.of(resource));
+        when(resourceMapper.toCharacteristic(added)).thenReturn(characteristic("P2", CharacteristicType.CHARGING_POINT, "DC"));
+        when(resourceRepository.saveAndFlush(resource)).thenReturn(resource);
+        when(resourceMapper.toResponse(resource)).thenReturn(resourceResponse);
+
+        resourceService.updateResource(resourceId, request, null);
+
+        assertThat(resource.getCharacteristics()).extracting(Characteristic::getCode).containsExactly("C1", "S1", "P2");
+        // Existing rows are kept as the same managed instances so only the changed one is dirty
+        assertThat(resource.getCharacteristics().get(0)).isSameAs(unchanged);
+        assertThat(resource.getCharacteristics().get(1)).isSameAs(changed);
+        assertThat(changed.getValue()).isEqualTo("INACTIVE");
+        assertThat(removed.getResource()).isNull();
+        verify(resourceMapper, times(1)).toCharacteristic(any());
+    }
+
+    @Test
+    void updateResource_DeltaMode_PublishesOnlyWhatChanged() {
+        ReflectionTestUtils.setField(resourceService, "updateEventMode", UpdateEventMode.DELTA);
+        ReflectionTestUtils.setField(resourceService, "snapshotEvery", 20);
+        CharacteristicDTO status = CharacteristicDTO.builder()
+                .code("S1").type(CharacteristicType.CONNECTION_POINT_STATUS).value("ACTIVE").build();
+        CharacteristicDTO charging = CharacteristicDTO.builder()
+                .code("P1").type(CharacteristicType.CHARGING_POINT).value("AC").build();
+        CharacteristicDTO consumption = CharacteristicDTO.builder()
+                .code("C1").type(CharacteristicType.CONSUMPTION_TYPE).value("RESIDENTIAL").build();
+        ResourceResponse before = ResourceResponse.builder()
+                .id(resourceId).location(resourceResponse.getLocation()).version(4L)
+                .characteristics(List.of(status, charging, consumption))
+                .build();
+        CharacteristicDTO flipped = CharacteristicDTO.builder()
+                .code("S1").type(CharacteristicType.CONNECTION_POINT_STATUS).value("INACTIVE").build();
+        ResourceResponse after = ResourceResponse.builder()
+                .id(resourceId).location(resourceResponse.getLocation()).version(5L)
+                .characteristics(List.of(flipped, consumption))
+                .build();
+        when(resourceRepository.findByIdWithCharacteristics(resourceId)).thenReturn(Optional.of(resource));
+        when(resourceRepository.saveAndFlush(resource)).thenReturn(resource);
+        when(resourceMapper.toResponse(resource)).thenReturn(before, after);
+
+        ResourceResponse result = resourceService.updateResource(resourceId, UpdateResourceRequest.builder().build(), null);
+
+        assertThat(result).isSameAs(after);
+        ArgumentCaptor<ResourceEvent> event = ArgumentCaptor.forClass(ResourceEvent.class);
+        verify(outboxEventWriter).append(event.capture());
+        assertThat(event.getValue().getEventType()).isEqualTo(EventType.RESOURCE_UPDATED);
+        assertThat(event.getValue().getResource()).isNull();
+        ResourceDelta delta = event.getValue().getDelta();
+        assertThat(delta.getFromVersion()).isEqualTo(4L);
+        assertThat(delta.getToVersion()).isEqualTo(5L);
+        assertThat(delta.getLocation()).isNull();
+        assertThat(delta.getAddedCharacteristics()).isEmpty();
+        assertThat(delta.getChangedCharacteristics()).containsExactly(flipped);
+        assertThat(delta.getRemovedCharacteristics())
+                .containsExactly(new ResourceDelta.CharacteristicKey("P1", CharacteristicType.CHARGING_POINT));
+    }
+
+    @Test
+    void updateResource_DeltaMode_SendsFullSnapshotEveryNthVersion() {
+        ReflectionTestUtils.setField(resourceService, "updateEventMode", UpdateEventMode.DELTA);
+        ReflectionTestUtils.setField(resourceService, "snapshotEvery", 20);
+        ResourceResponse before = ResourceResponse.builder().id(resourceId).version(19L).build();
+        ResourceResponse after = ResourceResponse.builder().id(resourceId).version(20L).build();
+        when(resourceRepository.findByIdWithCharacteristics(resourceId)).thenReturn(Optional.of(resource));
+        when(resourceRepository.saveAndFlush(resource)).thenReturn(resource);
+        when(resourceMapper.toResponse(resource)).thenReturn(before, after);
+
+        resourceService.updateResource(resourceId, UpdateResourceRequest.builder().build(), null);
+
+        ArgumentCaptor<ResourceEvent> event = ArgumentCaptor.forClass(ResourceEvent.class);
+        verify(outboxEventWriter).append(event.capture());
+        assertThat(event.getValue().getResource()).isSameAs(after);
+        assertThat(event.getValue().getDelta()).isNull();
+    }
+
+    @Test
+    void patchResource_ChangesAndRemovesSingleCharacteristics() throws Exception {
+        resource.addCharacteristic(characteristic("C1", CharacteristicType.CONSUMPTION_TYPE, "RESIDENTIAL"));
+        resource.addCharacteristic(characteristic("S1", CharacteristicType.CONNECTION_POINT_STATUS, "ACTIVE"));
+        Characteristic kept = resource.getCharacteristics().get(0);
+        when(resourceRepository.findByIdWithCharacteristics(resourceId)).thenReturn(Optional.of(resource));
+        when(resourceMapper.toLocationDTO(resource.getLocation())).thenReturn(resourceResponse.getLocation());
+        when(resourceMapper.toLocation(any(LocationDTO.class))).thenReturn(resource.getLocation());
+        when(resourceRepository.saveAndFlush(resource)).thenReturn(resource);
+        when(resourceMapper.toResponse(resource)).thenReturn(resourceResponse);
+
+        resourceService.patchResource(resourceId, objectMapper.readTree(
+                "{\"characteristics\": {\"CONSUMPTION_TYPE\": {\"C1\": \"COMMERCIAL\"}, " +
+                        "\"CONNECTION_POINT_STATUS\": {\"S1\": null}}}"), null);
+
+        assertThat(resource.getCharacteristics()).containsExactly(kept);
+        assertThat(kept.getValue()).isEqualTo("COMMERCIAL");
+        verify(resourceMapper, never()).toCharacteristic(any());
+        verify(outboxEventWriter).append(any(ResourceEvent.class));
+    }
+
+    @Test
+    void patchResource_RejectsImmutableField() throws Exception {
+        assertThatThrownBy(() -> resourceService.patchResource(resourceId,
+                objectMapper.readTree("{\"countryCode\": \"FI\"}"), null))
+                .isInstanceOf(InvalidPatchException.class)
+                .hasMessageContaining("countryCode");
+
+        verifyNoInteractions(resourceRepository);
+    }
+
+    @Test
+    void patchResource_ValidatesPatchedResult() throws Exception {
+        when(resourceRepository.findByIdWithCharacteristics(resourceId)).thenReturn(Optional.of(resource));
+        when(resourceMapper.toLocationDTO(resource.getLocation())).thenReturn(resourceResponse.getLocation());
+
+        assertThatThrownBy(() -> resourceService.patchResource(resourceId, objectMapper.readTree(
+                "{\"location\": {\"city\": null}, \"characteristics\": {\"CHARGING_POINT\": {\"bad\": \"AC\"}}}"), null))
+                .isInstanceOf(ConstraintViolationException.class);
+
+        verify(resourceRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -281,8 +838,8 @@ class ResourceServiceTest {
         assertThatThrownBy(() -> resourceService.updateResource(resourceId, updateRequest, 999L))
                 .isInstanceOf(ObjectOptimisticLockingFailureException.class);
 
-        verify(resourceRepository, never()).save(any());
-        verify(eventProducer, never()).sendResourceEvent(any());
+        verify(resourceRepository, never()).saveAndFlush(any());
+        verify(outboxEventWriter, never()).append(any());
     }
 
     @Test
@@ -303,13 +860,31 @@ class ResourceServiceTest {
         verify(resourceRepository).delete(resource);
 
         ArgumentCaptor<ResourceEvent> eventCaptor = ArgumentCaptor.forClass(ResourceEvent.class);
-        verify(eventProducer).sendResourceEvent(eventCaptor.capture());
+        verify(outboxEventWriter).append(eventCaptor.capture());
 
         ResourceEvent capturedEvent = eventCaptor.getValue();
         assertThat(capturedEvent.getEventType()).isEqualTo(EventType.RESOURCE_DELETED);
         assertThat(capturedEvent.getResourceId()).isEqualTo(resourceId);
     }
 
+    @Test
+    void deleteResource_CachedEntryCannotBeResurrected() {
+        when(resourceRepository.findById(resourceId)).thenReturn(Optional.of(resource));
+        when(resourceMapper.toResponse(resource)).thenReturn(resourceResponse);
+        resourceCache.put(resourceResponse);
+
+        resourceService.deleteResource(resourceId);
+        // A read that loaded the row before the delete committed
+        resourceCache.put(resourceResponse);
+
+        encodedResponseCache.encode(resourceResponse);
+
+        assertThatThrownBy(() -> resourceService.getResource(resourceId))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(encodedResponseCache.get(resourceId)).isEmpty();
+        verify(resourceRepository, never()).findByIdWithCharacteristics(resourceId);
+    }
+
     @Test
     void deleteResource_NotFound() {
         when(resourceRepository.findById(resourceId)).thenReturn(Optional.empty());
@@ -322,28 +897,124 @@ class ResourceServiceTest {
 
     @Test
     void exportAllToKafka_Success() {
-        List<Resource> resources = List.of(resource);
-        List<ResourceResponse> responses = List.of(resourceResponse);
+        Characteristic characteristic = Characteristic.builder()
+                .code("TEST1")
+                .type(CharacteristicType.CONSUMPTION_TYPE)
+                .value("RESIDENTIAL")
+                .build();
+        resource.addCharacteristic(characteristic);
+        CharacteristicDTO characteristicDTO = CharacteristicDTO.builder()
+                .code("TEST1")
+                .type(CharacteristicType.CONSUMPTION_TYPE)
+                .value("RESIDENTIAL")
+                .build();
+
+        when(resourceRepository.streamAll()).thenReturn(Stream.of(resource));
+        CharacteristicRow characteristicRow = new CharacteristicRow(resourceId, "TEST1",
+                CharacteristicType.CONSUMPTION_TYPE, "RESIDENTIAL");
+        when(characteristicRepository.findRowsByResourceIdIn(List.of(resourceId))).thenReturn(List.of(characteristicRow));
+        when(resourceMapper.toResponseWithoutCharacteristics(resource)).thenReturn(resourceResponse);
+        when(resourceMapper.toCharacteristicDTO(characteristicRow)).thenReturn(characteristicDTO);
+        when(eventProducer.sendBulkExport(any())).thenReturn(List.of(CompletableFuture.completedFuture(1)));
+
+        long exported = resourceService.exportAllToKafka(ExportProgressListener.NONE);
+
+        assertThat(exported).isEqualTo(1);
+        verify(eventProducer).sendBulkExport(List.of(resourceResponse));
+        assertThat(resourceResponse.getCharacteristics()).containsExactly(characteristicDTO);
+    }
+
+    @Test
+    void exportAllToKafka_SendsAndDetachesPerChunk() {
+        List<Resource> resources = new ArrayList<>();
+        IntStream.range(0, 501).forEach(i -> resources.add(Resource.builder()
+                .id(UUID.randomUUID())
+                .type(ResourceType.METERING_POINT)
+                .countryCode("EE")
+                .build()));
 
-        when(resourceRepository.findAllWithCharacteristics()).thenReturn(resources);
-        when(resourceMapper.toResponseList(resources)).thenReturn(responses);
+        when(resourceRepository.streamAll()).thenReturn(resources.stream());
+        when(resourceMapper.toResponseWithoutCharacteristics(any(Resource.class)))
+                .thenAnswer(invocation -> new ResourceResponse());
 
-        resourceService.exportAllToKafka();
+        long exported = resourceService.exportAllToKafka(ExportProgressListener.NONE);
 
-        verify(eventProducer).sendBulkExport(responses);
+        assertThat(exported).isEqualTo(501);
+        verify(characteristicRepository, times(2)).findRowsByResourceIdIn(any());
+        verify(eventProducer, times(2)).sendBulkExport(any());
+        verify(entityManager, times(2)).clear();
     }
 
     @Test
-    void getAllResourcesForExport_Success() {
-        List<Resource> resources = List.of(resource);
-        List<ResourceResponse> responses = List.of(resourceResponse);
+    void exportAllToKafka_ReportsProgressAndStopsWhenCancelled() {
+        List<Resource> resources = new ArrayList<>();
+        IntStream.range(0, 1200).forEach(i -> resources.add(Resource.builder()
+                .id(UUID.randomUUID())
+                .type(ResourceType.METERING_POINT)
+                .countryCode("EE")
+                .build()));
+
+        when(resourceRepository.streamAll()).thenReturn(resources.stream());
+        when(resourceMapper.toResponseWithoutCharacteristics(any(Resource.class)))
+                .thenAnswer(invocation -> new ResourceResponse());
+        when(eventProducer.sendBulkExport(any())).thenReturn(List.of(CompletableFuture.completedFuture(500)));
+
+        ExportProgressListener listener = mock(ExportProgressListener.class);
+        when(listener.isCancelled()).thenReturn(true);
+
+        assertThatThrownBy(() -> resourceService.exportAllToKafka(listener))
+                .isInstanceOf(ExportCancelledException.class)
+                .hasMessageContaining("500");
 
-        when(resourceRepository.findAllWithCharacteristics()).thenReturn(resources);
-        when(resourceMapper.toResponseList(resources)).thenReturn(responses);
+        verify(listener).onRowsRead(500);
+        verify(listener).onBatchSent();
+        verify(listener).onBatchAcked(500);
+        verify(eventProducer, times(1)).sendBulkExport(any());
+    }
 
-        List<ResourceResponse> result = resourceService.getAllResourcesForExport();
+    @Test
+    void exportRangeToKafka_StreamsOnlyThatRange() {
+        ExportRange bounded = ExportRange.split(2).get(0);
+        ExportRange openEnded = ExportRange.split(2).get(1);
+        when(resourceRepository.streamRange(bounded.from(), bounded.to())).thenReturn(Stream.of(resource));
+        when(resourceRepository.streamFrom(openEnded.from())).thenReturn(Stream.empty());
+        when(resourceMapper.toResponseWithoutCharacteristics(resource)).thenReturn(resourceResponse);
+        when(eventProducer.sendBulkExport(any())).thenReturn(List.of(CompletableFuture.completedFuture(1)));
+
+        assertThat(resourceService.exportRangeToKafka(bounded, ExportProgressListener.NONE)).isEqualTo(1);
+        assertThat(resourceService.exportRangeToKafka(openEnded, ExportProgressListener.NONE)).isZero();
+
+        verify(eventProducer).sendBulkExport(List.of(resourceResponse));
+        verify(resourceRepository, never()).streamAll();
+    }
 
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getId()).isEqualTo(resourceId);
+    @Test
+    void exportChangesToKafka_SendsChangedResourcesAndTombstones() {
+        UUID deletedId = UUID.randomUUID();
+        when(resourceRepository.streamChanged(10L, 20L)).thenReturn(Stream.of(resource));
+        when(resourceMapper.toResponseWithoutCharacteristics(resource)).thenReturn(resourceResponse);
+        when(eventProducer.sendBulkExport(any())).thenReturn(List.of(CompletableFuture.completedFuture(1)));
+        when(changeTrackingRepository.findTombstones(10L, 20L, 500))
+                .thenReturn(List.of(new ChangeTrackingRepository.Tombstone(deletedId, 12L)));
+        when(eventProducer.sendTombstones(List.of(deletedId))).thenReturn(CompletableFuture.completedFuture(1));
+
+        ExportProgressListener listener = mock(ExportProgressListener.class);
+        long exported = resourceService.exportChangesToKafka(10L, 20L, listener);
+
+        assertThat(exported).isEqualTo(2);
+        verify(eventProducer).sendBulkExport(List.of(resourceResponse));
+        verify(eventProducer).sendTombstones(List.of(deletedId));
+        verify(listener, times(2)).onRowsRead(1);
+        verify(listener, times(2)).onBatchAcked(1);
+        verify(resourceRepository, never()).streamAll();
+    }
+
+    private Characteristic characteristic(String code, CharacteristicType type, String value) {
+        return Characteristic.builder()
+                .id(UUID.randomUUID())
+                .code(code)
+                .type(type)
+                .value(value)
+                .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,226 @@
+package com.energia.resourcemanagement.unit.service;
+
+import com.energia.resourcemanagement.domain.enums.CharacteristicType;
+import com.energia.resourcemanagement.dto.common.CharacteristicDTO;
+import com.energia.resourcemanagement.dto.common.LocationDTO;
+import com.energia.resourcemanagement.dto.request.UpdateResourceRequest;
+import com.energia.resourcemanagement.dto.response.ResourceResponse;
+import com.energia.resourcemanagement.exception.DuplicateCharacteristicException;
+import com.energia.resourcemanagement.exception.ResourceNotFoundException;
+import com.energia.resourcemanagement.service.ResourceService;
+import com.energia.resourcemanagement.service.impl.CharacteristicValidator;
+import com.energia.resourcemanagement.service.impl.ResourceWriteCoalescerImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResourceWriteCoalescerTest {
+
+    @Mock
+    private ResourceService resourceService;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(4);
+
+    private ResourceWriteCoalescerImpl coalescer;
+
+    private final UUID resourceId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new ResourceWriteCoalescerImpl(resourceService, new CharacteristicValidator(), meterRegistry);
+        ReflectionTestUtils.setField(coalescer, "enabled", true);
+        ReflectionTestUtils.setField(coalescer, "window", Duration.ofMillis(300));
+        ReflectionTestUtils.setField(coalescer, "maxBatchSize", 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void updateResource_Disabled_DelegatesDirectly() {
+        ReflectionTestUtils.setField(coalescer, "enabled", false);
+        UpdateResourceRequest request = update("Street 1", null);
+        ResourceResponse response = ResourceResponse.builder().id(resourceId).version(1L).build();
+        when(resourceService.updateResource(resourceId, request, 4L)).thenReturn(response);
+
+        assertThat(coalescer.updateResource(resourceId, request, 4L)).isSameAs(response);
+    }
+
+    @Test
+    void updateResource_FoldsBurstIntoOneWriteInArrivalOrder() throws Exception {
+        List<CharacteristicDTO> characteristics = List.of(characteristic("S1", "INACTIVE"));
+        ResourceResponse response = ResourceResponse.builder().id(resourceId).version(1L).build();
+        when(resourceService.updateResource(eq(resourceId), any(UpdateResourceRequest.class), isNull()))
+                .thenReturn(response);
+
+        List<CompletableFuture<ResourceResponse>> results = new ArrayList<>();
+        results.add(submit(update("Street 1", null)));
+        Thread.sleep(50);
+        results.add(submit(update("Street 2", characteristics)));
+        Thread.sleep(50);
+        results.add(submit(update("Street 3", null)));
+
+        for (CompletableFuture<ResourceResponse> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(response);
+        }
+        ArgumentCaptor<UpdateResourceRequest> written = ArgumentCaptor.forClass(UpdateResourceRequest.class);
+        verify(resourceService, times(1)).updateResource(eq(resourceId), written.capture(), isNull());
+        assertThat(written.getValue().getLocation().getStreetAddress()).isEqualTo("Street 3");
+        assertThat(written.getValue().getCharacteristics()).isEqualTo(characteristics);
+        assertThat(meterRegistry.counter("resource.write-coalescing.saved-writes").count()).isEqualTo(2);
+    }
+
+    @Test
+    void updateResource_ConditionalUpdateRunsAloneAfterQueuedBatch() throws Exception {
+        UpdateResourceRequest unconditional = update("Street 1", null);
+        UpdateResourceRequest conditional = update("Street 2", null);
+        List<String> order = new ArrayList<>();
+        when(resourceService.updateResource(resourceId, unconditional, null)).thenAnswer(invocation -> {
+            order.add("unconditional");
+            return ResourceResponse.builder().id(resourceId).version(1L).build();
+        });
+        when(resourceService.updateResource(resourceId, conditional, 1L)).thenAnswer(invocation -> {
+            order.add("conditional");
+            return ResourceResponse.builder().id(resourceId).version(2L).build();
+        });
+
+        CompletableFuture<ResourceResponse> first = submit(unconditional);
+        Thread.sleep(50);
+        CompletableFuture<ResourceResponse> second =
+                CompletableFuture.supplyAsync(() -> coalescer.updateResource(resourceId, conditional, 1L), callers);
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getVersion()).isEqualTo(1L);
+        assertThat(second.get(5, TimeUnit.SECONDS).getVersion()).isEqualTo(2L);
+        assertThat(order).containsExactly("unconditional", "conditional");
+    }
+
+    @Test
+    void updateResource_FailureReachesEveryCallerOfTheBatch() throws Exception {
+        when(resourceService.updateResource(eq(resourceId), any(UpdateResourceRequest.class), isNull()))
+                .thenThrow(new ResourceNotFoundException(resourceId));
+
+        CompletableFuture<ResourceResponse> first = submit(update("Street 1", null));
+        Thread.sleep(50);
+        CompletableFuture<ResourceResponse> second = submit(update("Street 2", null));
+
+        for (CompletableFuture<ResourceResponse> result : List.of(first, second)) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(ResourceNotFoundException.class);
+        }
+        verify(resourceService, times(1)).updateResource(eq(resourceId), any(UpdateResourceRequest.class), isNull());
+    }
+
+    @Test
+    void updateResource_FullBatchIsWrittenBeforeWindowEnds() throws Exception {
+        ReflectionTestUtils.setField(coalescer, "window", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(coalescer, "maxBatchSize", 2);
+        ResourceResponse response = ResourceResponse.builder().id(resourceId).version(1L).build();
+        when(resourceService.updateResource(eq(resourceId), any(UpdateResourceRequest.class), isNull()))
+                .thenReturn(response);
+
+        CompletableFuture<ResourceResponse> first = submit(update("Street 1", null));
+        Thread.sleep(50);
+        CompletableFuture<ResourceResponse> second = submit(update("Street 2", null));
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(response);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(response);
+        verify(resourceService, times(1)).updateResource(eq(resourceId), any(UpdateResourceRequest.class), isNull());
+    }
+
+    @Test
+    void updateResource_OpenWindowAndSlowWriteDoNotStallOtherResources() throws Exception {
+        UUID otherId = UUID.randomUUID();
+        CountDownLatch slowWriteStarted = new CountDownLatch(1);
+        CountDownLatch releaseSlowWrite = new CountDownLatch(1);
+        when(resourceService.updateResource(eq(resourceId), any(UpdateResourceRequest.class), isNull()))
+                .thenAnswer(invocation -> {
+                    slowWriteStarted.countDown();
+                    releaseSlowWrite.await(5, TimeUnit.SECONDS);
+                    return ResourceResponse.builder().id(resourceId).version(1L).build();
+                });
+        ResourceResponse other = ResourceResponse.builder().id(otherId).version(1L).build();
+        when(resourceService.updateResource(eq(otherId), any(UpdateResourceRequest.class), isNull())).thenReturn(other);
+
+        CompletableFuture<ResourceResponse> hot = submit(update("Street 1", null));
+        Thread.sleep(50);
+
+        // Runs while the window of the hot resource is still open
+        assertThat(coalescer.inOrder(otherId, () -> "deleted")).isEqualTo("deleted");
+        assertThat(hot).isNotDone();
+
+        // An update of another resource is written while the hot resource's write is still running
+        assertThat(slowWriteStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<ResourceResponse> unrelated = CompletableFuture.supplyAsync(
+                () -> coalescer.updateResource(otherId, update("Street 9", null), null), callers);
+        assertThat(unrelated.get(5, TimeUnit.SECONDS)).isSameAs(other);
+        assertThat(hot).isNotDone();
+
+        releaseSlowWrite.countDown();
+        assertThat(hot.get(5, TimeUnit.SECONDS).getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void updateResource_InvalidUpdateIsRejectedBeforeJoining() {
+        UpdateResourceRequest duplicate = update("Street 1",
+                List.of(characteristic("S1", "ACTIVE"), characteristic("S1", "INACTIVE")));
+
+        assertThatThrownBy(() -> coalescer.updateResource(resourceId, duplicate, null))
+                .isInstanceOf(DuplicateCharacteristicException.class);
+        verifyNoInteractions(resourceService);
+    }
+
+    private CompletableFuture<ResourceResponse> submit(UpdateResourceRequest request) {
+        return CompletableFuture.supplyAsync(() -> coalescer.updateResource(resourceId, request, null), callers);
+    }
+
+    private static UpdateResourceRequest update(String streetAddress, List<CharacteristicDTO> characteristics) {
+        return UpdateResourceRequest.builder()
+                .location(LocationDTO.builder()
+                        .streetAddress(streetAddress)
+                        .city("Tallinn")
+                        .postalCode("10115")
+                        .countryCode("EE")
+                        .build())
+                .characteristics(characteristics)
+                .build();
+    }
+
+    private static CharacteristicDTO characteristic(String code, String value) {
+        return CharacteristicDTO.builder()
+                .code(code)
+                .type(CharacteristicType.CONNECTION_POINT_STATUS)
+                .value(value)
+                .build();
+    }
+}